@@ -0,0 +1,321 @@
+package com.bobocode.cs;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * {@link IndexedSkipList} is a list implementation that is based on an indexable skip list. Every node is linked to
+ * the next node on the lowest level, like in {@link LinkedList}, and on a random number of higher levels it is also
+ * linked to the next node of the same or higher level, so every next level skips about half of the nodes of the level
+ * below.
+ * <p>
+ * Every link also keeps its width, which is the number of positions it skips. A walk to an index starts from the
+ * highest level and follows a link only if it does not go past the index, so it takes expected O(log n) steps instead
+ * of O(n) in {@link LinkedList}. Inserts and removals find the previous node on every level the same way and adjust
+ * the widths of the links that go over the position, so they also take expected O(log n). Iteration follows
+ * the lowest level, one node after another.
+ *
+ * @param <T> generic type parameter
+ */
+public class IndexedSkipList<T> implements List<T>, Iterable<T> {
+
+    private static final int MAX_LEVEL = 32;
+
+    private static class Node<T> {
+        T value;
+
+        Node<T>[] next;
+
+        /**
+         * The number of positions that a link of each level skips. The width of a missing link is not used.
+         */
+        int[] widths;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Node(T value, int level) {
+            this.value = value;
+            this.next = new Node[level];
+            this.widths = new int[level];
+        }
+    }
+
+    private Node<T> head = new Node<>(null, MAX_LEVEL);
+
+    private Node<T> last;
+
+    private int level = 1;
+
+    private int size;
+
+    /**
+     * This method creates a list of provided elements
+     *
+     * @param elements elements to add
+     * @param <T>      generic type
+     * @return a new list of elements the were passed as method parameters
+     */
+    @SafeVarargs
+    public static <T> IndexedSkipList<T> of(T... elements) {
+        IndexedSkipList<T> list = new IndexedSkipList<>();
+        for (T element : elements) {
+            list.add(element);
+        }
+        return list;
+    }
+
+    /**
+     * Returns a random level of a new node, so that every next level is taken with the probability 1/2.
+     */
+    private int randomLevel() {
+        int randomLevel = 1 + Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt());
+        return Math.min(randomLevel, Math.min(level + 1, MAX_LEVEL));
+    }
+
+    /**
+     * Adds an element to the end of the list. Operation is performed in expected O(log n)
+     *
+     * @param element element to add
+     */
+    @Override
+    public void add(T element) {
+        add(size, element);
+    }
+
+    /**
+     * Adds a new element to the specific position in the list. Operation is performed in expected O(log n).
+     * In case provided index in out of the list bounds it throws {@link IndexOutOfBoundsException}
+     *
+     * @param index   an index of new element
+     * @param element element to add
+     */
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void add(int index, T element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (size == Integer.MAX_VALUE) {
+            throw new IllegalStateException("List is full");
+        }
+        int newLevel = randomLevel();
+        Node<T>[] previous = new Node[Math.max(level, newLevel)];
+        int[] positions = new int[previous.length];
+        findPrevious(index, previous, positions);
+        for (int i = level; i < newLevel; i++) {
+            previous[i] = head;
+            positions[i] = -1;
+        }
+        level = Math.max(level, newLevel);
+
+        Node<T> newNode = new Node<>(element, newLevel);
+        for (int i = 0; i < newLevel; i++) {
+            newNode.next[i] = previous[i].next[i];
+            newNode.widths[i] = positions[i] + previous[i].widths[i] + 1 - index;
+            previous[i].next[i] = newNode;
+            previous[i].widths[i] = index - positions[i];
+        }
+        for (int i = newLevel; i < level; i++) {
+            previous[i].widths[i]++;
+        }
+        if (index == size) {
+            last = newNode;
+        }
+        size++;
+    }
+
+    /**
+     * Finds on every level the last node before a given index, and its position. The head has position -1.
+     */
+    private void findPrevious(int index, Node<T>[] previous, int[] positions) {
+        Node<T> node = head;
+        int position = -1;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && position + node.widths[i] < index) {
+                position += node.widths[i];
+                node = node.next[i];
+            }
+            previous[i] = node;
+            positions[i] = position;
+        }
+    }
+
+    private Node<T> getNodeByIndex(int index) {
+        checkIndexBounds(index);
+        Node<T> node = head;
+        int position = -1;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && position + node.widths[i] <= index) {
+                position += node.widths[i];
+                node = node.next[i];
+            }
+            if (position == index) {
+                return node;
+            }
+        }
+        return node;
+    }
+
+    private void checkIndexBounds(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    /**
+     * Changes the value of an list element at specific position. Operation is performed in expected O(log n).
+     * In case provided index in out of the list bounds it throws {@link IndexOutOfBoundsException}
+     *
+     * @param index   an position of element to change
+     * @param element a new element value
+     */
+    @Override
+    public void set(int index, T element) {
+        getNodeByIndex(index).value = element;
+    }
+
+    /**
+     * Retrieves an elements by its position index. Operation is performed in expected O(log n).
+     * In case provided index in out of the list bounds it throws {@link IndexOutOfBoundsException}
+     *
+     * @param index element index
+     * @return an element value
+     */
+    @Override
+    public T get(int index) {
+        return getNodeByIndex(index).value;
+    }
+
+    /**
+     * Returns the first element of the list. Operation is performed in constant time O(1)
+     *
+     * @return the first element of the list
+     * @throws java.util.NoSuchElementException if list is empty
+     */
+    @Override
+    public T getFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return head.next[0].value;
+    }
+
+    /**
+     * Returns the last element of the list. Operation is performed in constant time O(1)
+     *
+     * @return the last element of the list
+     * @throws java.util.NoSuchElementException if list is empty
+     */
+    @Override
+    public T getLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return last.value;
+    }
+
+    /**
+     * Removes an elements by its position index. Operation is performed in expected O(log n).
+     * In case provided index in out of the list bounds it throws {@link IndexOutOfBoundsException}
+     *
+     * @param index element index
+     * @return deleted element
+     */
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public T remove(int index) {
+        checkIndexBounds(index);
+        Node<T>[] previous = new Node[level];
+        findPrevious(index, previous, new int[level]);
+        Node<T> nodeToDelete = previous[0].next[0];
+        for (int i = 0; i < level; i++) {
+            if (previous[i].next[i] == nodeToDelete) {
+                previous[i].next[i] = nodeToDelete.next[i];
+                previous[i].widths[i] += nodeToDelete.widths[i] - 1;
+            } else {
+                previous[i].widths[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        if (nodeToDelete == last) {
+            last = previous[0] == head ? null : previous[0];
+        }
+        size--;
+        return nodeToDelete.value;
+    }
+
+    /**
+     * Checks if a specific exists in he list. A null element is supported.
+     *
+     * @return {@code true} if element exist, {@code false} otherwise
+     */
+    @Override
+    public boolean contains(T element) {
+        for (Node<T> node = head.next[0]; node != null; node = node.next[0]) {
+            if (element == null ? node.value == null : element.equals(node.value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a list is empty
+     *
+     * @return {@code true} if list is empty, {@code false} otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of elements in the list
+     *
+     * @return number of elements
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all list elements
+     */
+    @Override
+    public void clear() {
+        head = new Node<>(null, MAX_LEVEL);
+        last = null;
+        level = 1;
+        size = 0;
+    }
+
+    /**
+     * Returns an iterator that follows the lowest level of the list, one node after another.
+     *
+     * @return an iterator
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private Node<T> node = head.next[0];
+
+            @Override
+            public boolean hasNext() {
+                return node != null;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T value = node.value;
+                node = node.next[0];
+                return value;
+            }
+        };
+    }
+}
@@ -2,11 +2,21 @@ package com.bobocode.cs;
 
 
 import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * {@link LinkedList} is a list implementation that is based on singly linked generic nodes. A node is implemented as
  * inner static class {@link Node<T>}.
+ * <p>
+ * A {@link ListIterator} keeps the node before its cursor, so it adds and removes elements at the cursor in constant
+ * time O(1), and {@link #removeIf(Predicate)} removes all matching elements in one pass.
  * <p><p>
  * <strong>TODO: to get the most out of your learning, <a href="https://www.bobocode.com/learn">visit our website</a></strong>
  * <p>
@@ -15,7 +25,7 @@ import java.util.NoSuchElementException;
  * @author Taras Boychuk
  * @author Serhii Hryhus
  */
-public class LinkedList<T> implements List<T> {
+public class LinkedList<T> implements List<T>, Iterable<T> {
 
     private static class Node<T> {
         T value;
@@ -33,6 +43,11 @@ public class LinkedList<T> implements List<T> {
 
     Node<T> last;
 
+    /**
+     * The number of structural changes, so that an iterator can detect a change that was not made through it.
+     */
+    int modCount;
+
     /**
      * This method creates a list of provided elements
      *
@@ -61,6 +76,7 @@ public class LinkedList<T> implements List<T> {
         }
         last = node;
         size++;
+        modCount++;
     }
 
     /**
@@ -81,6 +97,7 @@ public class LinkedList<T> implements List<T> {
             add(index, newNode);
         }
         size++;
+        modCount++;
     }
 
     private void addAsFirst(Node<T> newNode) {
@@ -199,6 +216,7 @@ public class LinkedList<T> implements List<T> {
             }
         }
         size--;
+        modCount++;
         return elementToDelete;
     }
 
@@ -248,5 +266,238 @@ public class LinkedList<T> implements List<T> {
         first = null;
         last = null;
         size = 0;
+        modCount++;
+    }
+
+    /**
+     * Removes all elements that match a given predicate in one pass over the list. If the predicate throws
+     * an exception, the elements removed before it stay removed, and the list stays consistent.
+     *
+     * @param filter a predicate that returns {@code true} for elements to remove
+     * @return {@code true} if any element was removed, {@code false} otherwise
+     */
+    public boolean removeIf(Predicate<? super T> filter) {
+        Node<T> previousNode = null;
+        Node<T> currentNode = first;
+        int removedCount = 0;
+        try {
+            while (currentNode != null) {
+                if (filter.test(currentNode.value)) {
+                    if (previousNode == null) {
+                        first = currentNode.next;
+                    } else {
+                        previousNode.next = currentNode.next;
+                    }
+                    removedCount++;
+                } else {
+                    previousNode = currentNode;
+                }
+                currentNode = currentNode.next;
+            }
+        } finally {
+            if (removedCount > 0) {
+                size -= removedCount;
+                modCount++;
+                if (currentNode == null) {
+                    last = previousNode;
+                }
+            }
+        }
+        return removedCount > 0;
+    }
+
+    /**
+     * Performs an action for every element of the list in one pass. If the action changes the list structure, it
+     * throws {@link ConcurrentModificationException} before going to the next element.
+     *
+     * @param action an action to perform
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        int expectedModCount = modCount;
+        for (Node<T> currentNode = first; currentNode != null; currentNode = currentNode.next) {
+            action.accept(currentNode.value);
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * Returns an iterator over the elements of the list. It supports removal of the last returned element in
+     * constant time O(1).
+     *
+     * @return an iterator
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return listIterator();
+    }
+
+    /**
+     * Returns a spliterator over the elements of the list that knows the list size. It splits the list into batches
+     * of elements that are copied into arrays, so a parallel stream can process them.
+     *
+     * @return a spliterator
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED);
+    }
+
+    /**
+     * Returns a list iterator that starts before the first element.
+     *
+     * @return a list iterator
+     */
+    public ListIterator<T> listIterator() {
+        return new ListCursor(0);
+    }
+
+    /**
+     * Returns a list iterator that starts before an element of a given index. In case provided index in out of
+     * the list bounds it throws {@link IndexOutOfBoundsException}
+     *
+     * @param index an index of the first element that {@link ListIterator#next()} returns
+     * @return a list iterator
+     */
+    public ListIterator<T> listIterator(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException();
+        }
+        return new ListCursor(index);
+    }
+
+    /**
+     * A list iterator that keeps the nodes around its cursor. Moving forward, and adding or removing at the cursor
+     * take constant time O(1). The list is singly linked, so moving backward walks from the first node and takes O(n).
+     */
+    private class ListCursor implements ListIterator<T> {
+        private Node<T> nextNode;
+
+        private Node<T> nodeBeforeCursor;
+
+        private Node<T> lastReturned;
+
+        private Node<T> nodeBeforeLastReturned;
+
+        private int nextIndex;
+
+        private int expectedModCount = modCount;
+
+        ListCursor(int index) {
+            nodeBeforeCursor = index == 0 ? null : getNodeByIndex(index - 1);
+            nextNode = index == 0 ? first : nodeBeforeCursor.next;
+            nextIndex = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+
+        @Override
+        public T next() {
+            checkForModification();
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = nextNode;
+            nodeBeforeLastReturned = nodeBeforeCursor;
+            nodeBeforeCursor = nextNode;
+            nextNode = nextNode.next;
+            nextIndex++;
+            return lastReturned.value;
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        @Override
+        public T previous() {
+            checkForModification();
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+            Node<T> nodeBefore = nextIndex == 1 ? null : getNodeByIndex(nextIndex - 2);
+            lastReturned = nodeBeforeCursor;
+            nodeBeforeLastReturned = nodeBefore;
+            nextNode = nodeBeforeCursor;
+            nodeBeforeCursor = nodeBefore;
+            nextIndex--;
+            return lastReturned.value;
+        }
+
+        @Override
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        @Override
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        @Override
+        public void remove() {
+            checkForModification();
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            if (nodeBeforeLastReturned == null) {
+                first = lastReturned.next;
+            } else {
+                nodeBeforeLastReturned.next = lastReturned.next;
+            }
+            if (last == lastReturned) {
+                last = nodeBeforeLastReturned;
+            }
+            if (lastReturned == nextNode) {
+                nextNode = lastReturned.next;
+            } else {
+                nodeBeforeCursor = nodeBeforeLastReturned;
+                nextIndex--;
+            }
+            lastReturned = null;
+            size--;
+            expectedModCount = ++modCount;
+        }
+
+        @Override
+        public void set(T element) {
+            checkForModification();
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            lastReturned.value = element;
+        }
+
+        @Override
+        public void add(T element) {
+            checkForModification();
+            Node<T> newNode = new Node<>(element);
+            newNode.next = nextNode;
+            if (nodeBeforeCursor == null) {
+                first = newNode;
+            } else {
+                nodeBeforeCursor.next = newNode;
+            }
+            if (nextNode == null) {
+                last = newNode;
+            }
+            nodeBeforeCursor = newNode;
+            nextIndex++;
+            lastReturned = null;
+            size++;
+            expectedModCount = ++modCount;
+        }
+
+        private void checkForModification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
     }
 }
@@ -0,0 +1,351 @@
+package com.bobocode.cs;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link UnrolledLinkedList} is a list implementation that is based on doubly linked nodes, where every node stores
+ * up to 64 elements in an array. Compared to {@link LinkedList}, it allocates one node per 64 elements instead of one
+ * node per element, it reads elements of a node from one array, and a walk to an index skips a whole node at a time.
+ * <p>
+ * An insert into a full node splits it into two half-full nodes. A removal that leaves a node less than half-full
+ * merges it with the next node, or moves some elements from the next node, so all nodes except the last one are at
+ * least half-full, and a walk to an index takes at most n/32 steps. The walk starts from the closer end of the list.
+ *
+ * @param <T> generic type parameter
+ */
+public class UnrolledLinkedList<T> implements List<T>, Iterable<T> {
+
+    private static final int NODE_CAPACITY = 64;
+    private static final int MIN_NODE_SIZE = NODE_CAPACITY / 2;
+
+    private static class Node {
+        Object[] elements = new Object[NODE_CAPACITY];
+
+        int count;
+
+        Node previous;
+
+        Node next;
+    }
+
+    /**
+     * The node that contains an index, and the position of the index in it.
+     */
+    private record Position(Node node, int offset) {
+    }
+
+    private int size;
+
+    private Node first;
+
+    private Node last;
+
+    /**
+     * This method creates a list of provided elements
+     *
+     * @param elements elements to add
+     * @param <T>      generic type
+     * @return a new list of elements the were passed as method parameters
+     */
+    @SafeVarargs
+    public static <T> UnrolledLinkedList<T> of(T... elements) {
+        UnrolledLinkedList<T> list = new UnrolledLinkedList<>();
+        for (T element : elements) {
+            list.add(element);
+        }
+        return list;
+    }
+
+    /**
+     * Adds an element to the end of the list. A new node is added only when the last one is full.
+     *
+     * @param element element to add
+     */
+    @Override
+    public void add(T element) {
+        if (last == null || last.count == NODE_CAPACITY) {
+            linkAfter(last, new Node());
+        }
+        last.elements[last.count++] = element;
+        size++;
+    }
+
+    private void linkAfter(Node node, Node newNode) {
+        newNode.previous = node;
+        if (node == null) {
+            newNode.next = first;
+            first = newNode;
+        } else {
+            newNode.next = node.next;
+            node.next = newNode;
+        }
+        if (newNode.next == null) {
+            last = newNode;
+        } else {
+            newNode.next.previous = newNode;
+        }
+    }
+
+    private void unlink(Node node) {
+        if (node.previous == null) {
+            first = node.next;
+        } else {
+            node.previous.next = node.next;
+        }
+        if (node.next == null) {
+            last = node.previous;
+        } else {
+            node.next.previous = node.previous;
+        }
+    }
+
+    /**
+     * Adds a new element to the specific position in the list. If the node of the position is full, it is split into
+     * two nodes first. In case provided index in out of the list bounds it throws {@link IndexOutOfBoundsException}
+     *
+     * @param index   an index of new element
+     * @param element element to add
+     */
+    @Override
+    public void add(int index, T element) {
+        if (index == size) {
+            add(element);
+            return;
+        }
+        Position position = findNode(index);
+        Node node = position.node();
+        int offset = position.offset();
+        if (node.count == NODE_CAPACITY) {
+            Node newNode = new Node();
+            int moved = NODE_CAPACITY - MIN_NODE_SIZE;
+            System.arraycopy(node.elements, MIN_NODE_SIZE, newNode.elements, 0, moved);
+            clear(node.elements, MIN_NODE_SIZE, NODE_CAPACITY);
+            newNode.count = moved;
+            node.count = MIN_NODE_SIZE;
+            linkAfter(node, newNode);
+            if (offset > MIN_NODE_SIZE) {
+                node = newNode;
+                offset -= MIN_NODE_SIZE;
+            }
+        }
+        System.arraycopy(node.elements, offset, node.elements, offset + 1, node.count - offset);
+        node.elements[offset] = element;
+        node.count++;
+        size++;
+    }
+
+    private static void clear(Object[] elements, int from, int to) {
+        for (int i = from; i < to; i++) {
+            elements[i] = null;
+        }
+    }
+
+    /**
+     * Finds the node of an index, walking from the closer end of the list and skipping a whole node at a time.
+     */
+    private Position findNode(int index) {
+        checkIndexBounds(index);
+        if (index < size / 2) {
+            Node node = first;
+            while (index >= node.count) {
+                index -= node.count;
+                node = node.next;
+            }
+            return new Position(node, index);
+        } else {
+            Node node = last;
+            int nodeStart = size - node.count;
+            while (index < nodeStart) {
+                node = node.previous;
+                nodeStart -= node.count;
+            }
+            return new Position(node, index - nodeStart);
+        }
+    }
+
+    private void checkIndexBounds(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    /**
+     * Changes the value of an list element at specific position. In case provided index in out of the list bounds it
+     * throws {@link IndexOutOfBoundsException}
+     *
+     * @param index   an position of element to change
+     * @param element a new element value
+     */
+    @Override
+    public void set(int index, T element) {
+        Position position = findNode(index);
+        position.node().elements[position.offset()] = element;
+    }
+
+    /**
+     * Retrieves an elements by its position index. In case provided index in out of the list bounds it
+     * throws {@link IndexOutOfBoundsException}
+     *
+     * @param index element index
+     * @return an element value
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        Position position = findNode(index);
+        return (T) position.node().elements[position.offset()];
+    }
+
+    /**
+     * Returns the first element of the list. Operation is performed in constant time O(1)
+     *
+     * @return the first element of the list
+     * @throws java.util.NoSuchElementException if list is empty
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T getFirst() {
+        if (first == null) {
+            throw new NoSuchElementException();
+        }
+        return (T) first.elements[0];
+    }
+
+    /**
+     * Returns the last element of the list. Operation is performed in constant time O(1)
+     *
+     * @return the last element of the list
+     * @throws java.util.NoSuchElementException if list is empty
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T getLast() {
+        if (last == null) {
+            throw new NoSuchElementException();
+        }
+        return (T) last.elements[last.count - 1];
+    }
+
+    /**
+     * Removes an elements by its position index. If the node becomes less than half-full, it takes elements from
+     * the next node. In case provided index in out of the list bounds it throws {@link IndexOutOfBoundsException}
+     *
+     * @param index element index
+     * @return deleted element
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T remove(int index) {
+        Position position = findNode(index);
+        Node node = position.node();
+        int offset = position.offset();
+        T elementToDelete = (T) node.elements[offset];
+        System.arraycopy(node.elements, offset + 1, node.elements, offset, node.count - offset - 1);
+        node.elements[--node.count] = null;
+        size--;
+        if (node.count == 0) {
+            unlink(node);
+        } else if (node.count < MIN_NODE_SIZE && node.next != null) {
+            refill(node);
+        }
+        return elementToDelete;
+    }
+
+    /**
+     * Merges the next node into a given one if all elements fit, or moves elements from the next node so that both
+     * nodes are at least half-full.
+     */
+    private void refill(Node node) {
+        Node next = node.next;
+        int moved = next.count + node.count <= NODE_CAPACITY ? next.count : (next.count - node.count) / 2;
+        System.arraycopy(next.elements, 0, node.elements, node.count, moved);
+        node.count += moved;
+        if (moved == next.count) {
+            unlink(next);
+        } else {
+            System.arraycopy(next.elements, moved, next.elements, 0, next.count - moved);
+            clear(next.elements, next.count - moved, next.count);
+            next.count -= moved;
+        }
+    }
+
+    /**
+     * Checks if a specific exists in he list. A null element is supported.
+     *
+     * @return {@code true} if element exist, {@code false} otherwise
+     */
+    @Override
+    public boolean contains(T element) {
+        for (Node node = first; node != null; node = node.next) {
+            for (int i = 0; i < node.count; i++) {
+                if (element == null ? node.elements[i] == null : element.equals(node.elements[i])) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a list is empty
+     *
+     * @return {@code true} if list is empty, {@code false} otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of elements in the list
+     *
+     * @return number of elements
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all list elements
+     */
+    @Override
+    public void clear() {
+        first = null;
+        last = null;
+        size = 0;
+    }
+
+    /**
+     * Returns an iterator over the elements. It reads the elements of a node one by one from its array.
+     *
+     * @return an iterator
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private Node node = first;
+            private int offset;
+
+            @Override
+            public boolean hasNext() {
+                return node != null && offset < node.count;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T element = (T) node.elements[offset++];
+                if (offset == node.count) {
+                    node = node.next;
+                    offset = 0;
+                }
+                return element;
+            }
+        };
+    }
+}
@@ -0,0 +1,170 @@
+package com.bobocode.cs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("IndexedSkipList Test")
+class IndexedSkipListTest {
+
+    private final IndexedSkipList<Integer> list = new IndexedSkipList<>();
+
+    @Test
+    @DisplayName("add and get work on a large list")
+    void addAndGet() {
+        for (int i = 0; i < 1000; i++) {
+            list.add(i);
+        }
+
+        assertThat(list.size()).isEqualTo(1000);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(list.get(i)).isEqualTo(i);
+        }
+        assertThat(list.getFirst()).isZero();
+        assertThat(list.getLast()).isEqualTo(999);
+        assertThat(list).containsExactlyElementsOf(expectedRange(1000));
+    }
+
+    @Test
+    @DisplayName("an empty list has no elements")
+    void emptyList() {
+        assertThat(list.isEmpty()).isTrue();
+        assertThat(list.iterator().hasNext()).isFalse();
+        assertThatThrownBy(list::getFirst).isInstanceOf(NoSuchElementException.class);
+        assertThatThrownBy(list::getLast).isInstanceOf(NoSuchElementException.class);
+        assertThatThrownBy(() -> list.get(0)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> list.remove(0)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("add by index inserts elements at any position")
+    void addByIndexSplitsNodes() {
+        var expected = new java.util.ArrayList<Integer>();
+        for (int i = 0; i < 200; i++) {
+            list.add(i);
+            expected.add(i);
+        }
+
+        for (var index : new int[]{0, 32, 63, 64, 65, 100, 128, 150, 207}) {
+            list.add(index, -index);
+            expected.add(index, -index);
+        }
+
+        assertThat(list).containsExactlyElementsOf(expected);
+        assertThatThrownBy(() -> list.add(210, 0)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> list.add(-1, 0)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("remove removes elements from the middle and the last element")
+    void remove() {
+        for (int i = 0; i < 300; i++) {
+            list.add(i);
+        }
+
+        for (int i = 0; i < 299; i++) {
+            assertThat(list.remove(list.size() / 2)).isNotNull();
+        }
+
+        assertThat(list.size()).isEqualTo(1);
+        assertThat(list.remove(0)).isNotNull();
+        assertThat(list.isEmpty()).isTrue();
+        list.add(1);
+        assertThat(list).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("set changes an element, and contains supports null")
+    void setAndContains() {
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+
+        list.set(70, null);
+
+        assertThat(list.get(70)).isNull();
+        assertThat(list.contains(null)).isTrue();
+        assertThat(list.contains(99)).isTrue();
+        assertThat(list.contains(70)).isFalse();
+        assertThatThrownBy(() -> list.set(100, 0)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("clear removes all elements")
+    void clear() {
+        var list = IndexedSkipList.of(1, 2, 3);
+
+        list.clear();
+
+        assertThat(list.size()).isZero();
+        assertThat(list.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("random adds and removes work the same way as on a java.util.ArrayList")
+    void randomOperations() {
+        var random = new Random(42);
+        var expected = new java.util.ArrayList<Integer>();
+        for (int step = 0; step < 50_000; step++) {
+            if (expected.isEmpty() || random.nextInt(5) < 3) {
+                var index = random.nextInt(expected.size() + 1);
+                list.add(index, step);
+                expected.add(index, step);
+            } else {
+                var index = random.nextInt(expected.size());
+                assertThat(list.remove(index)).isEqualTo(expected.remove(index));
+            }
+            assertThat(list.size()).isEqualTo(expected.size());
+        }
+
+        assertThat(list).containsExactlyElementsOf(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(list.get(i)).isEqualTo(expected.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("getLast follows adds and removes at the end")
+    void getLast() {
+        list.add(1);
+        list.add(2);
+        list.add(1, 3);
+
+        assertThat(list.getLast()).isEqualTo(2);
+        assertThat(list.remove(2)).isEqualTo(2);
+        assertThat(list.getLast()).isEqualTo(3);
+        list.add(4);
+        assertThat(list.getLast()).isEqualTo(4);
+        assertThat(list.getFirst()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("positional operations work on a list of a million elements")
+    void largeList() {
+        var count = 1_000_000;
+        for (int i = 0; i < count; i++) {
+            list.add(i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            var index = (int) ((long) i * 7919 % count);
+            list.add(index, -1);
+            assertThat(list.remove(index)).isEqualTo(-1);
+            assertThat(list.get(index)).isEqualTo(index);
+        }
+        assertThat(list.size()).isEqualTo(count);
+    }
+
+    private java.util.List<Integer> expectedRange(int count) {
+        var elements = new java.util.ArrayList<Integer>();
+        for (int i = 0; i < count; i++) {
+            elements.add(i);
+        }
+        return elements;
+    }
+}
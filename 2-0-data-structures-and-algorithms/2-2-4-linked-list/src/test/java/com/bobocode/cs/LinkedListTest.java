@@ -520,6 +520,205 @@ public class LinkedListTest {
                 .isThrownBy(() -> getInternalElement(0));
     }
 
+    @Test
+    @Order(43)
+    void iteratorReturnsAllElements() {
+        addInternalElements(4, 5, 6);
+
+        var iterator = intList.iterator();
+
+        assertThat(iterator.next()).isEqualTo(4);
+        assertThat(iterator.next()).isEqualTo(5);
+        assertThat(iterator.next()).isEqualTo(6);
+        assertThat(iterator.hasNext()).isFalse();
+        assertThatExceptionOfType(NoSuchElementException.class).isThrownBy(iterator::next);
+    }
+
+    @Test
+    @Order(44)
+    void iteratorRemovesElements() {
+        addInternalElements(1, 2, 3, 4, 5);
+
+        var iterator = intList.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() % 2 == 1) {
+                iterator.remove();
+            }
+        }
+
+        assertThat(getInternalSize()).isEqualTo(2);
+        assertThat(getInternalElement(0)).isEqualTo(2);
+        assertThat(getInternalElement(1)).isEqualTo(4);
+        assertThat(getNodeValue(TAIL_NODE_FIELD)).isEqualTo(4);
+    }
+
+    @Test
+    @Order(45)
+    void iteratorRemoveWithoutNextThrowsException() {
+        addInternalElements(1, 2);
+
+        var iterator = intList.iterator();
+
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(iterator::remove);
+        iterator.next();
+        iterator.remove();
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(iterator::remove);
+    }
+
+    @Test
+    @Order(46)
+    void listIteratorAddsElementsAtCursor() {
+        addInternalElements(1, 3);
+
+        var iterator = intList.listIterator();
+        iterator.add(0);
+        iterator.next();
+        iterator.add(2);
+        iterator.next();
+        iterator.add(4);
+
+        assertThat(getInternalSize()).isEqualTo(5);
+        for (int i = 0; i < 5; i++) {
+            assertThat(getInternalElement(i)).isEqualTo(i);
+        }
+        assertThat(getNodeValue(TAIL_NODE_FIELD)).isEqualTo(4);
+        assertThat(iterator.nextIndex()).isEqualTo(5);
+    }
+
+    @Test
+    @Order(47)
+    void listIteratorMovesBackward() {
+        addInternalElements(1, 2, 3);
+
+        var iterator = intList.listIterator(3);
+
+        assertThat(iterator.hasNext()).isFalse();
+        assertThat(iterator.previous()).isEqualTo(3);
+        assertThat(iterator.previous()).isEqualTo(2);
+        iterator.remove();
+        assertThat(iterator.previous()).isEqualTo(1);
+        iterator.set(10);
+        assertThat(iterator.previousIndex()).isEqualTo(-1);
+        assertThat(iterator.next()).isEqualTo(10);
+        assertThat(iterator.next()).isEqualTo(3);
+        assertThat(getInternalSize()).isEqualTo(2);
+    }
+
+    @Test
+    @Order(48)
+    void listIteratorSetChangesLastReturnedElement() {
+        addInternalElements(1, 2, 3);
+
+        var iterator = intList.listIterator(1);
+        iterator.next();
+        iterator.set(20);
+
+        assertThat(getInternalElement(1)).isEqualTo(20);
+        assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> intList.listIterator(4));
+    }
+
+    @Test
+    @Order(49)
+    void iteratorFailsAfterChangeOfList() {
+        intList.add(1);
+        intList.add(2);
+
+        var iterator = intList.iterator();
+        iterator.next();
+        intList.add(3);
+
+        assertThatExceptionOfType(java.util.ConcurrentModificationException.class).isThrownBy(iterator::next);
+    }
+
+    @Test
+    @Order(50)
+    void removeIfRemovesMatchingElements() {
+        addInternalElements(1, 2, 3, 4, 5, 6);
+
+        boolean removed = intList.removeIf(element -> element % 3 != 2);
+
+        assertThat(removed).isTrue();
+        assertThat(getInternalSize()).isEqualTo(2);
+        assertThat(getInternalElement(0)).isEqualTo(2);
+        assertThat(getInternalElement(1)).isEqualTo(5);
+        assertThat(getNodeValue(HEAD_NODE_FIELD)).isEqualTo(2);
+        assertThat(getNodeValue(TAIL_NODE_FIELD)).isEqualTo(5);
+        assertThat(intList.removeIf(element -> element > 10)).isFalse();
+    }
+
+    @Test
+    @Order(51)
+    void removeIfRemovesAllElements() {
+        addInternalElements(1, 2, 3);
+
+        intList.removeIf(element -> true);
+
+        assertThat(intList.isEmpty()).isTrue();
+        assertThat(getInternalSize()).isEqualTo(0);
+        intList.add(7);
+        assertThat(intList.getLast()).isEqualTo(7);
+    }
+
+    @Test
+    @Order(52)
+    void forEachVisitsAllElementsInOrder() {
+        addInternalElements(4, 5, 6);
+        var visited = new java.util.ArrayList<Integer>();
+
+        intList.forEach(visited::add);
+
+        assertThat(visited.toArray()).isEqualTo(new Object[]{4, 5, 6});
+    }
+
+    @Test
+    @Order(53)
+    void spliteratorSupportsStreams() {
+        addInternalElements(1, 2, 3, 4);
+
+        var spliterator = intList.spliterator();
+        int sum = java.util.stream.StreamSupport.stream(intList.spliterator(), false)
+                .mapToInt(Integer::intValue)
+                .sum();
+
+        assertThat(spliterator.estimateSize()).isEqualTo(4L);
+        assertThat(spliterator.hasCharacteristics(java.util.Spliterator.SIZED)).isTrue();
+        assertThat(sum).isEqualTo(10);
+    }
+
+    @Test
+    @Order(54)
+    void removeIfKeepsListConsistentWhenPredicateThrows() {
+        addInternalElements(0, 1, 2, 3, 4, 5);
+
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> intList.removeIf(element -> {
+            if (element == 4) {
+                throw new IllegalStateException();
+            }
+            return element % 2 == 0;
+        }));
+
+        assertThat(getInternalSize()).isEqualTo(4);
+        assertThat(intList.get(0)).isEqualTo(1);
+        assertThat(intList.get(1)).isEqualTo(3);
+        assertThat(intList.get(3)).isEqualTo(5);
+        assertThat(intList.getLast()).isEqualTo(5);
+    }
+
+    @Test
+    @Order(55)
+    void forEachFailsRightAfterActionChangesList() {
+        addInternalElements(1, 2, 3);
+        var visited = new java.util.ArrayList<Integer>();
+
+        assertThatExceptionOfType(java.util.ConcurrentModificationException.class).isThrownBy(() ->
+                intList.forEach(element -> {
+                    visited.add(element);
+                    intList.remove(1);
+                }));
+
+        assertThat(visited.toArray()).isEqualTo(new Object[]{1});
+    }
+
     @SneakyThrows
     private int getInternalElement(int index) {
 
@@ -0,0 +1,138 @@
+package com.bobocode.cs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("UnrolledLinkedList Test")
+class UnrolledLinkedListTest {
+
+    private final UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>();
+
+    @Test
+    @DisplayName("add and get work across many nodes")
+    void addAndGet() {
+        for (int i = 0; i < 1000; i++) {
+            list.add(i);
+        }
+
+        assertThat(list.size()).isEqualTo(1000);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(list.get(i)).isEqualTo(i);
+        }
+        assertThat(list.getFirst()).isZero();
+        assertThat(list.getLast()).isEqualTo(999);
+        assertThat(list).containsExactlyElementsOf(expectedRange(1000));
+    }
+
+    @Test
+    @DisplayName("an empty list has no elements")
+    void emptyList() {
+        assertThat(list.isEmpty()).isTrue();
+        assertThat(list.iterator().hasNext()).isFalse();
+        assertThatThrownBy(list::getFirst).isInstanceOf(NoSuchElementException.class);
+        assertThatThrownBy(list::getLast).isInstanceOf(NoSuchElementException.class);
+        assertThatThrownBy(() -> list.get(0)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> list.remove(0)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("add by index splits full nodes")
+    void addByIndexSplitsNodes() {
+        var expected = new java.util.ArrayList<Integer>();
+        for (int i = 0; i < 200; i++) {
+            list.add(i);
+            expected.add(i);
+        }
+
+        for (var index : new int[]{0, 32, 63, 64, 65, 100, 128, 150, 207}) {
+            list.add(index, -index);
+            expected.add(index, -index);
+        }
+
+        assertThat(list).containsExactlyElementsOf(expected);
+        assertThatThrownBy(() -> list.add(210, 0)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> list.add(-1, 0)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("remove merges nodes and removes the last element")
+    void remove() {
+        for (int i = 0; i < 300; i++) {
+            list.add(i);
+        }
+
+        for (int i = 0; i < 299; i++) {
+            assertThat(list.remove(list.size() / 2)).isNotNull();
+        }
+
+        assertThat(list.size()).isEqualTo(1);
+        assertThat(list.remove(0)).isNotNull();
+        assertThat(list.isEmpty()).isTrue();
+        list.add(1);
+        assertThat(list).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("set changes an element, and contains supports null")
+    void setAndContains() {
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+
+        list.set(70, null);
+
+        assertThat(list.get(70)).isNull();
+        assertThat(list.contains(null)).isTrue();
+        assertThat(list.contains(99)).isTrue();
+        assertThat(list.contains(70)).isFalse();
+        assertThatThrownBy(() -> list.set(100, 0)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("clear removes all elements")
+    void clear() {
+        var list = UnrolledLinkedList.of(1, 2, 3);
+
+        list.clear();
+
+        assertThat(list.size()).isZero();
+        assertThat(list.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("random adds and removes work the same way as on a java.util.ArrayList")
+    void randomOperations() {
+        var random = new Random(42);
+        var expected = new java.util.ArrayList<Integer>();
+        for (int step = 0; step < 50_000; step++) {
+            if (expected.isEmpty() || random.nextInt(5) < 3) {
+                var index = random.nextInt(expected.size() + 1);
+                list.add(index, step);
+                expected.add(index, step);
+            } else {
+                var index = random.nextInt(expected.size());
+                assertThat(list.remove(index)).isEqualTo(expected.remove(index));
+            }
+            assertThat(list.size()).isEqualTo(expected.size());
+        }
+
+        assertThat(list).containsExactlyElementsOf(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(list.get(i)).isEqualTo(expected.get(i));
+        }
+    }
+
+    private java.util.List<Integer> expectedRange(int count) {
+        var elements = new java.util.ArrayList<Integer>();
+        for (int i = 0; i < count; i++) {
+            elements.add(i);
+        }
+        return elements;
+    }
+}
@@ -0,0 +1,265 @@
+package com.bobocode.cs;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link AppendOnlyArrayList} is a thread-safe implementation of {@link List} interface that supports only adding
+ * elements to the end. Any number of threads can add elements and read them at the same time without locks.
+ * <p>
+ * Elements are stored in chunks, and every next chunk is twice as large as the previous one, so the elements are never
+ * copied and an element is found in constant time O(1) by its index. A writer claims a slot by a compare-and-set
+ * of the number of claimed slots, allocates the chunk of the slot if nobody has done it yet, and writes the element.
+ * Then it publishes the slot by moving the size over all written slots that follow it. A writer never waits for
+ * another one: if a previous slot is not written yet, the writer of that slot will move the size further later.
+ * A null element is stored as a special marker, so an empty slot always means a slot that is not written yet.
+ * <p>
+ * A reader reads the size first, so every element below it is completely written and visible. Changing or removing
+ * elements is not supported.
+ */
+public class AppendOnlyArrayList<T> implements List<T>, Iterable<T> {
+
+    private static final int FIRST_CHUNK_SHIFT = 4;
+    private static final int CHUNK_COUNT = Integer.SIZE - FIRST_CHUNK_SHIFT;
+    private static final Object NULL_ELEMENT = new Object();
+    private static final VarHandle CHUNKS = MethodHandles.arrayElementVarHandle(Object[][].class);
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Object[].class);
+    private static final VarHandle CLAIMED;
+    private static final VarHandle SIZE;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            CLAIMED = lookup.findVarHandle(AppendOnlyArrayList.class, "claimed", int.class);
+            SIZE = lookup.findVarHandle(AppendOnlyArrayList.class, "size", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Object[][] chunks = new Object[CHUNK_COUNT][];
+    private volatile int claimed;
+    private volatile int size;
+
+    /**
+     * Returns the chunk of a given index. The chunk k starts at index 16 * (2^k - 1) and has 16 * 2^k slots.
+     */
+    private static int chunkIndex(int index) {
+        return Integer.SIZE - 1 - Integer.numberOfLeadingZeros((index >>> FIRST_CHUNK_SHIFT) + 1);
+    }
+
+    private static int offsetInChunk(int index, int chunkIndex) {
+        return index - (((1 << chunkIndex) - 1) << FIRST_CHUNK_SHIFT);
+    }
+
+    private Object[] chunkOf(int chunkIndex) {
+        Object[] chunk = (Object[]) CHUNKS.getVolatile(chunks, chunkIndex);
+        if (chunk == null) {
+            Object[] newChunk = new Object[1 << (chunkIndex + FIRST_CHUNK_SHIFT)];
+            chunk = (Object[]) CHUNKS.compareAndExchange(chunks, chunkIndex, null, newChunk);
+            if (chunk == null) {
+                chunk = newChunk;
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * Adds an element to the end of the list. It claims a slot, writes the element into it, and publishes the slot
+     * unless some previous slot is still being written.
+     *
+     * @param element element to add
+     */
+    @Override
+    public void add(T element) {
+        int index;
+        do {
+            index = claimed;
+            if (index == Integer.MAX_VALUE) {
+                throw new IllegalStateException("List is full");
+            }
+        } while (!CLAIMED.compareAndSet(this, index, index + 1));
+        int chunkIndex = chunkIndex(index);
+        Object slotValue = element == null ? NULL_ELEMENT : element;
+        SLOTS.setVolatile(chunkOf(chunkIndex), offsetInChunk(index, chunkIndex), slotValue);
+        publishWrittenSlots();
+    }
+
+    /**
+     * Moves the size over all written slots that follow it. Any writer can move it, so the size does not depend on
+     * a writer that is slow to finish. Slots are written and checked with volatile access, so of two writers that
+     * finish at the same time at least one sees the slot of the other.
+     */
+    private void publishWrittenSlots() {
+        int currentSize = size;
+        while (currentSize < claimed && isWritten(currentSize)) {
+            SIZE.compareAndSet(this, currentSize, currentSize + 1);
+            currentSize = size;
+        }
+    }
+
+    private boolean isWritten(int index) {
+        int chunkIndex = chunkIndex(index);
+        Object[] chunk = (Object[]) CHUNKS.getVolatile(chunks, chunkIndex);
+        return chunk != null && SLOTS.getVolatile(chunk, offsetInChunk(index, chunkIndex)) != null;
+    }
+
+    /**
+     * The list is append-only, so this method always throws an exception.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void add(int index, T element) {
+        throw new UnsupportedOperationException("AppendOnlyArrayList supports only adding to the end");
+    }
+
+    /**
+     * Retrieves an element by its position index. In case provided index in out of the list bounds it
+     * throws {@link IndexOutOfBoundsException}
+     *
+     * @param index index of element
+     * @return en element
+     */
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+        return elementAt(index);
+    }
+
+    /**
+     * Reads a published element. The size is read before, so the chunk and the element are visible.
+     */
+    @SuppressWarnings("unchecked")
+    private T elementAt(int index) {
+        int chunkIndex = chunkIndex(index);
+        Object element = chunks[chunkIndex][offsetInChunk(index, chunkIndex)];
+        return element == NULL_ELEMENT ? null : (T) element;
+    }
+
+    /**
+     * Returns the first element of the list. Operation is performed in constant time O(1)
+     *
+     * @return the first element of the list
+     * @throws java.util.NoSuchElementException if list is empty
+     */
+    @Override
+    public T getFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return elementAt(0);
+    }
+
+    /**
+     * Returns the last published element of the list. Operation is performed in constant time O(1)
+     *
+     * @return the last element of the list
+     * @throws java.util.NoSuchElementException if list is empty
+     */
+    @Override
+    public T getLast() {
+        int currentSize = size;
+        if (currentSize == 0) {
+            throw new NoSuchElementException();
+        }
+        return elementAt(currentSize - 1);
+    }
+
+    /**
+     * The list is append-only, so this method always throws an exception.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void set(int index, T element) {
+        throw new UnsupportedOperationException("AppendOnlyArrayList does not support changing elements");
+    }
+
+    /**
+     * The list is append-only, so this method always throws an exception.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public T remove(int index) {
+        throw new UnsupportedOperationException("AppendOnlyArrayList does not support removing elements");
+    }
+
+    /**
+     * Checks for existing of a specific element among the published elements. A null element is supported.
+     *
+     * @param element is element
+     * @return If element exists method returns true, otherwise it returns false
+     */
+    @Override
+    public boolean contains(T element) {
+        int currentSize = size;
+        for (int i = 0; i < currentSize; i++) {
+            T currentElement = elementAt(i);
+            if (element == null ? currentElement == null : element.equals(currentElement)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a list is empty
+     *
+     * @return {@code true} if list is empty, {@code false} otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return amount of published elements
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The list is append-only, so this method always throws an exception.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("AppendOnlyArrayList does not support removing elements");
+    }
+
+    /**
+     * Returns an iterator over the elements that are published when it is created. It does not see elements added
+     * after that.
+     *
+     * @return an iterator
+     */
+    @Override
+    public Iterator<T> iterator() {
+        int currentSize = size;
+        return new Iterator<>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < currentSize;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return elementAt(index++);
+            }
+        };
+    }
+}
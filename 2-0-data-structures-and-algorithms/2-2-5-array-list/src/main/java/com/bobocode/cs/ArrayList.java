@@ -1,7 +1,13 @@
 package com.bobocode.cs;
 
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 /**
  * {@link ArrayList} is an implementation of {@link List} interface. This resizable data structure
@@ -26,6 +32,9 @@ public class ArrayList<T> implements List<T> {
      * @throws IllegalArgumentException – if the specified initial capacity is negative or 0.
      */
     public ArrayList(int initCapacity) {
+        if (initCapacity <= 0) {
+            throw new IllegalArgumentException("Wrong initCapacity: " + initCapacity);
+        }
         this.elementData = new Object[initCapacity];
     }
 
@@ -44,10 +53,8 @@ public class ArrayList<T> implements List<T> {
      * @return new instance
      */
     public static <T> List<T> of(T... elements) {
-        final ArrayList<T> arrayList = new ArrayList<>(elements.length);
-        for (int i = 0; i < elements.length; i++) {
-            arrayList.set(i, elements[i]);
-        }
+        final ArrayList<T> arrayList = new ArrayList<>(Math.max(elements.length, DEFAULT_CAPACITY));
+        arrayList.addAll(elements);
         return arrayList;
     }
 
@@ -64,23 +71,47 @@ public class ArrayList<T> implements List<T> {
     }
 
     private void increaseArraySizeIfNeeded() {
-        if (size == elementData.length) {
-            elementData = Arrays.copyOf(elementData, size * 2);
+        ensureCapacity(size + 1);
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > elementData.length) {
+            elementData = Arrays.copyOf(elementData, Math.max(elementData.length * 2, minCapacity));
         }
     }
 
     /**
-     * Adds an element to the specific position in the array where
+     * Adds all elements of a collection to the end of the list. The array grows at most once, and the elements are
+     * copied by a single array copy.
+     *
+     * @param elements elements to add
+     */
+    public void addAll(Collection<? extends T> elements) {
+        addAll(elements.toArray());
+    }
+
+    private void addAll(Object[] elements) {
+        ensureCapacity(size + elements.length);
+        System.arraycopy(elements, 0, elementData, size, elements.length);
+        size += elements.length;
+    }
+
+    /**
+     * Adds an element to the specific position in the array and shifts the following elements to the right.
+     * In case provided index in out of the list bounds it throws {@link IndexOutOfBoundsException}
      *
      * @param index   index of position
      * @param element element to add
      */
     @Override
     public void add(int index, T element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException();
+        }
         increaseArraySizeIfNeeded();
         System.arraycopy(elementData, index, elementData, index + 1, size - index);
+        elementData[index] = element;
         size++;
-        elementData[size - 1] = element;
     }
 
     /**
@@ -165,14 +196,115 @@ public class ArrayList<T> implements List<T> {
     }
 
     /**
-     * Checks for existing of a specific element in the list.
+     * Checks for existing of a specific element in the list. It looks only at the elements within the list size,
+     * and a null element is supported.
      *
      * @param element is element
      * @return If element exists method returns true, otherwise it returns false
      */
     @Override
     public boolean contains(T element) {
-        return Arrays.stream(elementData).anyMatch(element::equals);
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * Returns the index of the first occurrence of a specific element in the list. Elements are compared by
+     * {@link Object#equals(Object)}, and a null element matches a null one.
+     *
+     * @param element is element
+     * @return the index of the element, or -1 if there is no such element
+     */
+    public int indexOf(T element) {
+        if (element == null) {
+            for (int i = 0; i < size; i++) {
+                if (elementData[i] == null) {
+                    return i;
+                }
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                if (element.equals(elementData[i])) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Sorts the list in place by a given comparator. The sort is stable, and it sorts the inner array directly,
+     * without copying the elements to another collection.
+     *
+     * @param comparator a comparator of elements
+     */
+    @SuppressWarnings("unchecked")
+    public void sort(Comparator<? super T> comparator) {
+        Arrays.sort((T[]) elementData, 0, size, comparator);
+    }
+
+    /**
+     * Sorts the list in place by a given comparator, splitting the work across the common fork-join pool. The sort is
+     * stable. It is worth using only for large lists on several cores, otherwise it sorts in the current thread.
+     *
+     * @param comparator a comparator of elements
+     */
+    @SuppressWarnings("unchecked")
+    public void parallelSort(Comparator<? super T> comparator) {
+        Arrays.parallelSort((T[]) elementData, 0, size, comparator);
+    }
+
+    /**
+     * Removes all elements that match a given predicate. It tests every element first, so the list is not changed if
+     * the predicate throws an exception. Then it moves every kept element to its final position once, so it takes
+     * O(n) time regardless of how many elements are removed.
+     *
+     * @param filter a predicate that returns true for elements to remove
+     * @return {@code true} if any element is removed, {@code false} otherwise
+     */
+    @SuppressWarnings("unchecked")
+    public boolean removeIf(Predicate<? super T> filter) {
+        BitSet toRemove = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            if (filter.test((T) elementData[i])) {
+                toRemove.set(i);
+            }
+        }
+        if (toRemove.isEmpty()) {
+            return false;
+        }
+        int newSize = 0;
+        for (int i = 0; i < size; i++) {
+            if (!toRemove.get(i)) {
+                elementData[newSize++] = elementData[i];
+            }
+        }
+        Arrays.fill(elementData, newSize, size, null);
+        size = newSize;
+        return true;
+    }
+
+    /**
+     * Replaces every element with the result of a given operator applied to it.
+     *
+     * @param operator an operator to apply to every element
+     */
+    @SuppressWarnings("unchecked")
+    public void replaceAll(UnaryOperator<T> operator) {
+        for (int i = 0; i < size; i++) {
+            elementData[i] = operator.apply((T) elementData[i]);
+        }
+    }
+
+    /**
+     * Performs a given action for every element in the list order.
+     *
+     * @param action an action to perform
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        for (int i = 0; i < size; i++) {
+            action.accept((T) elementData[i]);
+        }
     }
 
     /**
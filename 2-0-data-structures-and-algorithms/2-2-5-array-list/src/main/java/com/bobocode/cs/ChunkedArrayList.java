@@ -0,0 +1,265 @@
+package com.bobocode.cs;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link ChunkedArrayList} is an implementation of {@link List} interface that stores elements in fixed-size arrays
+ * (chunks) instead of a single array. A small array of chunks (a directory) keeps them in order.
+ * <p>
+ * When the list grows, it allocates only one new chunk, and it never copies elements, so there is no moment when
+ * both the old and the new array are alive, and there is no large contiguous allocation. Only the directory is copied
+ * when it is full, and it is thousands of times smaller than the list. The chunk size is a power of two, so an element
+ * is found in constant time O(1): the high bits of its index give the chunk, and the low bits give the position in it.
+ * <p>
+ * The default chunk size is 8192 elements, which is 32KB with compressed references, well below the size of objects
+ * that G1 allocates in separate (humongous) regions.
+ */
+public class ChunkedArrayList<T> implements List<T> {
+
+    private static final int DEFAULT_CHUNK_SHIFT = 13;
+    private static final int DEFAULT_DIRECTORY_SIZE = 4;
+
+    private final int chunkShift;
+    private final int chunkMask;
+    private Object[][] chunks = new Object[DEFAULT_DIRECTORY_SIZE][];
+    private int chunkCount;
+
+    private int size;
+
+    /**
+     * This constructor creates an instance of {@link ChunkedArrayList} with a default chunk size of 8192 elements.
+     * No chunk is allocated until the first element is added.
+     */
+    public ChunkedArrayList() {
+        this(DEFAULT_CHUNK_SHIFT);
+    }
+
+    ChunkedArrayList(int chunkShift) {
+        if (chunkShift < 0 || chunkShift > 30) {
+            throw new IllegalArgumentException("Wrong chunkShift: " + chunkShift);
+        }
+        this.chunkShift = chunkShift;
+        this.chunkMask = (1 << chunkShift) - 1;
+    }
+
+    /**
+     * Creates and returns an instance of {@link ChunkedArrayList} with provided elements
+     *
+     * @param elements to add
+     * @return new instance
+     */
+    @SafeVarargs
+    public static <T> List<T> of(T... elements) {
+        ChunkedArrayList<T> list = new ChunkedArrayList<>();
+        for (T element : elements) {
+            list.add(element);
+        }
+        return list;
+    }
+
+    /**
+     * Adds an element to the end of the list. If the last chunk is full, it allocates a new one.
+     *
+     * @param element element to add
+     */
+    @Override
+    public void add(T element) {
+        addChunkIfNeeded();
+        chunks[size >>> chunkShift][size & chunkMask] = element;
+        size++;
+    }
+
+    private void addChunkIfNeeded() {
+        if (size == (long) chunkCount << chunkShift) {
+            if (size == Integer.MAX_VALUE) {
+                throw new IllegalStateException("List is full");
+            }
+            if (chunkCount == chunks.length) {
+                chunks = Arrays.copyOf(chunks, 2 * chunkCount);
+            }
+            chunks[chunkCount++] = new Object[1 << chunkShift];
+        }
+    }
+
+    /**
+     * Adds an element to the specific position in the list. All following elements are shifted one position right,
+     * and the last element of every chunk moves to the beginning of the next one.
+     *
+     * @param index   index of position
+     * @param element element to add
+     */
+    @Override
+    public void add(int index, T element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException();
+        }
+        addChunkIfNeeded();
+        int chunkIndex = index >>> chunkShift;
+        int lastChunkIndex = size >>> chunkShift;
+        for (int i = lastChunkIndex; i > chunkIndex; i--) {
+            Object[] chunk = chunks[i];
+            int length = i == lastChunkIndex ? size & chunkMask : chunkMask;
+            System.arraycopy(chunk, 0, chunk, 1, length);
+            chunk[0] = chunks[i - 1][chunkMask];
+        }
+        Object[] chunk = chunks[chunkIndex];
+        int offset = index & chunkMask;
+        int end = chunkIndex == lastChunkIndex ? size & chunkMask : chunkMask;
+        System.arraycopy(chunk, offset, chunk, offset + 1, end - offset);
+        chunk[offset] = element;
+        size++;
+    }
+
+    /**
+     * Retrieves an element by its position index. In case provided index in out of the list bounds it
+     * throws {@link IndexOutOfBoundsException}
+     *
+     * @param index index of element
+     * @return en element
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkIndex(index);
+        return (T) chunks[index >>> chunkShift][index & chunkMask];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    /**
+     * Returns the first element of the list. Operation is performed in constant time O(1)
+     *
+     * @return the first element of the list
+     * @throws java.util.NoSuchElementException if list is empty
+     */
+    @Override
+    public T getFirst() {
+        checkIfEmpty();
+        return get(0);
+    }
+
+    private void checkIfEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+    }
+
+    /**
+     * Returns the last element of the list. Operation is performed in constant time O(1)
+     *
+     * @return the last element of the list
+     * @throws java.util.NoSuchElementException if list is empty
+     */
+    @Override
+    public T getLast() {
+        checkIfEmpty();
+        return get(size - 1);
+    }
+
+    /**
+     * Changes the value of array at specific position. In case provided index in out of the list bounds it
+     * throws {@link IndexOutOfBoundsException}
+     *
+     * @param index   position of value
+     * @param element a new value
+     */
+    @Override
+    public void set(int index, T element) {
+        checkIndex(index);
+        chunks[index >>> chunkShift][index & chunkMask] = element;
+    }
+
+    /**
+     * Removes an elements by its position index. All following elements are shifted one position left, and
+     * the first element of every chunk moves to the end of the previous one. A chunk that becomes empty is kept
+     * for the next elements. In case provided index in out of the list bounds it throws
+     * {@link IndexOutOfBoundsException}
+     *
+     * @param index element index
+     * @return deleted element
+     */
+    @Override
+    public T remove(int index) {
+        T removedElement = get(index);
+        int chunkIndex = index >>> chunkShift;
+        int lastIndex = size - 1;
+        int lastChunkIndex = lastIndex >>> chunkShift;
+        Object[] chunk = chunks[chunkIndex];
+        int offset = index & chunkMask;
+        int end = chunkIndex == lastChunkIndex ? lastIndex & chunkMask : chunkMask;
+        System.arraycopy(chunk, offset + 1, chunk, offset, end - offset);
+        for (int i = chunkIndex + 1; i <= lastChunkIndex; i++) {
+            Object[] nextChunk = chunks[i];
+            chunks[i - 1][chunkMask] = nextChunk[0];
+            int length = i == lastChunkIndex ? lastIndex & chunkMask : chunkMask;
+            System.arraycopy(nextChunk, 1, nextChunk, 0, length);
+        }
+        chunks[lastChunkIndex][lastIndex & chunkMask] = null;
+        size--;
+        return removedElement;
+    }
+
+    /**
+     * Checks for existing of a specific element in the list. A null element is supported.
+     *
+     * @param element is element
+     * @return If element exists method returns true, otherwise it returns false
+     */
+    @Override
+    public boolean contains(T element) {
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * Returns the index of the first occurrence of a specific element in the list. It scans chunk by chunk, so it looks
+     * only at the elements within the list size.
+     *
+     * @param element is element
+     * @return the index of the element, or -1 if there is no such element
+     */
+    public int indexOf(T element) {
+        for (int chunkIndex = 0, start = 0; start < size; chunkIndex++, start += 1 << chunkShift) {
+            Object[] chunk = chunks[chunkIndex];
+            int length = Math.min(chunk.length, size - start);
+            for (int i = 0; i < length; i++) {
+                if (element == null ? chunk[i] == null : element.equals(chunk[i])) {
+                    return start + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if a list is empty
+     *
+     * @return {@code true} if list is empty, {@code false} otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return amount of saved elements
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all list elements and releases all chunks
+     */
+    @Override
+    public void clear() {
+        size = 0;
+        chunkCount = 0;
+        chunks = new Object[DEFAULT_DIRECTORY_SIZE][];
+    }
+}
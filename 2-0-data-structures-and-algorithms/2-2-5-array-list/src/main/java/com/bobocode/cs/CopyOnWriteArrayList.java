@@ -0,0 +1,260 @@
+package com.bobocode.cs;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.UnaryOperator;
+
+/**
+ * {@link CopyOnWriteArrayList} is a thread-safe implementation of {@link List} interface for lists that are read much
+ * more often than they are changed. The elements are stored in an array that is never changed after it is published.
+ * Every change creates a new array and publishes it by a compare-and-set of the array reference, and it tries again if
+ * another thread has published its change first. So neither readers nor writers take a lock.
+ * <p>
+ * A reader reads the current array once and works with it, so it always sees a consistent list. An iterator works with
+ * the array that was current when the iterator was created (a snapshot), so it never fails because of concurrent
+ * changes, but it does not see them either. Every change copies the whole array, so it takes O(n) time.
+ */
+public class CopyOnWriteArrayList<T> implements List<T>, Iterable<T> {
+
+    private static final Object[] EMPTY_ARRAY = {};
+    private static final VarHandle ARRAY;
+
+    static {
+        try {
+            ARRAY = MethodHandles.lookup().findVarHandle(CopyOnWriteArrayList.class, "array", Object[].class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile Object[] array = EMPTY_ARRAY;
+
+    /**
+     * Creates and returns an instance of {@link CopyOnWriteArrayList} with provided elements
+     *
+     * @param elements to add
+     * @return new instance
+     */
+    @SafeVarargs
+    public static <T> CopyOnWriteArrayList<T> of(T... elements) {
+        CopyOnWriteArrayList<T> list = new CopyOnWriteArrayList<>();
+        Object[] source = elements;
+        list.array = Arrays.copyOf(source, source.length, Object[].class);
+        return list;
+    }
+
+    /**
+     * Replaces the current array with the result of a given function, retrying with a fresh array if another thread
+     * has changed it in the meantime. The function must not change the array it gets.
+     */
+    private Object[] update(UnaryOperator<Object[]> change) {
+        while (true) {
+            Object[] current = array;
+            Object[] updated = change.apply(current);
+            if (ARRAY.compareAndSet(this, current, updated)) {
+                return current;
+            }
+        }
+    }
+
+    /**
+     * Adds an element to the end of the list by publishing a copy of the array with the element.
+     *
+     * @param element element to add
+     */
+    @Override
+    public void add(T element) {
+        update(current -> {
+            Object[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = element;
+            return updated;
+        });
+    }
+
+    /**
+     * Adds an element to the specific position in the list. In case provided index in out of the list bounds it
+     * throws {@link IndexOutOfBoundsException}
+     *
+     * @param index   index of position
+     * @param element element to add
+     */
+    @Override
+    public void add(int index, T element) {
+        update(current -> {
+            if (index < 0 || index > current.length) {
+                throw new IndexOutOfBoundsException();
+            }
+            Object[] updated = new Object[current.length + 1];
+            System.arraycopy(current, 0, updated, 0, index);
+            updated[index] = element;
+            System.arraycopy(current, index, updated, index + 1, current.length - index);
+            return updated;
+        });
+    }
+
+    /**
+     * Retrieves an element by its position index. In case provided index in out of the list bounds it
+     * throws {@link IndexOutOfBoundsException}
+     *
+     * @param index index of element
+     * @return en element
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        Object[] current = array;
+        checkIndex(index, current);
+        return (T) current[index];
+    }
+
+    private static void checkIndex(int index, Object[] current) {
+        if (index < 0 || index >= current.length) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    /**
+     * Returns the first element of the list. Operation is performed in constant time O(1)
+     *
+     * @return the first element of the list
+     * @throws java.util.NoSuchElementException if list is empty
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T getFirst() {
+        Object[] current = array;
+        checkIfEmpty(current);
+        return (T) current[0];
+    }
+
+    private static void checkIfEmpty(Object[] current) {
+        if (current.length == 0) {
+            throw new NoSuchElementException();
+        }
+    }
+
+    /**
+     * Returns the last element of the list. Operation is performed in constant time O(1)
+     *
+     * @return the last element of the list
+     * @throws java.util.NoSuchElementException if list is empty
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T getLast() {
+        Object[] current = array;
+        checkIfEmpty(current);
+        return (T) current[current.length - 1];
+    }
+
+    /**
+     * Changes the value at specific position by publishing a copy of the array. In case provided index in out of
+     * the list bounds it throws {@link IndexOutOfBoundsException}
+     *
+     * @param index   position of value
+     * @param element a new value
+     */
+    @Override
+    public void set(int index, T element) {
+        update(current -> {
+            checkIndex(index, current);
+            Object[] updated = current.clone();
+            updated[index] = element;
+            return updated;
+        });
+    }
+
+    /**
+     * Removes an elements by its position index. In case provided index in out of the list bounds it
+     * throws {@link IndexOutOfBoundsException}
+     *
+     * @param index element index
+     * @return deleted element
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T remove(int index) {
+        Object[] previous = update(current -> {
+            checkIndex(index, current);
+            Object[] updated = new Object[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, index);
+            System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+            return updated;
+        });
+        return (T) previous[index];
+    }
+
+    /**
+     * Checks for existing of a specific element in the list. A null element is supported.
+     *
+     * @param element is element
+     * @return If element exists method returns true, otherwise it returns false
+     */
+    @Override
+    public boolean contains(T element) {
+        Object[] current = array;
+        for (Object currentElement : current) {
+            if (element == null ? currentElement == null : element.equals(currentElement)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a list is empty
+     *
+     * @return {@code true} if list is empty, {@code false} otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return array.length == 0;
+    }
+
+    /**
+     * @return amount of saved elements
+     */
+    @Override
+    public int size() {
+        return array.length;
+    }
+
+    /**
+     * Removes all list elements
+     */
+    @Override
+    public void clear() {
+        array = EMPTY_ARRAY;
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the list. It does not see the changes made after it is created, and it
+     * does not support removal.
+     *
+     * @return a snapshot iterator
+     */
+    @Override
+    public Iterator<T> iterator() {
+        Object[] snapshot = array;
+        return new Iterator<>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < snapshot.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return (T) snapshot[index++];
+            }
+        };
+    }
+}
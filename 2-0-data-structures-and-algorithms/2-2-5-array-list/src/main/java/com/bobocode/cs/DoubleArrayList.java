@@ -0,0 +1,266 @@
+package com.bobocode.cs;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.stream.DoubleStream;
+
+/**
+ * {@link DoubleArrayList} is a resizable list of double values. It mirrors the API of {@link ArrayList}, but it stores
+ * the values in a double array, so it takes 8 bytes per element instead of a reference to a boxed {@link Double},
+ * and it never boxes or unboxes a value.
+ */
+public class DoubleArrayList {
+
+    private static final int DEFAULT_CAPACITY = 5;
+    private double[] elementData;
+
+    private int size;
+
+    /**
+     * This constructor creates an instance of {@link DoubleArrayList} with a specific capacity of an array inside.
+     *
+     * @param initCapacity - the initial capacity of the list
+     * @throws IllegalArgumentException – if the specified initial capacity is negative
+     */
+    public DoubleArrayList(int initCapacity) {
+        if (initCapacity < 0) {
+            throw new IllegalArgumentException("Negative initCapacity: " + initCapacity);
+        }
+        this.elementData = new double[initCapacity];
+    }
+
+    /**
+     * This constructor creates an instance of {@link DoubleArrayList} with a default capacity of an array inside.
+     * A default size of inner array is 5;
+     */
+    public DoubleArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    private DoubleArrayList(double[] elementData, int size) {
+        this.elementData = elementData;
+        this.size = size;
+    }
+
+    /**
+     * Creates and returns an instance of {@link DoubleArrayList} with a copy of provided elements
+     *
+     * @param elements to add
+     * @return new instance
+     */
+    public static DoubleArrayList of(double... elements) {
+        return new DoubleArrayList(Arrays.copyOf(elements, elements.length), elements.length);
+    }
+
+    /**
+     * Creates an instance of {@link DoubleArrayList} that uses a given array as is, without copying. The list owns
+     * the array after that, so the caller must not change it.
+     *
+     * @param elements an array that becomes the inner array of the list
+     * @return new instance
+     */
+    public static DoubleArrayList wrap(double[] elements) {
+        return new DoubleArrayList(elements, elements.length);
+    }
+
+    /**
+     * Adds an element to the array.
+     *
+     * @param element element to add
+     */
+    public void add(double element) {
+        ensureCapacity(size + 1);
+        elementData[size++] = element;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > elementData.length) {
+            elementData = Arrays.copyOf(elementData, Math.max(2 * elementData.length, minCapacity));
+        }
+    }
+
+    /**
+     * Adds an element to the specific position in the array and shifts the following elements to the right.
+     *
+     * @param index   index of position
+     * @param element element to add
+     */
+    public void add(int index, double element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException();
+        }
+        ensureCapacity(size + 1);
+        System.arraycopy(elementData, index, elementData, index + 1, size - index);
+        elementData[index] = element;
+        size++;
+    }
+
+    /**
+     * Adds all provided elements to the end of the list by a single array copy.
+     *
+     * @param elements elements to add
+     */
+    public void addAll(double[] elements) {
+        ensureCapacity(size + elements.length);
+        System.arraycopy(elements, 0, elementData, size, elements.length);
+        size += elements.length;
+    }
+
+    /**
+     * Retrieves an element by its position index. In case provided index in out of the list bounds it
+     * throws {@link IndexOutOfBoundsException}
+     *
+     * @param index index of element
+     * @return en element
+     */
+    public double get(int index) {
+        checkIndex(index);
+        return elementData[index];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    /**
+     * Returns the first element of the list. Operation is performed in constant time O(1)
+     *
+     * @return the first element of the list
+     * @throws java.util.NoSuchElementException if list is empty
+     */
+    public double getFirst() {
+        checkIfEmpty();
+        return elementData[0];
+    }
+
+    private void checkIfEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+    }
+
+    /**
+     * Returns the last element of the list. Operation is performed in constant time O(1)
+     *
+     * @return the last element of the list
+     * @throws java.util.NoSuchElementException if list is empty
+     */
+    public double getLast() {
+        checkIfEmpty();
+        return elementData[size - 1];
+    }
+
+    /**
+     * Changes the value of array at specific position. In case provided index in out of the list bounds it
+     * throws {@link IndexOutOfBoundsException}
+     *
+     * @param index   position of value
+     * @param element a new value
+     */
+    public void set(int index, double element) {
+        checkIndex(index);
+        elementData[index] = element;
+    }
+
+    /**
+     * Removes an elements by its position index. In case provided index in out of the list bounds it
+     * throws {@link IndexOutOfBoundsException}
+     *
+     * @param index element index
+     * @return deleted element
+     */
+    public double remove(int index) {
+        checkIndex(index);
+        double removedElement = elementData[index];
+        System.arraycopy(elementData, index + 1, elementData, index, size - index - 1);
+        size--;
+        return removedElement;
+    }
+
+    /**
+     * Checks for existing of a specific element in the list.
+     *
+     * @param element is element
+     * @return If element exists method returns true, otherwise it returns false
+     */
+    public boolean contains(double element) {
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * Returns the index of the first occurrence of a specific element in the list. Elements are compared the same way
+     * as {@link Double#equals(Object)} does, so {@code NaN} can be found, and {@code 0.0} is not equal to {@code -0.0}.
+     *
+     * @param element is element
+     * @return the index of the element, or -1 if there is no such element
+     */
+    public int indexOf(double element) {
+        long bits = Double.doubleToLongBits(element);
+        for (int i = 0; i < size; i++) {
+            if (Double.doubleToLongBits(elementData[i]) == bits) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a copy of the list elements.
+     *
+     * @return a new array of the list size
+     */
+    public double[] toArray() {
+        return Arrays.copyOf(elementData, size);
+    }
+
+    /**
+     * Copies the list elements into a given array if it is large enough, so no array is allocated. Otherwise it
+     * returns a new array, like {@link #toArray()} does.
+     *
+     * @param destination an array to copy the elements to
+     * @return the destination array, or a new array if the destination is too small
+     */
+    public double[] toArray(double[] destination) {
+        if (destination.length < size) {
+            return toArray();
+        }
+        System.arraycopy(elementData, 0, destination, 0, size);
+        return destination;
+    }
+
+    /**
+     * Returns a stream of the list elements. The stream reads the inner array directly, so the list must not be
+     * changed until the stream is consumed.
+     *
+     * @return a stream of the list elements
+     */
+    public DoubleStream stream() {
+        return Arrays.stream(elementData, 0, size);
+    }
+
+    /**
+     * Checks if a list is empty
+     *
+     * @return {@code true} if list is empty, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return amount of saved elements
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all list elements
+     */
+    public void clear() {
+        size = 0;
+        elementData = new double[DEFAULT_CAPACITY];
+    }
+}
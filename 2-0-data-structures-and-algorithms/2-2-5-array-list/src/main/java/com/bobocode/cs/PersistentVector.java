@@ -0,0 +1,663 @@
+package com.bobocode.cs;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link PersistentVector} is an immutable implementation of {@link List} interface based on a relaxed radix balanced
+ * tree (RRB tree). Instead of changing the list, {@link #plus(Object)}, {@link #with(int, Object)},
+ * {@link #concat(PersistentVector)} and {@link #slice(int, int)} return a new vector that shares almost all of its
+ * structure with the old one, so both of them stay valid, and passing a vector around never requires a copy.
+ * <p>
+ * Elements are stored in leaves of 32 elements, and every internal node has up to 32 children, so the tree height is
+ * log32 n, which is at most 6 for any list. A regular node has all children full except the last one, so a child is
+ * found by the bits of the index. A relaxed node, which appears after concat and slice, keeps the cumulative sizes of
+ * its children, and a child is found by a short scan that starts at the same guess. Changing an element copies only
+ * one path from the root to a leaf, and concat and slice rebuild only the nodes along the edges of the result, so
+ * all these operations take O(log n).
+ * <p>
+ * The last elements are kept in a separate array (a tail) out of the tree, so {@link #plus(Object)} copies only the
+ * tail in most cases, and puts it into the tree once it has 32 elements.
+ */
+public class PersistentVector<T> implements List<T>, Iterable<T> {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int EXTRA_SLOTS = 2;
+    private static final Object[] EMPTY_TAIL = {};
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(null, 0, EMPTY_TAIL);
+
+    /**
+     * An internal node of the tree. Its children are nodes or, on the lowest level, leaves that are arrays of
+     * elements. The sizes are null for a regular node.
+     */
+    private static final class Node {
+        private final Object[] children;
+        private final int[] sizes;
+        private final int size;
+
+        private Node(Object[] children, int[] sizes, int size) {
+            this.children = children;
+            this.sizes = sizes;
+            this.size = size;
+        }
+    }
+
+    private final Node root;
+    private final int shift;
+    private final Object[] tail;
+    private final int size;
+
+    private PersistentVector(Node root, int shift, Object[] tail) {
+        this.root = root;
+        this.shift = shift;
+        this.tail = tail;
+        this.size = treeSize(root) + tail.length;
+    }
+
+    /**
+     * Returns an empty vector. It is shared, since it can never be changed.
+     *
+     * @return the empty vector
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentVector<T> empty() {
+        return (PersistentVector<T>) EMPTY;
+    }
+
+    /**
+     * Creates and returns an instance of {@link PersistentVector} with provided elements
+     *
+     * @param elements to add
+     * @return new instance
+     */
+    @SafeVarargs
+    public static <T> PersistentVector<T> of(T... elements) {
+        PersistentVector<T> vector = empty();
+        for (T element : elements) {
+            vector = vector.plus(element);
+        }
+        return vector;
+    }
+
+    private static int treeSize(Node root) {
+        return root == null ? 0 : root.size;
+    }
+
+    private static int sizeOf(Object child) {
+        return child instanceof Node ? ((Node) child).size : ((Object[]) child).length;
+    }
+
+    private static Object[] itemsOf(Object child) {
+        return child instanceof Node ? ((Node) child).children : (Object[]) child;
+    }
+
+    /**
+     * Creates a node of a given level. The sizes are kept only if some child except the last one is not full.
+     */
+    private static Node makeNode(Object[] children, int shift) {
+        int[] sizes = new int[children.length];
+        int total = 0;
+        boolean regular = true;
+        for (int i = 0; i < children.length; i++) {
+            int childSize = sizeOf(children[i]);
+            total += childSize;
+            sizes[i] = total;
+            if (i < children.length - 1 && childSize != 1 << shift) {
+                regular = false;
+            }
+        }
+        return new Node(children, regular ? null : sizes, total);
+    }
+
+    private static int childIndex(Node node, int shift, int index) {
+        int i = index >>> shift;
+        if (node.sizes != null) {
+            while (node.sizes[i] <= index) {
+                i++;
+            }
+        }
+        return i;
+    }
+
+    private static int childStart(Node node, int shift, int childIndex) {
+        if (childIndex == 0) {
+            return 0;
+        }
+        return node.sizes == null ? childIndex << shift : node.sizes[childIndex - 1];
+    }
+
+    /**
+     * Returns a new vector with a given element added to the end. This vector is not changed.
+     *
+     * @param element element to add
+     * @return a new vector
+     */
+    public PersistentVector<T> plus(T element) {
+        if (size == Integer.MAX_VALUE) {
+            throw new IllegalStateException("List is full");
+        }
+        if (tail.length < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = element;
+            return new PersistentVector<>(root, shift, newTail);
+        }
+        PersistentVector<T> vector = withTailInTree();
+        return new PersistentVector<>(vector.root, vector.shift, new Object[]{element});
+    }
+
+    /**
+     * Returns a vector with the same elements, all of which are in the tree.
+     */
+    private PersistentVector<T> withTailInTree() {
+        if (tail.length == 0) {
+            return this;
+        }
+        if (root == null) {
+            return new PersistentVector<>(makeNode(new Object[]{tail}, BITS), BITS, EMPTY_TAIL);
+        }
+        Node newRoot = appendLeaf(root, shift, tail);
+        if (newRoot != null) {
+            return new PersistentVector<>(newRoot, shift, EMPTY_TAIL);
+        }
+        Node grownRoot = makeNode(new Object[]{root, newPath(tail, shift)}, shift + BITS);
+        return new PersistentVector<>(grownRoot, shift + BITS, EMPTY_TAIL);
+    }
+
+    /**
+     * Appends a leaf to the rightmost path of a node, or returns null if there are no free slots on it.
+     */
+    private static Node appendLeaf(Node node, int shift, Object[] leaf) {
+        Object[] children = node.children;
+        if (shift > BITS) {
+            Node newLast = appendLeaf((Node) children[children.length - 1], shift - BITS, leaf);
+            if (newLast != null) {
+                Object[] newChildren = children.clone();
+                newChildren[children.length - 1] = newLast;
+                return makeNode(newChildren, shift);
+            }
+        }
+        if (children.length == WIDTH) {
+            return null;
+        }
+        Object[] newChildren = Arrays.copyOf(children, children.length + 1);
+        newChildren[children.length] = newPath(leaf, shift - BITS);
+        return makeNode(newChildren, shift);
+    }
+
+    private static Object newPath(Object[] leaf, int shift) {
+        return shift == 0 ? leaf : makeNode(new Object[]{newPath(leaf, shift - BITS)}, shift);
+    }
+
+    /**
+     * Returns a new vector with a given element at specific position. Only the path to the element is copied, and
+     * this vector is not changed. In case provided index in out of the list bounds it
+     * throws {@link IndexOutOfBoundsException}
+     *
+     * @param index   position of value
+     * @param element a new value
+     * @return a new vector
+     */
+    public PersistentVector<T> with(int index, T element) {
+        checkIndex(index);
+        int treeSize = treeSize(root);
+        if (index >= treeSize) {
+            Object[] newTail = tail.clone();
+            newTail[index - treeSize] = element;
+            return new PersistentVector<>(root, shift, newTail);
+        }
+        return new PersistentVector<>((Node) setInTree(root, shift, index, element), shift, tail);
+    }
+
+    private static Object setInTree(Object child, int shift, int index, Object element) {
+        if (shift == 0) {
+            Object[] newLeaf = ((Object[]) child).clone();
+            newLeaf[index] = element;
+            return newLeaf;
+        }
+        Node node = (Node) child;
+        int i = childIndex(node, shift, index);
+        Object[] newChildren = node.children.clone();
+        newChildren[i] = setInTree(newChildren[i], shift - BITS, index - childStart(node, shift, i), element);
+        return new Node(newChildren, node.sizes, node.size);
+    }
+
+    /**
+     * Returns a new vector with the elements of this vector followed by the elements of a given vector. Only the nodes
+     * along the border of the two trees are rebuilt, so it takes O(log n). Both vectors are not changed.
+     *
+     * @param other a vector to append
+     * @return a new vector
+     */
+    public PersistentVector<T> concat(PersistentVector<T> other) {
+        if (other.size == 0) {
+            return this;
+        }
+        if (size == 0) {
+            return other;
+        }
+        if ((long) size + other.size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("List is full");
+        }
+        if (other.root == null) {
+            PersistentVector<T> vector = this;
+            for (Object element : other.tail) {
+                vector = vector.plus(castElement(element));
+            }
+            return vector;
+        }
+        PersistentVector<T> left = withTailInTree();
+        Node merged = concatTrees(left.root, left.shift, other.root, other.shift);
+        int mergedShift = Math.max(left.shift, other.shift) + BITS;
+        if (merged.children.length == 1) {
+            return new PersistentVector<>((Node) merged.children[0], mergedShift - BITS, other.tail);
+        }
+        return new PersistentVector<>(merged, mergedShift, other.tail);
+    }
+
+    /**
+     * Merges the right edge of one tree with the left edge of another one. Returns a node one level above the higher
+     * tree, which has one or two children.
+     */
+    private static Node concatTrees(Object left, int leftShift, Object right, int rightShift) {
+        if (leftShift > rightShift) {
+            Node leftNode = (Node) left;
+            Node center = concatTrees(lastChild(leftNode), leftShift - BITS, right, rightShift);
+            return rebalance(leftNode, center, null, leftShift);
+        }
+        if (leftShift < rightShift) {
+            Node rightNode = (Node) right;
+            Node center = concatTrees(left, leftShift, rightNode.children[0], rightShift - BITS);
+            return rebalance(null, center, rightNode, rightShift);
+        }
+        if (leftShift == 0) {
+            return makeNode(new Object[]{left, right}, BITS);
+        }
+        Node leftNode = (Node) left;
+        Node rightNode = (Node) right;
+        Node center = concatTrees(lastChild(leftNode), leftShift - BITS, rightNode.children[0], rightShift - BITS);
+        return rebalance(leftNode, center, rightNode, leftShift);
+    }
+
+    private static Object lastChild(Node node) {
+        return node.children[node.children.length - 1];
+    }
+
+    /**
+     * Puts together the children of the left node without the last one, the children of the center node, and
+     * the children of the right node without the first one. Then it moves items between neighbouring children until
+     * there are at most two more children than the minimum, and returns them in one or two nodes under a new parent.
+     */
+    private static Node rebalance(Node left, Node center, Node right, int shift) {
+        Object[] leftChildren = left == null ? EMPTY_TAIL : left.children;
+        Object[] rightChildren = right == null ? EMPTY_TAIL : right.children;
+        int leftCount = Math.max(leftChildren.length - 1, 0);
+        int rightCount = Math.max(rightChildren.length - 1, 0);
+        Object[] all = new Object[leftCount + center.children.length + rightCount];
+        System.arraycopy(leftChildren, 0, all, 0, leftCount);
+        System.arraycopy(center.children, 0, all, leftCount, center.children.length);
+        if (rightCount > 0) {
+            System.arraycopy(rightChildren, 1, all, leftCount + center.children.length, rightCount);
+        }
+
+        int[] plan = new int[all.length];
+        int total = 0;
+        for (int i = 0; i < all.length; i++) {
+            plan[i] = itemsOf(all[i]).length;
+            total += plan[i];
+        }
+        int length = executePlan(plan, total);
+        Object[] newChildren = redistribute(all, plan, length, shift - BITS);
+        if (length <= WIDTH) {
+            return makeNode(new Object[]{makeNode(newChildren, shift)}, shift + BITS);
+        }
+        Node first = makeNode(Arrays.copyOfRange(newChildren, 0, WIDTH), shift);
+        Node second = makeNode(Arrays.copyOfRange(newChildren, WIDTH, length), shift);
+        return makeNode(new Object[]{first, second}, shift + BITS);
+    }
+
+    /**
+     * Changes the planned item counts of the children so that there are at most {@value #EXTRA_SLOTS} more children
+     * than the minimum needed for all items. Every step empties the first child that is not almost full by moving its
+     * items to the following children. Returns the new number of children.
+     */
+    private static int executePlan(int[] plan, int total) {
+        int length = plan.length;
+        int optimal = (total + WIDTH - 1) / WIDTH;
+        int i = 0;
+        while (length > optimal + EXTRA_SLOTS) {
+            while (i < length - 1 && plan[i] >= WIDTH - EXTRA_SLOTS / 2) {
+                i++;
+            }
+            if (i == length - 1) {
+                break;
+            }
+            int remaining = plan[i];
+            while (remaining > 0) {
+                int count = Math.min(remaining + plan[i + 1], WIDTH);
+                plan[i] = count;
+                remaining = remaining + plan[i + 1] - count;
+                i++;
+            }
+            System.arraycopy(plan, i + 1, plan, i, length - i - 1);
+            length--;
+            i = Math.max(i - 1, 0);
+        }
+        return length;
+    }
+
+    /**
+     * Builds the children of a given level according to the plan. A child that keeps all its items is reused as is.
+     */
+    private static Object[] redistribute(Object[] all, int[] plan, int length, int shift) {
+        Object[] newChildren = new Object[length];
+        int source = 0;
+        int sourceOffset = 0;
+        for (int i = 0; i < length; i++) {
+            Object[] sourceItems = itemsOf(all[source]);
+            if (sourceOffset == 0 && sourceItems.length == plan[i]) {
+                newChildren[i] = all[source++];
+                continue;
+            }
+            Object[] items = new Object[plan[i]];
+            int filled = 0;
+            while (filled < items.length) {
+                sourceItems = itemsOf(all[source]);
+                int count = Math.min(items.length - filled, sourceItems.length - sourceOffset);
+                System.arraycopy(sourceItems, sourceOffset, items, filled, count);
+                filled += count;
+                sourceOffset += count;
+                if (sourceOffset == sourceItems.length) {
+                    source++;
+                    sourceOffset = 0;
+                }
+            }
+            newChildren[i] = shift == 0 ? items : makeNode(items, shift);
+        }
+        return newChildren;
+    }
+
+    /**
+     * Returns a new vector with the elements from one index (inclusive) to another one (exclusive). Only the nodes
+     * along the borders of the range are rebuilt, so it takes O(log n). This vector is not changed.
+     *
+     * @param fromIndex index of the first element
+     * @param toIndex   index after the last element
+     * @return a new vector
+     */
+    public PersistentVector<T> slice(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException();
+        }
+        return take(toIndex).drop(fromIndex);
+    }
+
+    private PersistentVector<T> take(int count) {
+        if (count == size) {
+            return this;
+        }
+        if (count == 0) {
+            return empty();
+        }
+        int treeSize = treeSize(root);
+        if (count >= treeSize) {
+            return new PersistentVector<>(root, shift, Arrays.copyOf(tail, count - treeSize));
+        }
+        return shrink((Node) takeFromTree(root, shift, count), shift, EMPTY_TAIL);
+    }
+
+    private static Object takeFromTree(Object child, int shift, int count) {
+        if (shift == 0) {
+            return Arrays.copyOf((Object[]) child, count);
+        }
+        Node node = (Node) child;
+        int i = childIndex(node, shift, count - 1);
+        Object[] newChildren = Arrays.copyOf(node.children, i + 1);
+        Object lastChild = newChildren[i];
+        int lastCount = count - childStart(node, shift, i);
+        if (lastCount < sizeOf(lastChild)) {
+            newChildren[i] = takeFromTree(lastChild, shift - BITS, lastCount);
+        }
+        return makeNode(newChildren, shift);
+    }
+
+    private PersistentVector<T> drop(int count) {
+        if (count == 0) {
+            return this;
+        }
+        if (count == size) {
+            return empty();
+        }
+        int treeSize = treeSize(root);
+        if (count >= treeSize) {
+            return new PersistentVector<>(null, 0, Arrays.copyOfRange(tail, count - treeSize, tail.length));
+        }
+        return shrink((Node) dropFromTree(root, shift, count), shift, tail);
+    }
+
+    private static Object dropFromTree(Object child, int shift, int count) {
+        if (shift == 0) {
+            Object[] leaf = (Object[]) child;
+            return Arrays.copyOfRange(leaf, count, leaf.length);
+        }
+        Node node = (Node) child;
+        int i = childIndex(node, shift, count);
+        Object[] newChildren = Arrays.copyOfRange(node.children, i, node.children.length);
+        int firstCount = count - childStart(node, shift, i);
+        if (firstCount > 0) {
+            newChildren[0] = dropFromTree(newChildren[0], shift - BITS, firstCount);
+        }
+        return makeNode(newChildren, shift);
+    }
+
+    /**
+     * Removes the root levels that have a single child.
+     */
+    private static <T> PersistentVector<T> shrink(Node root, int shift, Object[] tail) {
+        while (shift > BITS && root.children.length == 1) {
+            root = (Node) root.children[0];
+            shift -= BITS;
+        }
+        return new PersistentVector<>(root, shift, tail);
+    }
+
+    /**
+     * The vector is immutable, so this method always throws an exception. Use {@link #plus(Object)} instead.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void add(T element) {
+        throw new UnsupportedOperationException("PersistentVector is immutable, use plus instead");
+    }
+
+    /**
+     * The vector is immutable, so this method always throws an exception.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void add(int index, T element) {
+        throw new UnsupportedOperationException("PersistentVector is immutable");
+    }
+
+    /**
+     * Retrieves an element by its position index. In case provided index in out of the list bounds it
+     * throws {@link IndexOutOfBoundsException}
+     *
+     * @param index index of element
+     * @return en element
+     */
+    @Override
+    public T get(int index) {
+        checkIndex(index);
+        int treeSize = treeSize(root);
+        if (index >= treeSize) {
+            return castElement(tail[index - treeSize]);
+        }
+        Object child = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            Node node = (Node) child;
+            int i = childIndex(node, level, index);
+            index -= childStart(node, level, i);
+            child = node.children[i];
+        }
+        return castElement(((Object[]) child)[index]);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T castElement(Object element) {
+        return (T) element;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    /**
+     * Returns the first element of the list. Operation is performed in O(log n)
+     *
+     * @return the first element of the list
+     * @throws java.util.NoSuchElementException if list is empty
+     */
+    @Override
+    public T getFirst() {
+        checkIfEmpty();
+        return get(0);
+    }
+
+    private void checkIfEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+    }
+
+    /**
+     * Returns the last element of the list. Operation is performed in constant time O(1) unless the tail is empty
+     *
+     * @return the last element of the list
+     * @throws java.util.NoSuchElementException if list is empty
+     */
+    @Override
+    public T getLast() {
+        checkIfEmpty();
+        return get(size - 1);
+    }
+
+    /**
+     * The vector is immutable, so this method always throws an exception. Use {@link #with(int, Object)} instead.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void set(int index, T element) {
+        throw new UnsupportedOperationException("PersistentVector is immutable, use with instead");
+    }
+
+    /**
+     * The vector is immutable, so this method always throws an exception.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public T remove(int index) {
+        throw new UnsupportedOperationException("PersistentVector is immutable");
+    }
+
+    /**
+     * Checks for existing of a specific element in the list. A null element is supported.
+     *
+     * @param element is element
+     * @return If element exists method returns true, otherwise it returns false
+     */
+    @Override
+    public boolean contains(T element) {
+        for (T current : this) {
+            if (element == null ? current == null : element.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a list is empty
+     *
+     * @return {@code true} if list is empty, {@code false} otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return amount of saved elements
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The vector is immutable, so this method always throws an exception. Use {@link #empty()} instead.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("PersistentVector is immutable, use empty instead");
+    }
+
+    /**
+     * Returns an iterator over the elements. It goes leaf by leaf, so it looks for a leaf once per 32 elements.
+     *
+     * @return an iterator
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private int index;
+            private Object[] leaf = EMPTY_TAIL;
+            private int leafOffset;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (leafOffset == leaf.length) {
+                    findLeaf();
+                }
+                index++;
+                return castElement(leaf[leafOffset++]);
+            }
+
+            private void findLeaf() {
+                int treeSize = treeSize(root);
+                if (index >= treeSize) {
+                    leaf = tail;
+                    leafOffset = index - treeSize;
+                    return;
+                }
+                int remaining = index;
+                Object child = root;
+                for (int level = shift; level > 0; level -= BITS) {
+                    Node node = (Node) child;
+                    int i = childIndex(node, level, remaining);
+                    remaining -= childStart(node, level, i);
+                    child = node.children[i];
+                }
+                leaf = (Object[]) child;
+                leafOffset = remaining;
+            }
+        };
+    }
+}
@@ -0,0 +1,352 @@
+package com.bobocode.cs;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link TieredArrayList} is an implementation of {@link List} interface based on a tiered vector. Elements are stored
+ * in chunks of the same size, and every chunk is a circular array with its own start offset. All chunks are full
+ * except the last one, so an element is still found in constant time O(1) by its index.
+ * <p>
+ * An insert shifts elements only inside the chunk of the given index, towards the closer end of the chunk. Then every
+ * following chunk takes the element that is pushed out of the previous chunk to its beginning, and pushes out its own
+ * last element, which takes O(1) per chunk since it only moves the start offset. A removal works the same way in
+ * the opposite direction. The chunk size is kept close to the square root of the list size, so inserts and removes at
+ * any position take O(sqrt n) instead of O(n) in {@link ArrayList}. When the list gets too large for its chunk size,
+ * all elements are moved to chunks of a doubled size, which is amortized O(1) per element.
+ */
+public class TieredArrayList<T> implements List<T> {
+
+    private static final int INITIAL_CHUNK_SHIFT = 4;
+    private static final int DEFAULT_DIRECTORY_SIZE = 4;
+
+    private int chunkShift;
+    private int chunkMask;
+    private Object[][] chunks;
+    private int[] offsets;
+
+    private int size;
+
+    /**
+     * This constructor creates an empty instance of {@link TieredArrayList} with chunks of 16 elements.
+     */
+    public TieredArrayList() {
+        allocateChunks(INITIAL_CHUNK_SHIFT, DEFAULT_DIRECTORY_SIZE);
+    }
+
+    /**
+     * Creates and returns an instance of {@link TieredArrayList} with provided elements
+     *
+     * @param elements to add
+     * @return new instance
+     */
+    @SafeVarargs
+    public static <T> List<T> of(T... elements) {
+        TieredArrayList<T> list = new TieredArrayList<>();
+        for (T element : elements) {
+            list.add(element);
+        }
+        return list;
+    }
+
+    private void allocateChunks(int chunkShift, int directorySize) {
+        this.chunkShift = chunkShift;
+        this.chunkMask = (1 << chunkShift) - 1;
+        this.chunks = new Object[directorySize][];
+        this.offsets = new int[directorySize];
+    }
+
+    private int physicalIndex(int chunkIndex, int position) {
+        return (offsets[chunkIndex] + position) & chunkMask;
+    }
+
+    /**
+     * Adds an element to the end of the list.
+     *
+     * @param element element to add
+     */
+    @Override
+    public void add(T element) {
+        add(size, element);
+    }
+
+    /**
+     * Adds an element to the specific position in the list. It shifts elements only inside the chunk of the index,
+     * and moves one element between every pair of the following chunks. In case provided index in out of the list
+     * bounds it throws {@link IndexOutOfBoundsException}
+     *
+     * @param index   index of position
+     * @param element element to add
+     */
+    @Override
+    public void add(int index, T element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException();
+        }
+        growIfNeeded();
+        int chunkIndex = index >>> chunkShift;
+        int lastChunkIndex = size >>> chunkShift;
+        if (chunkIndex == lastChunkIndex) {
+            insertIntoChunk(chunkIndex, index & chunkMask, size & chunkMask, element);
+        } else {
+            Object carried = popLast(chunkIndex);
+            insertIntoChunk(chunkIndex, index & chunkMask, chunkMask, element);
+            for (int i = chunkIndex + 1; i < lastChunkIndex; i++) {
+                Object last = popLast(i);
+                pushFirst(i, carried);
+                carried = last;
+            }
+            pushFirst(lastChunkIndex, carried);
+        }
+        size++;
+    }
+
+    /**
+     * Makes sure that the chunk for a new element exists. If the list has reached twice the square of the chunk size,
+     * it moves all elements to chunks of a doubled size first.
+     */
+    private void growIfNeeded() {
+        if (size == Integer.MAX_VALUE) {
+            throw new IllegalStateException("List is full");
+        }
+        if (size >= 2L * (chunkMask + 1) * (chunkMask + 1)) {
+            rebuild(chunkShift + 1);
+        }
+        int lastChunkIndex = size >>> chunkShift;
+        if (lastChunkIndex == chunks.length) {
+            chunks = Arrays.copyOf(chunks, 2 * chunks.length);
+            offsets = Arrays.copyOf(offsets, 2 * offsets.length);
+        }
+        if (chunks[lastChunkIndex] == null) {
+            chunks[lastChunkIndex] = new Object[chunkMask + 1];
+        }
+    }
+
+    private void rebuild(int newChunkShift) {
+        Object[][] oldChunks = chunks;
+        int[] oldOffsets = offsets;
+        int oldChunkShift = chunkShift;
+        int oldChunkMask = chunkMask;
+        int newChunkSize = 1 << newChunkShift;
+        allocateChunks(newChunkShift, Math.max(DEFAULT_DIRECTORY_SIZE, 2 * ((size >>> newChunkShift) + 1)));
+        for (int i = 0; i < size; i++) {
+            int chunkIndex = i >>> newChunkShift;
+            if (chunks[chunkIndex] == null) {
+                chunks[chunkIndex] = new Object[newChunkSize];
+            }
+            int oldChunkIndex = i >>> oldChunkShift;
+            int oldIndex = (oldOffsets[oldChunkIndex] + i) & oldChunkMask;
+            chunks[chunkIndex][i & chunkMask] = oldChunks[oldChunkIndex][oldIndex];
+        }
+    }
+
+    /**
+     * Inserts an element into a chunk that has a free cell, shifting the elements before or after the position,
+     * whichever is fewer.
+     */
+    private void insertIntoChunk(int chunkIndex, int position, int count, Object element) {
+        Object[] chunk = chunks[chunkIndex];
+        if (position < count - position) {
+            offsets[chunkIndex] = (offsets[chunkIndex] - 1) & chunkMask;
+            for (int i = 0; i < position; i++) {
+                chunk[physicalIndex(chunkIndex, i)] = chunk[physicalIndex(chunkIndex, i + 1)];
+            }
+        } else {
+            for (int i = count; i > position; i--) {
+                chunk[physicalIndex(chunkIndex, i)] = chunk[physicalIndex(chunkIndex, i - 1)];
+            }
+        }
+        chunk[physicalIndex(chunkIndex, position)] = element;
+    }
+
+    /**
+     * Removes an element from a chunk that has a given number of elements, shifting the elements before or after
+     * the position, whichever is fewer.
+     */
+    private Object removeFromChunk(int chunkIndex, int position, int count) {
+        Object[] chunk = chunks[chunkIndex];
+        Object removedElement = chunk[physicalIndex(chunkIndex, position)];
+        if (position < count - 1 - position) {
+            for (int i = position; i > 0; i--) {
+                chunk[physicalIndex(chunkIndex, i)] = chunk[physicalIndex(chunkIndex, i - 1)];
+            }
+            chunk[offsets[chunkIndex]] = null;
+            offsets[chunkIndex] = (offsets[chunkIndex] + 1) & chunkMask;
+        } else {
+            for (int i = position; i < count - 1; i++) {
+                chunk[physicalIndex(chunkIndex, i)] = chunk[physicalIndex(chunkIndex, i + 1)];
+            }
+            chunk[physicalIndex(chunkIndex, count - 1)] = null;
+        }
+        return removedElement;
+    }
+
+    private Object popLast(int chunkIndex) {
+        int index = physicalIndex(chunkIndex, chunkMask);
+        Object element = chunks[chunkIndex][index];
+        chunks[chunkIndex][index] = null;
+        return element;
+    }
+
+    private void pushFirst(int chunkIndex, Object element) {
+        offsets[chunkIndex] = (offsets[chunkIndex] - 1) & chunkMask;
+        chunks[chunkIndex][offsets[chunkIndex]] = element;
+    }
+
+    private Object popFirst(int chunkIndex) {
+        int index = offsets[chunkIndex];
+        Object element = chunks[chunkIndex][index];
+        chunks[chunkIndex][index] = null;
+        offsets[chunkIndex] = (index + 1) & chunkMask;
+        return element;
+    }
+
+    /**
+     * Retrieves an element by its position index. In case provided index in out of the list bounds it
+     * throws {@link IndexOutOfBoundsException}
+     *
+     * @param index index of element
+     * @return en element
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkIndex(index);
+        int chunkIndex = index >>> chunkShift;
+        return (T) chunks[chunkIndex][physicalIndex(chunkIndex, index & chunkMask)];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    /**
+     * Returns the first element of the list. Operation is performed in constant time O(1)
+     *
+     * @return the first element of the list
+     * @throws java.util.NoSuchElementException if list is empty
+     */
+    @Override
+    public T getFirst() {
+        checkIfEmpty();
+        return get(0);
+    }
+
+    private void checkIfEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+    }
+
+    /**
+     * Returns the last element of the list. Operation is performed in constant time O(1)
+     *
+     * @return the last element of the list
+     * @throws java.util.NoSuchElementException if list is empty
+     */
+    @Override
+    public T getLast() {
+        checkIfEmpty();
+        return get(size - 1);
+    }
+
+    /**
+     * Changes the value of array at specific position. In case provided index in out of the list bounds it
+     * throws {@link IndexOutOfBoundsException}
+     *
+     * @param index   position of value
+     * @param element a new value
+     */
+    @Override
+    public void set(int index, T element) {
+        checkIndex(index);
+        int chunkIndex = index >>> chunkShift;
+        chunks[chunkIndex][physicalIndex(chunkIndex, index & chunkMask)] = element;
+    }
+
+    /**
+     * Removes an elements by its position index. It shifts elements only inside the chunk of the index, and every
+     * following chunk gives its first element to the end of the previous one. In case provided index in out of
+     * the list bounds it throws {@link IndexOutOfBoundsException}
+     *
+     * @param index element index
+     * @return deleted element
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T remove(int index) {
+        checkIndex(index);
+        int chunkIndex = index >>> chunkShift;
+        int lastIndex = size - 1;
+        int lastChunkIndex = lastIndex >>> chunkShift;
+        T removedElement;
+        if (chunkIndex == lastChunkIndex) {
+            removedElement = (T) removeFromChunk(chunkIndex, index & chunkMask, (lastIndex & chunkMask) + 1);
+        } else {
+            removedElement = (T) removeFromChunk(chunkIndex, index & chunkMask, chunkMask + 1);
+            for (int i = chunkIndex + 1; i <= lastChunkIndex; i++) {
+                Object first = popFirst(i);
+                chunks[i - 1][physicalIndex(i - 1, chunkMask)] = first;
+            }
+        }
+        size--;
+        return removedElement;
+    }
+
+    /**
+     * Checks for existing of a specific element in the list. A null element is supported.
+     *
+     * @param element is element
+     * @return If element exists method returns true, otherwise it returns false
+     */
+    @Override
+    public boolean contains(T element) {
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * Returns the index of the first occurrence of a specific element in the list.
+     *
+     * @param element is element
+     * @return the index of the element, or -1 if there is no such element
+     */
+    public int indexOf(T element) {
+        for (int i = 0; i < size; i++) {
+            int chunkIndex = i >>> chunkShift;
+            Object current = chunks[chunkIndex][physicalIndex(chunkIndex, i & chunkMask)];
+            if (element == null ? current == null : element.equals(current)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if a list is empty
+     *
+     * @return {@code true} if list is empty, {@code false} otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return amount of saved elements
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all list elements and returns to the initial chunk size
+     */
+    @Override
+    public void clear() {
+        size = 0;
+        allocateChunks(INITIAL_CHUNK_SHIFT, DEFAULT_DIRECTORY_SIZE);
+    }
+}
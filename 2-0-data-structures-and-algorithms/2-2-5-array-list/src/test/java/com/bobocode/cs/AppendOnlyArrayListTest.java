@@ -0,0 +1,161 @@
+package com.bobocode.cs;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("AppendOnlyArrayList Test")
+class AppendOnlyArrayListTest {
+
+    private static final int THREADS = 8;
+
+    private final AppendOnlyArrayList<Integer> list = new AppendOnlyArrayList<>();
+
+    @Test
+    @DisplayName("add stores elements in order across chunks")
+    void addAcrossChunks() {
+        var count = 10_000;
+        for (int i = 0; i < count; i++) {
+            list.add(i);
+        }
+
+        assertThat(list.size()).isEqualTo(count);
+        for (int i = 0; i < count; i++) {
+            assertThat(list.get(i)).isEqualTo(i);
+        }
+        assertThat(list.getFirst()).isEqualTo(0);
+        assertThat(list.getLast()).isEqualTo(count - 1);
+        assertThatThrownBy(() -> list.get(count)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("an empty list has no elements")
+    void emptyList() {
+        assertThat(list.isEmpty()).isTrue();
+        assertThat(list.iterator().hasNext()).isFalse();
+        assertThatThrownBy(list::getFirst).isInstanceOf(NoSuchElementException.class);
+        assertThatThrownBy(list::getLast).isInstanceOf(NoSuchElementException.class);
+        assertThatThrownBy(() -> list.get(0)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("contains supports null elements")
+    void containsNull() {
+        list.add(1);
+        list.add(null);
+
+        assertThat(list.contains(null)).isTrue();
+        assertThat(list.contains(1)).isTrue();
+        assertThat(list.contains(2)).isFalse();
+    }
+
+    @Test
+    @DisplayName("changing and removing elements is not supported")
+    void unsupportedOperations() {
+        list.add(1);
+
+        assertThatThrownBy(() -> list.add(0, 0)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> list.set(0, 0)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> list.remove(0)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(list::clear).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(list).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("iterator does not see elements added after it is created")
+    void iteratorSnapshot() {
+        list.add(1);
+        list.add(2);
+        var iterator = list.iterator();
+
+        list.add(3);
+
+        assertThat(iterator.next()).isEqualTo(1);
+        assertThat(iterator.next()).isEqualTo(2);
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("concurrent adds are all stored exactly once")
+    void concurrentAdds() {
+        var addsPerThread = 100_000;
+
+        runConcurrently(thread -> () -> {
+            for (int i = thread * addsPerThread; i < (thread + 1) * addsPerThread; i++) {
+                list.add(i);
+            }
+            return null;
+        });
+
+        assertThat(list.size()).isEqualTo(THREADS * addsPerThread);
+        var seen = new boolean[THREADS * addsPerThread];
+        for (Integer element : list) {
+            assertThat(seen[element]).isFalse();
+            seen[element] = true;
+        }
+    }
+
+    @Test
+    @DisplayName("readers see only completely written elements while writers add")
+    void concurrentAddsAndReads() {
+        var addsPerThread = 50_000;
+        var runningWriters = new AtomicInteger(THREADS / 2);
+
+        runConcurrently(thread -> () -> {
+            if (thread % 2 == 0) {
+                for (int i = 0; i < addsPerThread; i++) {
+                    list.add(thread * addsPerThread + i);
+                }
+                runningWriters.decrementAndGet();
+            } else {
+                while (runningWriters.get() > 0) {
+                    var size = list.size();
+                    for (int i = 0; i < size; i++) {
+                        assertThat(list.get(i)).isNotNull();
+                    }
+                    if (size > 0) {
+                        assertThat(list.getLast()).isNotNull();
+                    }
+                }
+            }
+            return null;
+        });
+
+        assertThat(list.size()).isEqualTo(THREADS / 2 * addsPerThread);
+    }
+
+    @SneakyThrows
+    private void runConcurrently(IntFunction<Callable<Void>> taskFactory) {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            var start = new CountDownLatch(1);
+            java.util.List<Future<Void>> futures = new java.util.ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                var task = taskFactory.apply(thread);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (var future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
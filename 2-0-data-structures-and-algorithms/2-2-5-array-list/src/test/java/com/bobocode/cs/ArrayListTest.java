@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 
 import java.lang.reflect.Field;
+import java.util.Comparator;
 import java.util.NoSuchElementException;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -361,6 +362,120 @@ class ArrayListTest {
                 .isThrownBy(() -> arrayList.get(0));
     }
 
+    @Test
+    @Order(37)
+    void containsNull() {
+        fillTestArray(15, null, 58);
+
+        assertThat(arrayList.contains(null)).isEqualTo(true);
+        assertThat(arrayList.contains(58)).isEqualTo(true);
+    }
+
+    @Test
+    @Order(38)
+    void indexOfLooksOnlyWithinSize() {
+        arrayList = new ArrayList<>(100);
+        arrayList.add(15);
+        arrayList.add(69);
+        arrayList.add(15);
+
+        assertThat(((ArrayList<Integer>) arrayList).indexOf(15)).isEqualTo(0);
+        assertThat(((ArrayList<Integer>) arrayList).indexOf(69)).isEqualTo(1);
+        assertThat(((ArrayList<Integer>) arrayList).indexOf(null)).isEqualTo(-1);
+    }
+
+    @Test
+    @Order(39)
+    void sortSortsOnlyElementsWithinSize() {
+        arrayList = new ArrayList<>(10);
+        arrayList.add(58);
+        arrayList.add(15);
+        arrayList.add(69);
+
+        ((ArrayList<Integer>) arrayList).sort(Comparator.naturalOrder());
+
+        assertThat(getTestArray()).containsExactly(15, 58, 69, null, null, null, null, null, null, null);
+    }
+
+    @Test
+    @Order(40)
+    void parallelSort() {
+        arrayList = new ArrayList<>();
+        for (int i = 100_000; i > 0; i--) {
+            arrayList.add(i);
+        }
+
+        ((ArrayList<Integer>) arrayList).parallelSort(Comparator.naturalOrder());
+
+        for (int i = 0; i < 100_000; i++) {
+            assertThat(arrayList.get(i)).isEqualTo(i + 1);
+        }
+    }
+
+    @Test
+    @Order(41)
+    void removeIfCompactsTheArray() {
+        fillTestArray(15, 69, 58, 78, 100);
+
+        boolean removed = ((ArrayList<Integer>) arrayList).removeIf(element -> element % 2 == 0);
+
+        assertThat(removed).isTrue();
+        assertThat(getTestArray()).containsExactly(15, 69, null, null, null);
+        assertThat(getTestSize()).isEqualTo(2);
+        assertThat(((ArrayList<Integer>) arrayList).removeIf(element -> element > 100)).isFalse();
+    }
+
+    @Test
+    @Order(42)
+    void replaceAllAndForEach() {
+        fillTestArray(15, 69, 58);
+
+        ((ArrayList<Integer>) arrayList).replaceAll(element -> element * 2);
+        var elements = new java.util.ArrayList<Integer>();
+        ((ArrayList<Integer>) arrayList).forEach(elements::add);
+
+        assertThat(elements.toArray()).containsExactly(30, 138, 116);
+    }
+
+    @Test
+    @Order(43)
+    void addAllGrowsTheArrayOnce() {
+        arrayList = new ArrayList<>(2);
+        arrayList.add(15);
+
+        ((ArrayList<Integer>) arrayList).addAll(java.util.List.of(69, 58, 78, 100));
+
+        assertThat(getTestArray()).containsExactly(15, 69, 58, 78, 100);
+        assertThat(getTestSize()).isEqualTo(5);
+    }
+
+    @Test
+    @Order(44)
+    void ofWithoutElements() {
+        arrayList = ArrayList.of();
+
+        assertThat(arrayList.isEmpty()).isEqualTo(true);
+        arrayList.add(15);
+        assertThat(arrayList.get(0)).isEqualTo(15);
+    }
+
+    @Test
+    @Order(45)
+    void removeIfKeepsTheListWhenPredicateThrows() {
+        fillTestArray(0, 1, 2, 3, 4, 5);
+
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> ((ArrayList<Integer>) arrayList).removeIf(element -> {
+                    if (element == 4) {
+                        throw new IllegalStateException();
+                    }
+                    return element % 2 == 0;
+                }));
+
+        assertThat(getTestSize()).isEqualTo(6);
+        assertThat(getTestArray()).startsWith(0, 1, 2, 3, 4, 5);
+    }
+
     @SneakyThrows
     private void setTestSize(int size) {
         Field sizeField = arrayList.getClass().getDeclaredField("size");
@@ -0,0 +1,133 @@
+package com.bobocode.cs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ChunkedArrayList Test")
+class ChunkedArrayListTest {
+
+    private final ChunkedArrayList<Integer> list = new ChunkedArrayList<>(2);
+
+    @Test
+    @DisplayName("add allocates new chunks and get finds elements in any of them")
+    void addAndGet() {
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+
+        assertThat(list.size()).isEqualTo(100);
+        for (int i = 0; i < 100; i++) {
+            assertThat(list.get(i)).isEqualTo(i);
+        }
+        assertThat(list.getFirst()).isZero();
+        assertThat(list.getLast()).isEqualTo(99);
+    }
+
+    @Test
+    @DisplayName("add by index moves elements across chunk boundaries")
+    void addByIndex() {
+        for (int i = 0; i < 8; i++) {
+            list.add(i);
+        }
+
+        list.add(0, -1);
+        list.add(4, 100);
+        list.add(10, 200);
+
+        assertThat(elements(list)).containsExactly(-1, 0, 1, 2, 100, 3, 4, 5, 6, 7, 200);
+        assertThatThrownBy(() -> list.add(12, 0)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("remove moves elements across chunk boundaries")
+    void remove() {
+        for (int i = 0; i < 9; i++) {
+            list.add(i);
+        }
+
+        assertThat(list.remove(0)).isZero();
+        assertThat(list.remove(3)).isEqualTo(4);
+        assertThat(list.remove(6)).isEqualTo(8);
+
+        assertThat(elements(list)).containsExactly(1, 2, 3, 5, 6, 7);
+        assertThatThrownBy(() -> list.remove(6)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("set replaces an element and checks the index")
+    void set() {
+        list.add(1);
+
+        list.set(0, 2);
+
+        assertThat(list.get(0)).isEqualTo(2);
+        assertThatThrownBy(() -> list.set(1, 3)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("contains and indexOf look only at the elements within the size and support null")
+    void containsAndIndexOf() {
+        list.add(5);
+        list.add(null);
+        list.add(7);
+        list.add(8);
+        list.add(9);
+
+        assertThat(list.indexOf(9)).isEqualTo(4);
+        assertThat(list.indexOf(null)).isEqualTo(1);
+        assertThat(list.contains(7)).isTrue();
+        list.remove(1);
+        assertThat(list.contains(null)).isFalse();
+        assertThat(list.contains(10)).isFalse();
+    }
+
+    @Test
+    @DisplayName("empty list and clear")
+    void emptyAndClear() {
+        assertThat(list.isEmpty()).isTrue();
+        assertThatThrownBy(list::getFirst).isInstanceOf(NoSuchElementException.class);
+        assertThatThrownBy(list::getLast).isInstanceOf(NoSuchElementException.class);
+
+        list.add(1);
+        list.clear();
+
+        assertThat(list.isEmpty()).isTrue();
+        assertThatThrownBy(() -> list.get(0)).isInstanceOf(IndexOutOfBoundsException.class);
+        list.add(2);
+        assertThat(list.get(0)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("random adds and removes behave the same way as java.util.ArrayList")
+    void randomOperations() {
+        var expected = new java.util.ArrayList<Integer>();
+        var random = ThreadLocalRandom.current();
+
+        for (int i = 0; i < 10_000; i++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                var index = random.nextInt(expected.size() + 1);
+                list.add(index, i);
+                expected.add(index, i);
+            } else {
+                var index = random.nextInt(expected.size());
+                assertThat(list.remove(index)).isEqualTo(expected.remove(index));
+            }
+        }
+
+        assertThat(elements(list)).containsExactlyElementsOf(expected);
+    }
+
+    private static java.util.List<Integer> elements(List<Integer> list) {
+        var elements = new java.util.ArrayList<Integer>();
+        for (int i = 0; i < list.size(); i++) {
+            elements.add(list.get(i));
+        }
+        return elements;
+    }
+}
@@ -0,0 +1,166 @@
+package com.bobocode.cs;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CopyOnWriteArrayList Test")
+class CopyOnWriteArrayListTest {
+
+    private static final int THREADS = 8;
+
+    private final CopyOnWriteArrayList<Integer> list = new CopyOnWriteArrayList<>();
+
+    @Test
+    @DisplayName("add, set and remove work the same way as in ArrayList")
+    void singleThreadedOperations() {
+        list.add(1);
+        list.add(3);
+        list.add(1, 2);
+        list.add(0, 0);
+        list.set(3, 30);
+
+        assertThat(list.size()).isEqualTo(4);
+        assertThat(list.getFirst()).isEqualTo(0);
+        assertThat(list.getLast()).isEqualTo(30);
+        assertThat(list.remove(1)).isEqualTo(1);
+        assertThat(list.get(1)).isEqualTo(2);
+        assertThat(list.contains(30)).isTrue();
+        assertThat(list.contains(null)).isFalse();
+        assertThat(list.size()).isEqualTo(3);
+
+        list.clear();
+
+        assertThat(list.isEmpty()).isTrue();
+        assertThatThrownBy(list::getFirst).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    @DisplayName("a failed change does not change the list")
+    void outOfBounds() {
+        var list = CopyOnWriteArrayList.of(1, 2, 3);
+
+        assertThatThrownBy(() -> list.add(4, 4)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> list.set(3, 4)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> list.remove(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> list.get(3)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThat(list.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("of copies provided elements")
+    void ofCopiesElements() {
+        Integer[] elements = {1, 2, 3};
+        var list = CopyOnWriteArrayList.of(elements);
+
+        elements[0] = 100;
+
+        assertThat(list.get(0)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("iterator works with a snapshot and does not see later changes")
+    void snapshotIterator() {
+        var list = CopyOnWriteArrayList.of(1, 2, 3);
+        var iterator = list.iterator();
+
+        list.add(4);
+        list.remove(0);
+        list.set(0, 20);
+
+        assertThat(iterator.next()).isEqualTo(1);
+        assertThat(iterator.next()).isEqualTo(2);
+        assertThat(iterator.next()).isEqualTo(3);
+        assertThat(iterator.hasNext()).isFalse();
+        assertThat(list).containsExactly(20, 3, 4);
+    }
+
+    @Test
+    @DisplayName("concurrent adds are all stored")
+    void concurrentAdds() {
+        var addsPerThread = 2_000;
+
+        runConcurrently(thread -> () -> {
+            for (int i = thread * addsPerThread; i < (thread + 1) * addsPerThread; i++) {
+                list.add(i);
+            }
+            return null;
+        });
+
+        assertThat(list.size()).isEqualTo(THREADS * addsPerThread);
+        var seen = new boolean[THREADS * addsPerThread];
+        for (Integer element : list) {
+            assertThat(seen[element]).isFalse();
+            seen[element] = true;
+        }
+    }
+
+    @Test
+    @DisplayName("concurrent adds and removes keep the list consistent for readers")
+    void concurrentAddsAndRemoves() {
+        var operations = 5_000;
+        var writersDone = new AtomicBoolean();
+        var writers = new CountDownLatch(THREADS / 2);
+
+        runConcurrently(thread -> () -> {
+            if (thread % 2 == 0) {
+                for (int i = 0; i < operations; i++) {
+                    list.add(thread);
+                    list.add(thread);
+                    list.remove(0);
+                }
+                writers.countDown();
+                if (writers.getCount() == 0) {
+                    writersDone.set(true);
+                }
+            } else {
+                while (!writersDone.get()) {
+                    var count = 0;
+                    for (Integer element : list) {
+                        assertThat(element).isNotNull();
+                        count++;
+                    }
+                    assertThat(count).isLessThanOrEqualTo(THREADS / 2 * operations);
+                }
+            }
+            return null;
+        });
+
+        assertThat(list.size()).isEqualTo(THREADS / 2 * operations);
+    }
+
+    @SneakyThrows
+    private void runConcurrently(IntFunction<Callable<Void>> taskFactory) {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            var start = new CountDownLatch(1);
+            java.util.List<Future<Void>> futures = new java.util.ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                var task = taskFactory.apply(thread);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (var future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.bobocode.cs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("DoubleArrayList Test")
+class DoubleArrayListTest {
+
+    private final DoubleArrayList list = new DoubleArrayList();
+
+    @Test
+    @DisplayName("add appends elements and grows the inner array")
+    void add() {
+        for (int i = 0; i < 100; i++) {
+            list.add(i + 0.5);
+        }
+
+        assertThat(list.size()).isEqualTo(100);
+        assertThat(list.getFirst()).isEqualTo(0.5);
+        assertThat(list.getLast()).isEqualTo(99.5);
+        assertThat(list.get(42)).isEqualTo(42.5);
+    }
+
+    @Test
+    @DisplayName("add, add by index, set and remove keep the order of elements")
+    void addSetRemove() {
+        list.add(1.5);
+        list.add(3.5);
+        list.add(1, 2.5);
+        list.set(0, 0.5);
+
+        assertThat(list.remove(2)).isEqualTo(3.5);
+        assertThat(list.toArray()).containsExactly(0.5, 2.5);
+        assertThatThrownBy(() -> list.get(2)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("add by index, set and remove check the index")
+    void indexBounds() {
+        var list = DoubleArrayList.of(1.5, 2.5);
+
+        assertThatThrownBy(() -> list.add(3, 0.5)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> list.add(-1, 0.5)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> list.set(2, 0.5)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> list.set(-1, 0.5)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> list.remove(2)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> list.remove(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThat(list.toArray()).containsExactly(1.5, 2.5);
+    }
+
+    @Test
+    @DisplayName("indexOf compares elements like Double.equals does")
+    void indexOfComparesLikeEquals() {
+        var list = DoubleArrayList.of(0.0, Double.NaN);
+
+        assertThat(list.indexOf(Double.NaN)).isEqualTo(1);
+        assertThat(list.contains(-0.0)).isFalse();
+        assertThat(list.contains(0.0)).isTrue();
+    }
+
+    @Test
+    @DisplayName("contains and indexOf look only at the elements within the size")
+    void containsAndIndexOf() {
+        var list = new DoubleArrayList(10);
+        list.add(5.5);
+        list.add(7.5);
+
+        assertThat(list.contains(7.5)).isTrue();
+        assertThat(list.indexOf(7.5)).isEqualTo(1);
+        assertThat(list.contains(0.0)).isFalse();
+        assertThat(list.indexOf(0.0)).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("addAll and stream work with the elements within the size")
+    void addAllAndStream() {
+        var list = new DoubleArrayList(10);
+
+        list.addAll(new double[]{0.5, 1.5});
+
+        assertThat(list.stream().sum()).isEqualTo(2.0);
+        assertThat(list.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("toArray with a large enough destination fills it without allocation")
+    void toArrayWithDestination() {
+        var list = DoubleArrayList.of(1.5, 2.5, 3.5);
+        var destination = new double[4];
+
+        assertThat(list.toArray(destination)).isSameAs(destination).containsExactly(1.5, 2.5, 3.5, 0.0);
+        assertThat(list.toArray(new double[2])).containsExactly(1.5, 2.5, 3.5);
+    }
+
+    @Test
+    @DisplayName("wrap uses the given array and of copies it")
+    void wrapAndOf() {
+        var elements = new double[]{1.5, 2.5, 3.5};
+
+        var wrapped = DoubleArrayList.wrap(elements);
+        var copied = DoubleArrayList.of(elements);
+        elements[0] = 10.5;
+
+        assertThat(wrapped.get(0)).isEqualTo(10.5);
+        assertThat(copied.get(0)).isEqualTo(1.5);
+        wrapped.add(4.5);
+        assertThat(wrapped.toArray()).containsExactly(10.5, 2.5, 3.5, 4.5);
+    }
+
+    @Test
+    @DisplayName("empty list and clear")
+    void emptyAndClear() {
+        assertThat(list.isEmpty()).isTrue();
+        assertThatThrownBy(list::getFirst).isInstanceOf(NoSuchElementException.class);
+        assertThatThrownBy(list::getLast).isInstanceOf(NoSuchElementException.class);
+
+        list.add(1.5);
+        list.clear();
+
+        assertThat(list.isEmpty()).isTrue();
+        assertThat(list.toArray()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("a list with zero capacity grows on add and a negative capacity is rejected")
+    void capacity() {
+        var list = new DoubleArrayList(0);
+        list.add(1.5);
+
+        assertThat(list.get(0)).isEqualTo(1.5);
+        assertThatThrownBy(() -> new DoubleArrayList(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,137 @@
+package com.bobocode.cs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("IntArrayList Test")
+class IntArrayListTest {
+
+    private final IntArrayList list = new IntArrayList();
+
+    @Test
+    @DisplayName("add appends elements and grows the inner array")
+    void add() {
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+
+        assertThat(list.size()).isEqualTo(100);
+        assertThat(list.getFirst()).isZero();
+        assertThat(list.getLast()).isEqualTo(99);
+        assertThat(list.get(42)).isEqualTo(42);
+    }
+
+    @Test
+    @DisplayName("add by index shifts the following elements")
+    void addByIndex() {
+        list.addAll(new int[]{1, 3});
+
+        list.add(1, 2);
+        list.add(3, 4);
+        list.add(0, 0);
+
+        assertThat(list.toArray()).containsExactly(0, 1, 2, 3, 4);
+        assertThatThrownBy(() -> list.add(6, 5)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("set, get and remove check the index")
+    void setGetRemove() {
+        var list = IntArrayList.of(10, 15, 20);
+
+        list.set(1, 16);
+
+        assertThat(list.remove(0)).isEqualTo(10);
+        assertThat(list.toArray()).containsExactly(16, 20);
+        assertThatThrownBy(() -> list.get(2)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> list.set(-1, 0)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> list.remove(2)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("contains and indexOf look only at the elements within the size")
+    void containsAndIndexOf() {
+        var list = new IntArrayList(10);
+        list.add(5);
+        list.add(7);
+
+        assertThat(list.contains(7)).isTrue();
+        assertThat(list.indexOf(7)).isEqualTo(1);
+        assertThat(list.contains(0)).isFalse();
+        assertThat(list.indexOf(0)).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("addAll grows the array once and appends all elements")
+    void addAll() {
+        list.add(1);
+
+        list.addAll(new int[]{2, 3, 4, 5, 6, 7, 8});
+
+        assertThat(list.toArray()).containsExactly(1, 2, 3, 4, 5, 6, 7, 8);
+    }
+
+    @Test
+    @DisplayName("toArray with a large enough destination fills it without allocation")
+    void toArrayWithDestination() {
+        var list = IntArrayList.of(1, 2, 3);
+        var destination = new int[4];
+
+        assertThat(list.toArray(destination)).isSameAs(destination).containsExactly(1, 2, 3, 0);
+        assertThat(list.toArray(new int[2])).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("wrap uses the given array and of copies it")
+    void wrapAndOf() {
+        var elements = new int[]{1, 2, 3};
+
+        var wrapped = IntArrayList.wrap(elements);
+        var copied = IntArrayList.of(elements);
+        elements[0] = 10;
+
+        assertThat(wrapped.get(0)).isEqualTo(10);
+        assertThat(copied.get(0)).isEqualTo(1);
+        wrapped.add(4);
+        assertThat(wrapped.toArray()).containsExactly(10, 2, 3, 4);
+    }
+
+    @Test
+    @DisplayName("stream contains only the list elements")
+    void stream() {
+        var list = new IntArrayList(10);
+        list.addAll(new int[]{1, 2, 3});
+
+        assertThat(list.stream().sum()).isEqualTo(6);
+        assertThat(list.stream().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("empty list and clear")
+    void emptyAndClear() {
+        assertThat(list.isEmpty()).isTrue();
+        assertThatThrownBy(list::getFirst).isInstanceOf(NoSuchElementException.class);
+        assertThatThrownBy(list::getLast).isInstanceOf(NoSuchElementException.class);
+
+        list.add(1);
+        list.clear();
+
+        assertThat(list.isEmpty()).isTrue();
+        assertThat(list.toArray()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("a list with zero capacity grows on add and a negative capacity is rejected")
+    void capacity() {
+        var list = new IntArrayList(0);
+        list.add(1);
+
+        assertThat(list.get(0)).isEqualTo(1);
+        assertThatThrownBy(() -> new IntArrayList(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
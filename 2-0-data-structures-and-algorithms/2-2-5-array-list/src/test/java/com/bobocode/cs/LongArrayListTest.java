@@ -0,0 +1,130 @@
+package com.bobocode.cs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LongArrayList Test")
+class LongArrayListTest {
+
+    private final LongArrayList list = new LongArrayList();
+
+    @Test
+    @DisplayName("add appends elements and grows the inner array")
+    void add() {
+        for (long i = 0; i < 100; i++) {
+            list.add(i << 40);
+        }
+
+        assertThat(list.size()).isEqualTo(100);
+        assertThat(list.getFirst()).isZero();
+        assertThat(list.getLast()).isEqualTo(99L << 40);
+        assertThat(list.get(42)).isEqualTo(42L << 40);
+    }
+
+    @Test
+    @DisplayName("add, add by index, set and remove keep the order of elements")
+    void addSetRemove() {
+        list.add(1L << 40);
+        list.add(3L << 40);
+        list.add(1, 2L << 40);
+        list.set(0, 0);
+
+        assertThat(list.remove(2)).isEqualTo(3L << 40);
+        assertThat(list.toArray()).containsExactly(0, 2L << 40);
+        assertThatThrownBy(() -> list.get(2)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("add by index, set and remove check the index")
+    void indexBounds() {
+        var list = LongArrayList.of(1, 2);
+
+        assertThatThrownBy(() -> list.add(3, 0)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> list.add(-1, 0)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> list.set(2, 0)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> list.set(-1, 0)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> list.remove(2)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> list.remove(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThat(list.toArray()).containsExactly(1, 2);
+    }
+
+    @Test
+    @DisplayName("addAll, contains and stream work with the elements within the size")
+    void addAllContainsStream() {
+        var list = new LongArrayList(0);
+
+        list.addAll(new long[]{5, 6, 7});
+
+        assertThat(list.contains(7)).isTrue();
+        assertThat(list.indexOf(8)).isEqualTo(-1);
+        assertThat(list.stream().sum()).isEqualTo(18);
+        assertThat(LongArrayList.wrap(new long[]{1, 2}).toArray(new long[3])).containsExactly(1, 2, 0);
+    }
+
+    @Test
+    @DisplayName("contains and indexOf look only at the elements within the size")
+    void containsAndIndexOf() {
+        var list = new LongArrayList(10);
+        list.add(5);
+        list.add(7);
+
+        assertThat(list.contains(7)).isTrue();
+        assertThat(list.indexOf(7)).isEqualTo(1);
+        assertThat(list.contains(0)).isFalse();
+        assertThat(list.indexOf(0)).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("toArray with a large enough destination fills it without allocation")
+    void toArrayWithDestination() {
+        var list = LongArrayList.of(1, 2, 3);
+        var destination = new long[4];
+
+        assertThat(list.toArray(destination)).isSameAs(destination).containsExactly(1, 2, 3, 0);
+        assertThat(list.toArray(new long[2])).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("wrap uses the given array and of copies it")
+    void wrapAndOf() {
+        var elements = new long[]{1, 2, 3};
+
+        var wrapped = LongArrayList.wrap(elements);
+        var copied = LongArrayList.of(elements);
+        elements[0] = 10;
+
+        assertThat(wrapped.get(0)).isEqualTo(10);
+        assertThat(copied.get(0)).isEqualTo(1);
+        wrapped.add(4);
+        assertThat(wrapped.toArray()).containsExactly(10, 2, 3, 4);
+    }
+
+    @Test
+    @DisplayName("empty list and clear")
+    void emptyAndClear() {
+        assertThat(list.isEmpty()).isTrue();
+        assertThatThrownBy(list::getFirst).isInstanceOf(NoSuchElementException.class);
+        assertThatThrownBy(list::getLast).isInstanceOf(NoSuchElementException.class);
+
+        list.add(1);
+        list.clear();
+
+        assertThat(list.isEmpty()).isTrue();
+        assertThat(list.toArray()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("a list with zero capacity grows on add and a negative capacity is rejected")
+    void capacity() {
+        var list = new LongArrayList(0);
+        list.add(1);
+
+        assertThat(list.get(0)).isEqualTo(1);
+        assertThatThrownBy(() -> new LongArrayList(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,202 @@
+package com.bobocode.cs;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PersistentVector Test")
+class PersistentVectorTest {
+
+    @Test
+    @DisplayName("plus adds elements through several tree levels")
+    void plusAndGet() {
+        var count = 40_000;
+        var vector = range(0, count);
+
+        assertThat(vector.size()).isEqualTo(count);
+        for (int i = 0; i < count; i++) {
+            assertThat(vector.get(i)).isEqualTo(i);
+        }
+        assertThat(vector.getFirst()).isZero();
+        assertThat(vector.getLast()).isEqualTo(count - 1);
+        assertThat(vector).containsExactlyElementsOf(model(vector));
+        assertThatThrownBy(() -> vector.get(count)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("plus and with do not change the original vector")
+    void persistence() {
+        var original = PersistentVector.of(1, 2, 3);
+
+        var added = original.plus(4);
+        var changed = original.with(0, 10);
+
+        assertThat(original).containsExactly(1, 2, 3);
+        assertThat(added).containsExactly(1, 2, 3, 4);
+        assertThat(changed).containsExactly(10, 2, 3);
+    }
+
+    @Test
+    @DisplayName("with changes elements in the tree and in the tail")
+    void with() {
+        var vector = range(0, 2000);
+        var changed = vector;
+        for (int i = 0; i < 2000; i += 7) {
+            changed = changed.with(i, -i);
+        }
+
+        for (int i = 0; i < 2000; i++) {
+            assertThat(vector.get(i)).isEqualTo(i);
+            assertThat(changed.get(i)).isEqualTo(i % 7 == 0 ? -i : i);
+        }
+        assertThatThrownBy(() -> vector.with(2000, 0)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("an empty vector has no elements")
+    void emptyVector() {
+        PersistentVector<Integer> vector = PersistentVector.empty();
+
+        assertThat(vector.isEmpty()).isTrue();
+        assertThat(vector.iterator().hasNext()).isFalse();
+        assertThatThrownBy(vector::getFirst).isInstanceOf(NoSuchElementException.class);
+        assertThat(vector.slice(0, 0).isEmpty()).isTrue();
+        assertThat(vector.concat(vector).isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("changing methods of List are not supported")
+    void unsupportedOperations() {
+        var vector = PersistentVector.of(1);
+
+        assertThatThrownBy(() -> vector.add(2)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> vector.add(0, 2)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> vector.set(0, 2)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> vector.remove(0)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(vector::clear).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(vector.contains(1)).isTrue();
+        assertThat(vector.contains(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("slice returns elements of a range")
+    void slice() {
+        var vector = range(0, 5000);
+
+        assertThat(vector.slice(0, 5000)).containsExactlyElementsOf(model(range(0, 5000)));
+        assertThat(vector.slice(33, 4097)).containsExactlyElementsOf(model(range(33, 4097)));
+        assertThat(vector.slice(4990, 5000)).containsExactlyElementsOf(model(range(4990, 5000)));
+        assertThat(vector.slice(1024, 1025)).containsExactly(1024);
+        assertThatThrownBy(() -> vector.slice(10, 5)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> vector.slice(0, 5001)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("concat joins vectors of different heights")
+    void concat() {
+        var small = range(0, 10);
+        var medium = range(10, 1500);
+        var large = range(1500, 50_000);
+
+        var joined = small.concat(medium).concat(large);
+        var reversed = large.concat(medium.concat(small));
+
+        assertThat(joined).containsExactlyElementsOf(model(range(0, 50_000)));
+        assertThat(reversed.size()).isEqualTo(50_000);
+        assertThat(reversed.get(48_500)).isEqualTo(10);
+        assertThat(reversed.getLast()).isEqualTo(9);
+        assertThat(joined.plus(-1).getLast()).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("concat of many small vectors keeps the tree low")
+    void concatManySmallVectors() {
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        var expected = new java.util.ArrayList<Integer>();
+        for (int i = 0; i < 5000; i++) {
+            vector = vector.concat(range(i * 37, i * 37 + 37));
+            for (int j = i * 37; j < i * 37 + 37; j++) {
+                expected.add(j);
+            }
+        }
+
+        assertThat(vector).containsExactlyElementsOf(expected);
+        assertThat(shiftOf(vector)).isLessThanOrEqualTo(4 * 5);
+    }
+
+    @Test
+    @DisplayName("random plus, with, slice and concat work the same way as on a java.util.ArrayList")
+    void randomOperations() {
+        var random = new Random(42);
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        var expected = new java.util.ArrayList<Integer>();
+        for (int step = 0; step < 3000; step++) {
+            var operation = random.nextInt(4);
+            if (operation == 0 || expected.isEmpty()) {
+                var count = random.nextInt(100);
+                for (int i = 0; i < count; i++) {
+                    vector = vector.plus(step);
+                    expected.add(step);
+                }
+            } else if (operation == 1) {
+                var index = random.nextInt(expected.size());
+                vector = vector.with(index, -step);
+                expected.set(index, -step);
+            } else if (operation == 2) {
+                var from = random.nextInt(expected.size() + 1);
+                var to = from + random.nextInt(expected.size() - from + 1);
+                var other = vector.slice(from, to);
+                vector = vector.concat(other);
+                expected.addAll(new java.util.ArrayList<>(expected.subList(from, to)));
+            } else {
+                var from = random.nextInt(expected.size() + 1);
+                var to = from + random.nextInt(expected.size() - from + 1);
+                vector = vector.slice(from, to).concat(vector.slice(0, from));
+                var rotated = new java.util.ArrayList<>(expected.subList(from, to));
+                rotated.addAll(expected.subList(0, from));
+                expected = rotated;
+            }
+            if (expected.size() > 20_000) {
+                vector = vector.slice(0, 10_000);
+                expected = new java.util.ArrayList<>(expected.subList(0, 10_000));
+            }
+            assertThat(vector.size()).isEqualTo(expected.size());
+            if (step % 100 == 0) {
+                assertThat(vector).containsExactlyElementsOf(expected);
+                for (int i = 0; i < expected.size(); i++) {
+                    assertThat(vector.get(i)).isEqualTo(expected.get(i));
+                }
+            }
+        }
+        assertThat(vector).containsExactlyElementsOf(expected);
+    }
+
+    private PersistentVector<Integer> range(int from, int to) {
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        for (int i = from; i < to; i++) {
+            vector = vector.plus(i);
+        }
+        return vector;
+    }
+
+    private java.util.List<Integer> model(PersistentVector<Integer> vector) {
+        var elements = new java.util.ArrayList<Integer>();
+        for (int i = 0; i < vector.size(); i++) {
+            elements.add(vector.get(i));
+        }
+        return elements;
+    }
+
+    @SneakyThrows
+    private int shiftOf(PersistentVector<?> vector) {
+        var field = PersistentVector.class.getDeclaredField("shift");
+        field.setAccessible(true);
+        return field.getInt(vector);
+    }
+}
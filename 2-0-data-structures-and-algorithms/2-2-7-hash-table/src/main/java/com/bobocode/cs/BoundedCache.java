@@ -0,0 +1,481 @@
+package com.bobocode.cs;
+
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongBiFunction;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link BoundedCache} is a cache of a limited weight built on top of {@link HashTable}. When a new entry does not fit,
+ * the least recently used entries are evicted.
+ * <p>
+ * The table maps a key to an entry object that also holds the links of a doubly linked list. The list keeps entries
+ * in the order of access, from the least recently used one to the most recently used one. So finding a victim and
+ * moving an accessed entry to the end of the list are both O(1), and no scan is needed.
+ * <p>
+ * Optionally, a new entry can be checked by a TinyLFU admission filter. It keeps approximate access frequencies of
+ * keys (including the ones that are not cached) in a count-min sketch of 4-bit counters. A new entry is admitted only
+ * if its key is accessed more often than the key of the entry it would evict. So a burst of one-time keys cannot
+ * flush the entries that are used all the time. The counters are halved periodically, so the old history fades away.
+ * <p>
+ * Entries can also expire after a fixed time since they were written. Expired entries are removed lazily, when they are
+ * accessed or when they reach the head of the list.
+ * <p>
+ * Like {@link HashTable}, this class is not thread-safe. A cache is created with {@link #builder()}.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class BoundedCache<K, V> {
+
+    private static final class CacheEntry<K, V> {
+        final K key;
+        V value;
+        long weight;
+        long writeTime;
+        CacheEntry<K, V> previous;
+        CacheEntry<K, V> next;
+
+        CacheEntry(final K key) {
+            this.key = key;
+        }
+    }
+
+    private final HashTable<K, CacheEntry<K, V>> table = new HashTable<>();
+    private final CacheEntry<K, V> head = new CacheEntry<>(null);
+    private final long maximumWeight;
+    private final ToLongBiFunction<? super K, ? super V> weigher;
+    private final long expireAfterWriteNanos;
+    private final LongSupplier ticker;
+    private final FrequencySketch sketch;
+    private long weightedSize;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    private BoundedCache(final Builder<K, V> builder) {
+        this.maximumWeight = builder.maximumWeight;
+        this.weigher = builder.weigher;
+        this.expireAfterWriteNanos = builder.expireAfterWriteNanos;
+        this.ticker = builder.ticker;
+        this.sketch = builder.admissionFilter ? new FrequencySketch(builder.expectedEntries()) : null;
+        head.previous = head;
+        head.next = head;
+    }
+
+    /**
+     * Creates a builder of a new cache. The maximum weight (or size) must be set.
+     *
+     * @param <K> key type
+     * @param <V> value type
+     * @return a new builder
+     */
+    public static <K, V> Builder<K, V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Returns the value that is cached by the given key, and marks it as the most recently used one.
+     *
+     * @param key
+     * @return the cached value, or null if there is no such key or it has expired
+     */
+    public V get(final K key) {
+        requireNonNull(key);
+        recordAccess(key);
+        final CacheEntry<K, V> entry = table.get(key);
+        if(entry == null) {
+            missCount++;
+            return null;
+        }
+        if(isExpired(entry, ticker.getAsLong())) {
+            removeEntry(entry);
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        moveToEnd(entry);
+        return entry.value;
+    }
+
+    /**
+     * Returns the value that is cached by the given key. If there is no such value, it is loaded using a given
+     * function and put into the cache.
+     *
+     * @param key
+     * @param loader a function that loads a value by the key
+     * @return the cached or loaded value, or null if the loader returned null
+     */
+    public V get(final K key, final Function<? super K, ? extends V> loader) {
+        requireNonNull(loader);
+        final V cachedValue = get(key);
+        if(cachedValue != null) {
+            return cachedValue;
+        }
+        final V loadedValue = loader.apply(key);
+        if(loadedValue != null) {
+            putEntry(key, loadedValue);
+        }
+        return loadedValue;
+    }
+
+    /**
+     * Puts a given value into the cache. If the cache becomes too heavy, the least recently used entries are evicted.
+     * If the admission filter is enabled, a new entry can be rejected instead, when it is used more rarely than
+     * the entry it would evict. An entry that is heavier than the maximum weight is never cached.
+     *
+     * @param key
+     * @param value
+     * @return true if the value was cached, or false if it was rejected
+     */
+    public boolean put(final K key, final V value) {
+        requireNonNull(key);
+        requireNonNull(value);
+        recordAccess(key);
+        return putEntry(key, value);
+    }
+
+    private boolean putEntry(final K key, final V value) {
+        final long weight = weigher.applyAsLong(key, value);
+        if(weight < 0) {
+            throw new IllegalArgumentException("Negative weight: " + weight);
+        }
+        final CacheEntry<K, V> existingEntry = table.get(key);
+        if(existingEntry != null) {
+            removeEntry(existingEntry);
+        }
+        if(weight > maximumWeight) {
+            return false;
+        }
+        if(weightedSize + weight > maximumWeight) {
+            evictExpired(ticker.getAsLong());
+        }
+        if(weightedSize + weight > maximumWeight && existingEntry == null && !admit(key, head.next.key)) {
+            return false;
+        }
+        while(weightedSize + weight > maximumWeight) {
+            removeEntry(head.next);
+            evictionCount++;
+        }
+        final CacheEntry<K, V> entry = new CacheEntry<>(key);
+        entry.value = value;
+        entry.weight = weight;
+        entry.writeTime = ticker.getAsLong();
+        table.put(key, entry);
+        linkLast(entry);
+        weightedSize += weight;
+        return true;
+    }
+
+    private boolean admit(final K candidateKey, final K victimKey) {
+        return sketch == null || sketch.frequency(candidateKey) > sketch.frequency(victimKey);
+    }
+
+    private void recordAccess(final K key) {
+        if(sketch != null) {
+            sketch.increment(key);
+        }
+    }
+
+    /**
+     * Removes a value that is cached by the given key.
+     *
+     * @param key
+     * @return the removed value or null if there was no such key
+     */
+    public V remove(final K key) {
+        final CacheEntry<K, V> entry = table.get(key);
+        if(entry == null) {
+            return null;
+        }
+        removeEntry(entry);
+        return entry.value;
+    }
+
+    /**
+     * Removes all the entries.
+     */
+    public void clear() {
+        while(head.next != head) {
+            removeEntry(head.next);
+        }
+    }
+
+    private boolean isExpired(final CacheEntry<K, V> entry, final long now) {
+        return expireAfterWriteNanos > 0 && now - entry.writeTime >= expireAfterWriteNanos;
+    }
+
+    /**
+     * Removes expired entries from the head of the list. Since the list is ordered by access, it can miss an expired
+     * entry that was read recently. Such entry is removed when it is read again, or when it is evicted.
+     */
+    private void evictExpired(final long now) {
+        while(head.next != head && isExpired(head.next, now)) {
+            removeEntry(head.next);
+        }
+    }
+
+    private void removeEntry(final CacheEntry<K, V> entry) {
+        table.remove(entry.key);
+        unlink(entry);
+        weightedSize -= entry.weight;
+    }
+
+    private void linkLast(final CacheEntry<K, V> entry) {
+        final CacheEntry<K, V> last = head.previous;
+        entry.previous = last;
+        entry.next = head;
+        last.next = entry;
+        head.previous = entry;
+    }
+
+    private void unlink(final CacheEntry<K, V> entry) {
+        entry.previous.next = entry.next;
+        entry.next.previous = entry.previous;
+        entry.previous = null;
+        entry.next = null;
+    }
+
+    private void moveToEnd(final CacheEntry<K, V> entry) {
+        if(head.previous != entry) {
+            unlink(entry);
+            linkLast(entry);
+        }
+    }
+
+    /**
+     * Returns a number of cached entries, including the expired ones that are not removed yet.
+     *
+     * @return size
+     */
+    public int size() {
+        return table.size();
+    }
+
+    /**
+     * Returns the total weight of cached entries.
+     *
+     * @return weighted size
+     */
+    public long weightedSize() {
+        return weightedSize;
+    }
+
+    /**
+     * Returns a snapshot of the cache counters.
+     *
+     * @return cache stats
+     */
+    public CacheStats stats() {
+        return new CacheStats(hitCount, missCount, evictionCount);
+    }
+
+    /**
+     * A snapshot of the cache counters. Expired entries are not counted as evicted.
+     *
+     * @param hitCount      the number of lookups that found a cached value
+     * @param missCount     the number of lookups that did not find a value
+     * @param evictionCount the number of entries that were evicted because the cache was full
+     */
+    public record CacheStats(long hitCount, long missCount, long evictionCount) {
+        public double hitRate() {
+            final long requestCount = hitCount + missCount;
+            return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+        }
+    }
+
+    /**
+     * A builder of {@link BoundedCache}.
+     *
+     * @param <K> key type
+     * @param <V> value type
+     */
+    public static final class Builder<K, V> {
+        private static final long DEFAULT_EXPECTED_ENTRIES = 1024;
+
+        private long maximumWeight = -1;
+        private long maximumSize = -1;
+        private long expectedEntries = -1;
+        private ToLongBiFunction<? super K, ? super V> weigher = (key, value) -> 1;
+        private long expireAfterWriteNanos;
+        private LongSupplier ticker = System::nanoTime;
+        private boolean admissionFilter;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the maximum number of entries. Every entry weighs 1.
+         *
+         * @param maximumSize the maximum number of entries
+         * @return this builder
+         */
+        public Builder<K, V> maximumSize(final long maximumSize) {
+            maximumWeight(maximumSize).weigher((key, value) -> 1);
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum total weight of entries. The weight of an entry is calculated by the weigher.
+         *
+         * @param maximumWeight the maximum total weight
+         * @return this builder
+         */
+        public Builder<K, V> maximumWeight(final long maximumWeight) {
+            if(maximumWeight < 0) {
+                throw new IllegalArgumentException("Negative maximumWeight: " + maximumWeight);
+            }
+            this.maximumWeight = maximumWeight;
+            this.maximumSize = -1;
+            return this;
+        }
+
+        /**
+         * Sets a function that calculates a weight of an entry. It is called once, when the entry is put.
+         *
+         * @param weigher a function that returns a non-negative weight of a key and a value
+         * @return this builder
+         */
+        public Builder<K, V> weigher(final ToLongBiFunction<? super K, ? super V> weigher) {
+            this.weigher = requireNonNull(weigher);
+            this.maximumSize = -1;
+            return this;
+        }
+
+        /**
+         * Makes entries expire after a given time since they were put.
+         *
+         * @param duration a positive time to live
+         * @return this builder
+         */
+        public Builder<K, V> expireAfterWrite(final Duration duration) {
+            if(duration.isNegative() || duration.isZero()) {
+                throw new IllegalArgumentException("Duration must be positive: " + duration);
+            }
+            this.expireAfterWriteNanos = duration.toNanos();
+            return this;
+        }
+
+        /**
+         * Sets a source of time in nanoseconds. It is {@link System#nanoTime()} by default.
+         *
+         * @param ticker a source of time
+         * @return this builder
+         */
+        public Builder<K, V> ticker(final LongSupplier ticker) {
+            this.ticker = requireNonNull(ticker);
+            return this;
+        }
+
+        /**
+         * Enables the TinyLFU admission filter.
+         *
+         * @return this builder
+         */
+        public Builder<K, V> admissionFilter() {
+            this.admissionFilter = true;
+            return this;
+        }
+
+        /**
+         * Sets the expected number of cached entries, which is the size of the admission filter. It is needed only for
+         * a cache with a weigher, since the maximum weight says nothing about the number of entries. By default, it is
+         * the maximum size, or {@value #DEFAULT_EXPECTED_ENTRIES} for a cache with a weigher.
+         *
+         * @param expectedEntries the expected number of entries
+         * @return this builder
+         */
+        public Builder<K, V> expectedEntries(final long expectedEntries) {
+            if(expectedEntries < 0) {
+                throw new IllegalArgumentException("Negative expectedEntries: " + expectedEntries);
+            }
+            this.expectedEntries = expectedEntries;
+            return this;
+        }
+
+        private long expectedEntries() {
+            if(expectedEntries >= 0) {
+                return expectedEntries;
+            }
+            return maximumSize >= 0 ? maximumSize : DEFAULT_EXPECTED_ENTRIES;
+        }
+
+        public BoundedCache<K, V> build() {
+            if(maximumWeight < 0) {
+                throw new IllegalStateException("maximumWeight or maximumSize must be set");
+            }
+            return new BoundedCache<>(this);
+        }
+    }
+
+    /**
+     * A count-min sketch of 4-bit counters. Every long holds 16 counters, and every key is counted in 4 of them, one
+     * per hash function, all in different longs. The frequency of a key is the minimum of its counters, so collisions
+     * can only overestimate it. When the number of increments reaches the sample size, all the counters are halved.
+     */
+    private static final class FrequencySketch {
+        private static final long[] SEEDS = {
+                0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+        };
+        private static final long RESET_MASK = 0x7777777777777777L;
+        private static final int MAXIMUM_LENGTH = 1 << 24;
+
+        private final long[] table;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(final long expectedSize) {
+            final int length = (int) Math.min(Math.max(expectedSize, 8), MAXIMUM_LENGTH);
+            this.table = new long[Integer.highestOneBit(length - 1) << 1];
+            this.sampleSize = 10 * table.length;
+        }
+
+        int frequency(final Object key) {
+            final int hash = HashTable.hash(key);
+            int frequency = Integer.MAX_VALUE;
+            for(int i = 0; i < SEEDS.length; i++) {
+                frequency = Math.min(frequency, (int) ((table[indexOf(hash, i)] >>> offsetOf(hash, i)) & 0xF));
+            }
+            return frequency;
+        }
+
+        void increment(final Object key) {
+            final int hash = HashTable.hash(key);
+            boolean added = false;
+            for(int i = 0; i < SEEDS.length; i++) {
+                final int index = indexOf(hash, i);
+                final int offset = offsetOf(hash, i);
+                if(((table[index] >>> offset) & 0xF) != 0xF) {
+                    table[index] += 1L << offset;
+                    added = true;
+                }
+            }
+            if(added && ++additions == sampleSize) {
+                reset();
+            }
+        }
+
+        private void reset() {
+            for(int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            additions >>>= 1;
+        }
+
+        private int indexOf(final int hash, final int row) {
+            long mixed = (hash + SEEDS[row]) * SEEDS[row];
+            mixed += mixed >>> 32;
+            return (int) mixed & (table.length - 1);
+        }
+
+        /**
+         * Every row uses its own 4 counters of a long, so different rows never share a counter.
+         */
+        private static int offsetOf(final int hash, final int row) {
+            return ((row << 2) + ((hash >>> (row << 3)) & 3)) << 2;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.bobocode.cs;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+/**
+ * A {@link Codec} converts keys and values to bytes and back, so they can be stored outside the Java heap. Equal
+ * objects must be encoded into equal bytes, because the stored keys are compared byte by byte.
+ *
+ * @param <T> a type of encoded objects
+ */
+public interface Codec<T> {
+
+    /**
+     * Encodes UTF-8 strings.
+     */
+    Codec<String> STRING = of(
+            value -> value.getBytes(StandardCharsets.UTF_8),
+            buffer -> StandardCharsets.UTF_8.decode(buffer).toString()
+    );
+
+    /**
+     * Stores byte arrays as is.
+     */
+    Codec<byte[]> BYTES = of(
+            value -> value,
+            buffer -> {
+                final byte[] bytes = new byte[buffer.remaining()];
+                buffer.get(bytes);
+                return bytes;
+            }
+    );
+
+    /**
+     * Converts a given object to bytes.
+     *
+     * @param value an object to encode
+     * @return encoded bytes
+     */
+    byte[] encode(T value);
+
+    /**
+     * Reads an object from a given buffer. The buffer contains exactly the encoded bytes, from its position to its
+     * limit.
+     *
+     * @param buffer a buffer with encoded bytes
+     * @return a decoded object
+     */
+    T decode(ByteBuffer buffer);
+
+    /**
+     * Creates a {@link Codec} from a given pair of functions.
+     *
+     * @param encoder a function that converts an object to bytes
+     * @param decoder a function that reads an object from a buffer
+     * @param <T>     a type of encoded objects
+     * @return a new codec
+     */
+    static <T> Codec<T> of(final Function<T, byte[]> encoder, final Function<ByteBuffer, T> decoder) {
+        return new Codec<>() {
+            @Override
+            public byte[] encode(final T value) {
+                return encoder.apply(value);
+            }
+
+            @Override
+            public T decode(final ByteBuffer buffer) {
+                return decoder.apply(buffer);
+            }
+        };
+    }
+}
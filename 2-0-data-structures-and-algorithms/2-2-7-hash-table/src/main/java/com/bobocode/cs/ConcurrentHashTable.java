@@ -0,0 +1,572 @@
+package com.bobocode.cs;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link ConcurrentHashTable} is a thread-safe implementation of {@link Map} interface. It is a simplified version of
+ * {@link java.util.concurrent.ConcurrentHashMap}, and it has the same array of linked nodes as {@link HashTable}.
+ * <p>
+ * Reads never take a lock. The array cells are accessed through a {@link VarHandle} with volatile semantics, and node
+ * values and next references are volatile, so a reader always sees a consistent chain.
+ * <p>
+ * Writes lock only a single bucket. An empty bucket is filled with a CAS, and a non-empty one is updated while holding
+ * the monitor of its first node. So writers that touch different buckets never wait for each other.
+ * <p>
+ * A resize is cooperative. The thread that starts it, and every writer that meets an already moved bucket, claim
+ * ranges of buckets and move them to the new array. A moved bucket is replaced with a forwarding node, which sends
+ * readers to the new array.
+ * <p>
+ * The compute methods are atomic. A remapping function is called at most once, while the bucket is locked. If the
+ * bucket is empty, it is locked by putting a reservation node there, which readers simply skip. A remapping function
+ * must not change the table: a write that meets a reservation node throws {@link IllegalStateException}.
+ * <p>
+ * The number of entries is kept in a {@link LongAdder}, so writers do not compete for a single counter.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class ConcurrentHashTable<K, V> implements Map<K, V> {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    private static final int TRANSFER_STRIDE = 16;
+    private static final int MOVED = -1;
+    private static final int RESERVED = -2;
+
+    private static final VarHandle TABLE = MethodHandles.arrayElementVarHandle(Node[].class);
+    private static final VarHandle RESIZE;
+
+    static {
+        try {
+            RESIZE = MethodHandles.lookup().findVarHandle(ConcurrentHashTable.class, "resize", Resize.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static class Node<K, V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        volatile Node<K, V> next;
+
+        Node(final int hash, final K key, final V value, final Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    private static final class ForwardingNode<K, V> extends Node<K, V> {
+        final Resize<K, V> resize;
+
+        ForwardingNode(final Resize<K, V> resize) {
+            super(MOVED, null, null, null);
+            this.resize = resize;
+        }
+    }
+
+    /**
+     * Holds the lock of an empty bucket while a remapping function computes a value for it.
+     */
+    private static final class ReservationNode<K, V> extends Node<K, V> {
+        ReservationNode() {
+            super(RESERVED, null, null, null);
+        }
+    }
+
+    /**
+     * The state of a single resize that is shared by all the threads that help to move buckets.
+     */
+    private static final class Resize<K, V> {
+        final Node<K, V>[] oldTable;
+        final Node<K, V>[] newTable;
+        final ForwardingNode<K, V> forwardingNode;
+        final AtomicInteger transferIndex;
+        final AtomicInteger resizers = new AtomicInteger(1);
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Resize(final Node<K, V>[] oldTable) {
+            this.oldTable = oldTable;
+            this.newTable = new Node[oldTable.length * 2];
+            this.forwardingNode = new ForwardingNode<>(this);
+            this.transferIndex = new AtomicInteger(oldTable.length);
+        }
+    }
+
+    private volatile Node<K, V>[] table;
+    private volatile Resize<K, V> resize;
+    private final LongAdder size = new LongAdder();
+
+    public ConcurrentHashTable() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ConcurrentHashTable(final int initialCapacity) {
+        if(initialCapacity < 0) {
+            throw new IllegalArgumentException("Negative initialCapacity: " + initialCapacity);
+        }
+        this.table = new Node[tableSizeFor(initialCapacity)];
+    }
+
+    private static int tableSizeFor(final int capacity) {
+        if(capacity <= 1) {
+            return 2;
+        }
+        return capacity >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY : Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    private static int resizeThreshold(final int capacity) {
+        return capacity - (capacity >>> 2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Node<K, V> tabAt(final Node<K, V>[] table, final int index) {
+        return (Node<K, V>) TABLE.getVolatile(table, index);
+    }
+
+    private static <K, V> boolean casTabAt(final Node<K, V>[] table, final int index, final Node<K, V> expected,
+                                           final Node<K, V> node) {
+        return TABLE.compareAndSet(table, index, expected, node);
+    }
+
+    private static <K, V> void setTabAt(final Node<K, V>[] table, final int index, final Node<K, V> node) {
+        TABLE.setVolatile(table, index, node);
+    }
+
+    /**
+     * Creates or updates a mapping for a given key and value. An empty bucket is filled with a CAS, otherwise the
+     * bucket is locked. If the bucket was already moved by a resize, the thread helps to finish the resize and retries
+     * in the new array.
+     *
+     * @param key
+     * @param value
+     * @return old value or null
+     */
+    @Override
+    public V put(K key, V value) {
+        requireNonNull(value);
+        final int hash = spread(requireNonNull(key));
+        Node<K, V>[] table = this.table;
+        while(true) {
+            final int index = hash & (table.length - 1);
+            final Node<K, V> first = tabAt(table, index);
+            if(first == null) {
+                if(casTabAt(table, index, null, new Node<>(hash, key, value, null))) {
+                    break;
+                }
+            } else if(first instanceof ForwardingNode<K, V> forwardingNode) {
+                table = helpResize(forwardingNode.resize);
+            } else {
+                synchronized(first) {
+                    if(tabAt(table, index) == first) {
+                        if(first instanceof ReservationNode) {
+                            throw new IllegalStateException("Recursive update");
+                        }
+                        Node<K, V> currentNode = first;
+                        while(true) {
+                            if(currentNode.hash == hash && currentNode.key.equals(key)) {
+                                final V oldValue = currentNode.value;
+                                currentNode.value = value;
+                                return oldValue;
+                            }
+                            if(currentNode.next == null) {
+                                currentNode.next = new Node<>(hash, key, value, null);
+                                break;
+                            }
+                            currentNode = currentNode.next;
+                        }
+                    } else {
+                        continue;
+                    }
+                }
+                break;
+            }
+        }
+        size.increment();
+        resizeTableIfNeeded(table);
+        return null;
+    }
+
+    private static int spread(final Object key) {
+        return HashTable.hash(key) & Integer.MAX_VALUE;
+    }
+
+    /**
+     * Retrieves a value by the given key without taking any lock.
+     *
+     * @param key
+     * @return value stored in the table by the given key or null if there is no such key
+     */
+    @Override
+    public V get(K key) {
+        final Node<K, V> node = findNode(key);
+        return node == null ? null : node.value;
+    }
+
+    private Node<K, V> findNode(final K key) {
+        final int hash = spread(key);
+        Node<K, V>[] table = this.table;
+        Node<K, V> currentNode = tabAt(table, hash & (table.length - 1));
+        while(currentNode instanceof ForwardingNode<K, V> forwardingNode) {
+            table = forwardingNode.resize.newTable;
+            currentNode = tabAt(table, hash & (table.length - 1));
+        }
+        while(currentNode != null) {
+            if(currentNode.hash == hash && currentNode.key.equals(key)) {
+                return currentNode;
+            }
+            currentNode = currentNode.next;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return findNode(key) != null;
+    }
+
+    /**
+     * Checks if the table contains a given value. It walks the whole table without locking, so entries that are
+     * changed concurrently may or may not be seen.
+     *
+     * @param value
+     * @return true is there is such value in the table or false otherwise
+     */
+    @Override
+    public boolean containsValue(V value) {
+        requireNonNull(value);
+        final Node<K, V>[] table = this.table;
+        for(int i = 0; i < table.length; i++) {
+            if(bucketContainsValue(table, i, value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean bucketContainsValue(final Node<K, V>[] table, final int index, final V value) {
+        final Node<K, V> first = tabAt(table, index);
+        if(first instanceof ForwardingNode<K, V> forwardingNode) {
+            final Node<K, V>[] newTable = forwardingNode.resize.newTable;
+            return bucketContainsValue(newTable, index, value)
+                    || bucketContainsValue(newTable, index + table.length, value);
+        }
+        for(Node<K, V> currentNode = first; currentNode != null; currentNode = currentNode.next) {
+            if(Objects.equals(value, currentNode.value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of entries. It sums the striped counter, so it never blocks writers, but the result may
+     * not include the concurrent changes.
+     *
+     * @return the number of entries
+     */
+    @Override
+    public int size() {
+        final long sum = size.sum();
+        return sum < 0 ? 0 : (int) Math.min(sum, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size.sum() <= 0;
+    }
+
+    /**
+     * Removes an element by its key and returns a removed value. Only the bucket of the given key is locked.
+     *
+     * @param key
+     * @return removed value or null
+     */
+    @Override
+    public V remove(K key) {
+        final int hash = spread(key);
+        Node<K, V>[] table = this.table;
+        while(true) {
+            final int index = hash & (table.length - 1);
+            final Node<K, V> first = tabAt(table, index);
+            if(first == null) {
+                return null;
+            } else if(first instanceof ForwardingNode<K, V> forwardingNode) {
+                table = helpResize(forwardingNode.resize);
+            } else {
+                synchronized(first) {
+                    if(tabAt(table, index) == first) {
+                        if(first instanceof ReservationNode) {
+                            throw new IllegalStateException("Recursive update");
+                        }
+                        Node<K, V> previousNode = null;
+                        for(Node<K, V> currentNode = first; currentNode != null; currentNode = currentNode.next) {
+                            if(currentNode.hash == hash && currentNode.key.equals(key)) {
+                                if(previousNode == null) {
+                                    setTabAt(table, index, currentNode.next);
+                                } else {
+                                    previousNode.next = currentNode.next;
+                                }
+                                size.decrement();
+                                return currentNode.value;
+                            }
+                            previousNode = currentNode;
+                        }
+                        return null;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a mapping for a given key and value only if there is no such key yet. The check and the insertion are
+     * atomic.
+     *
+     * @param key
+     * @param value
+     * @return the current value or null if there was no such key
+     */
+    @Override
+    public V putIfAbsent(K key, V value) {
+        requireNonNull(value);
+        return remap(key, (k, oldValue) -> oldValue == null ? value : oldValue, true);
+    }
+
+    /**
+     * If there is no such key, it computes a value using a given function and creates a mapping for it. The function
+     * is called at most once, while the bucket is locked, so the whole operation is atomic.
+     *
+     * @param key
+     * @param mappingFunction a function that computes a value by the key
+     * @return the current (existing or computed) value, or null
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        requireNonNull(mappingFunction);
+        final Node<K, V> node = findNode(key);
+        if(node != null) {
+            return node.value;
+        }
+        return remap(key, (k, oldValue) -> oldValue == null ? mappingFunction.apply(k) : oldValue, false);
+    }
+
+    /**
+     * If the key exists, it computes a new value using a given function and the old value. If the function returns
+     * null, the mapping is removed. The whole operation is atomic.
+     *
+     * @param key
+     * @param remappingFunction a function that computes a new value by the key and the old value
+     * @return the new value or null
+     */
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        requireNonNull(remappingFunction);
+        return remap(key, (k, oldValue) -> oldValue == null ? null : remappingFunction.apply(k, oldValue), false);
+    }
+
+    /**
+     * Computes a new value using a given function, the key and the old value (or null if there is no such key).
+     * If the function returns null, the mapping is removed (or not created). The whole operation is atomic.
+     *
+     * @param key
+     * @param remappingFunction a function that computes a new value by the key and the old value
+     * @return the new value or null
+     */
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        requireNonNull(remappingFunction);
+        return remap(key, remappingFunction, false);
+    }
+
+    /**
+     * If there is no such key, it creates a mapping for a given value. Otherwise, it combines the old value and
+     * the given one using a given function. If the function returns null, the mapping is removed. The whole operation
+     * is atomic, so concurrent merges never lose an update.
+     *
+     * @param key
+     * @param value             a value to put or to combine with the old one
+     * @param remappingFunction a function that combines the old value and the given one
+     * @return the new value or null
+     */
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        requireNonNull(value);
+        requireNonNull(remappingFunction);
+        return remap(key, (k, oldValue) -> oldValue == null ? value : remappingFunction.apply(oldValue, value), false);
+    }
+
+    /**
+     * Updates, removes or inserts a node of a given key according to the value returned by a given function.
+     * The function is called while the bucket is locked. An empty bucket is locked by a reservation node, which is
+     * replaced with the new node, or with null again, before the lock is released.
+     */
+    private V remap(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction,
+                    final boolean returnOldValue) {
+        final int hash = spread(requireNonNull(key));
+        Node<K, V>[] table = this.table;
+        int delta;
+        V oldValue;
+        V newValue;
+        while(true) {
+            final int index = hash & (table.length - 1);
+            final Node<K, V> first = tabAt(table, index);
+            if(first == null) {
+                final Node<K, V> reservation = new ReservationNode<>();
+                synchronized(reservation) {
+                    if(casTabAt(table, index, null, reservation)) {
+                        Node<K, V> node = null;
+                        try {
+                            oldValue = null;
+                            newValue = remappingFunction.apply(key, null);
+                            if(newValue != null) {
+                                node = new Node<>(hash, key, newValue, null);
+                            }
+                        } finally {
+                            setTabAt(table, index, node);
+                        }
+                        delta = node == null ? 0 : 1;
+                        break;
+                    }
+                }
+            } else if(first instanceof ForwardingNode<K, V> forwardingNode) {
+                table = helpResize(forwardingNode.resize);
+            } else {
+                synchronized(first) {
+                    if(tabAt(table, index) != first) {
+                        continue;
+                    }
+                    if(first instanceof ReservationNode) {
+                        throw new IllegalStateException("Recursive update");
+                    }
+                    Node<K, V> previousNode = null;
+                    Node<K, V> currentNode = first;
+                    while(currentNode != null && (currentNode.hash != hash || !currentNode.key.equals(key))) {
+                        previousNode = currentNode;
+                        currentNode = currentNode.next;
+                    }
+                    oldValue = currentNode == null ? null : currentNode.value;
+                    newValue = remappingFunction.apply(key, oldValue);
+                    delta = 0;
+                    if(currentNode != null) {
+                        if(newValue != null) {
+                            currentNode.value = newValue;
+                        } else {
+                            if(previousNode == null) {
+                                setTabAt(table, index, currentNode.next);
+                            } else {
+                                previousNode.next = currentNode.next;
+                            }
+                            delta = -1;
+                        }
+                    } else if(newValue != null) {
+                        previousNode.next = new Node<>(hash, key, newValue, null);
+                        delta = 1;
+                    }
+                }
+                break;
+            }
+        }
+        if(delta > 0) {
+            size.increment();
+            resizeTableIfNeeded(table);
+        } else if(delta < 0) {
+            size.decrement();
+        }
+        return returnOldValue ? oldValue : newValue;
+    }
+
+    private void resizeTableIfNeeded(final Node<K, V>[] table) {
+        if(table == this.table && table.length < MAXIMUM_CAPACITY
+                && size.sum() > resizeThreshold(table.length) && resize == null) {
+            final Resize<K, V> newResize = new Resize<>(table);
+            if(RESIZE.compareAndSet(this, null, newResize)) {
+                if(this.table == table) {
+                    transfer(newResize);
+                } else {
+                    resize = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Joins a resize that is in progress and moves some of its buckets. A resize that is already finished cannot be
+     * joined. It returns the new array, which is the one to retry an operation in.
+     */
+    private Node<K, V>[] helpResize(final Resize<K, V> resize) {
+        final AtomicInteger resizers = resize.resizers;
+        int currentResizers = resizers.get();
+        while(currentResizers > 0) {
+            if(resizers.compareAndSet(currentResizers, currentResizers + 1)) {
+                transfer(resize);
+                break;
+            }
+            currentResizers = resizers.get();
+        }
+        return resize.newTable;
+    }
+
+    private void transfer(final Resize<K, V> resize) {
+        final AtomicInteger transferIndex = resize.transferIndex;
+        int upperBound;
+        while((upperBound = transferIndex.get()) > 0) {
+            final int lowerBound = Math.max(upperBound - TRANSFER_STRIDE, 0);
+            if(transferIndex.compareAndSet(upperBound, lowerBound)) {
+                for(int i = upperBound - 1; i >= lowerBound; i--) {
+                    transferBucket(resize, i);
+                }
+            }
+        }
+        if(resize.resizers.decrementAndGet() == 0) {
+            this.table = resize.newTable;
+            this.resize = null;
+        }
+    }
+
+    /**
+     * Copies the nodes of a bucket to the new array, so readers that are still walking the old bucket are not
+     * affected. Then the bucket is replaced with the forwarding node.
+     */
+    private void transferBucket(final Resize<K, V> resize, final int index) {
+        final Node<K, V>[] oldTable = resize.oldTable;
+        final Node<K, V>[] newTable = resize.newTable;
+        while(true) {
+            final Node<K, V> first = tabAt(oldTable, index);
+            if(first == null) {
+                if(casTabAt(oldTable, index, null, resize.forwardingNode)) {
+                    return;
+                }
+            } else {
+                synchronized(first) {
+                    if(tabAt(oldTable, index) == first) {
+                        Node<K, V> lowHead = null;
+                        Node<K, V> highHead = null;
+                        for(Node<K, V> currentNode = first; currentNode != null; currentNode = currentNode.next) {
+                            if((currentNode.hash & oldTable.length) == 0) {
+                                lowHead = new Node<>(currentNode.hash, currentNode.key, currentNode.value, lowHead);
+                            } else {
+                                highHead = new Node<>(currentNode.hash, currentNode.key, currentNode.value, highHead);
+                            }
+                        }
+                        setTabAt(newTable, index, lowHead);
+                        setTabAt(newTable, index + oldTable.length, highHead);
+                        setTabAt(oldTable, index, resize.forwardingNode);
+                        return;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,414 @@
+package com.bobocode.cs;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link CuckooHashTable} is a bucketized cuckoo implementation of {@link Map} interface. The table is split into
+ * buckets of four cells, and every key has exactly two candidate buckets, calculated by two hash functions. A key is
+ * always stored in one of them, so a lookup never checks more than two buckets, no matter how full the table is.
+ * <p>
+ * Hashes of keys are stored in a flat array, and keys and values are interleaved in another one, so a value is next
+ * to its key. A bucket of four hashes takes 16 bytes and never crosses a cache line, and a lookup reads a key only when
+ * its stored hash matches. So a lookup reads at most two cache lines of hashes, plus the keys with matching hashes.
+ * <p>
+ * When both buckets of a new key are full, the key takes a random cell of them, and the evicted key moves to its other
+ * bucket, possibly evicting another one ("cuckoo" eviction). If this chain of evictions gets too long, the last evicted
+ * key is put into a small stash, which is checked by lookups only when it is not empty. Once the stash overflows,
+ * the table is rehashed with new hash functions, and its capacity is doubled if a new seed alone is not enough.
+ * <p>
+ * The capacity is always a power of two, and the initial capacity is 8.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class CuckooHashTable<K, V> implements Map<K, V> {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 8;
+    private static final int BUCKET_SIZE = 4;
+    private static final float RESIZE_THRESHOLD = 0.9f;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    private static final int MAX_EVICTIONS = 256;
+    private static final int STASH_LIMIT = 4;
+    private static final int MAX_REHASH_ATTEMPTS = 4;
+
+    private Object[] entries;
+    private int[] hashes;
+    private int bucketMask;
+    private long seed;
+    private Object[] stashKeys = new Object[STASH_LIMIT];
+    private Object[] stashValues = new Object[STASH_LIMIT];
+    private int[] stashHashes = new int[STASH_LIMIT];
+    private int stashSize;
+    private int stashThreshold = STASH_LIMIT;
+    private int size;
+
+    public CuckooHashTable() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public CuckooHashTable(final int initialCapacity) {
+        if(initialCapacity < 0) {
+            throw new IllegalArgumentException("Negative initialCapacity: " + initialCapacity);
+        }
+        allocateArrays(tableSizeFor(initialCapacity));
+        this.seed = ThreadLocalRandom.current().nextLong();
+    }
+
+    private static int tableSizeFor(final int capacity) {
+        if(capacity <= 2 * BUCKET_SIZE) {
+            return 2 * BUCKET_SIZE;
+        }
+        return capacity >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY : Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    private void allocateArrays(final int capacity) {
+        this.entries = new Object[2 * capacity];
+        this.hashes = new int[capacity];
+        this.bucketMask = capacity / BUCKET_SIZE - 1;
+    }
+
+    /**
+     * Mixes a hash with the current seed (the finalizer of MurmurHash3). The low half gives the first bucket and
+     * the high half gives the second one, so both hash functions are calculated at once.
+     */
+    private long mix(final int hash) {
+        long mixed = hash ^ seed;
+        mixed = (mixed ^ (mixed >>> 33)) * 0xff51afd7ed558ccdL;
+        mixed = (mixed ^ (mixed >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return mixed ^ (mixed >>> 33);
+    }
+
+    private int firstBucket(final long mixed) {
+        return (int) mixed & bucketMask;
+    }
+
+    private int secondBucket(final long mixed) {
+        final int bucket = (int) (mixed >>> 32) & bucketMask;
+        return bucket != firstBucket(mixed) ? bucket : bucket ^ 1;
+    }
+
+    private int alternateBucket(final int hash, final int bucket) {
+        final long mixed = mix(hash);
+        final int first = firstBucket(mixed);
+        return bucket == first ? secondBucket(mixed) : first;
+    }
+
+    private int findInBucket(final int bucket, final int hash, final Object key) {
+        final int start = bucket * BUCKET_SIZE;
+        for(int i = start; i < start + BUCKET_SIZE; i++) {
+            if(hashes[i] == hash && entries[2 * i] != null && entries[2 * i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int findEmptyCell(final int bucket) {
+        final int start = bucket * BUCKET_SIZE;
+        for(int i = start; i < start + BUCKET_SIZE; i++) {
+            if(entries[2 * i] == null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of a cell that contains a given key, or -1 if the key is not in the table. It checks only two
+     * buckets of the key.
+     */
+    private int findIndex(final Object key, final int hash) {
+        final long mixed = mix(hash);
+        final int index = findInBucket(firstBucket(mixed), hash, key);
+        return index >= 0 ? index : findInBucket(secondBucket(mixed), hash, key);
+    }
+
+    private int findInStash(final Object key, final int hash) {
+        for(int i = 0; i < stashSize; i++) {
+            if(stashHashes[i] == hash && stashKeys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(final int index) {
+        return (V) entries[2 * index + 1];
+    }
+
+    @SuppressWarnings("unchecked")
+    private V stashValueAt(final int index) {
+        return (V) stashValues[index];
+    }
+
+    /**
+     * Creates or updates a mapping for a given key and value. If both buckets of a new key are full, it evicts keys
+     * to their other buckets, and it rehashes the table when the stash overflows.
+     *
+     * @param key
+     * @param value
+     * @return old value or null
+     */
+    @Override
+    public V put(K key, V value) {
+        requireNonNull(key);
+        requireNonNull(value);
+        final int hash = HashTable.hash(key);
+        final int index = findIndex(key, hash);
+        if(index >= 0) {
+            final V oldValue = valueAt(index);
+            entries[2 * index + 1] = value;
+            return oldValue;
+        }
+        final int stashIndex = findInStash(key, hash);
+        if(stashIndex >= 0) {
+            final V oldValue = stashValueAt(stashIndex);
+            stashValues[stashIndex] = value;
+            return oldValue;
+        }
+        if(size + 1 > hashes.length * RESIZE_THRESHOLD) {
+            if(hashes.length == MAXIMUM_CAPACITY) {
+                throw new IllegalStateException("Table is full");
+            }
+            rehash(2 * hashes.length);
+        }
+        insert(key, value, hash);
+        size++;
+        if(stashSize > stashThreshold) {
+            rehash(hashes.length);
+        }
+        return null;
+    }
+
+    /**
+     * Puts a key that is not in the table yet. If the chain of evictions is too long, the last evicted key goes
+     * to the stash, so every key always remains reachable.
+     */
+    private void insert(Object key, Object value, int hash) {
+        final long mixed = mix(hash);
+        int bucket = firstBucket(mixed);
+        int index = findEmptyCell(bucket);
+        if(index < 0) {
+            bucket = secondBucket(mixed);
+            index = findEmptyCell(bucket);
+        }
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        for(int evictions = 0; index < 0 && evictions < MAX_EVICTIONS; evictions++) {
+            final int victim = bucket * BUCKET_SIZE + random.nextInt(BUCKET_SIZE);
+            final Object victimKey = entries[2 * victim];
+            final Object victimValue = entries[2 * victim + 1];
+            final int victimHash = hashes[victim];
+            entries[2 * victim] = key;
+            entries[2 * victim + 1] = value;
+            hashes[victim] = hash;
+            key = victimKey;
+            value = victimValue;
+            hash = victimHash;
+            bucket = alternateBucket(hash, bucket);
+            index = findEmptyCell(bucket);
+        }
+        if(index >= 0) {
+            entries[2 * index] = key;
+            entries[2 * index + 1] = value;
+            hashes[index] = hash;
+        } else {
+            addToStash(key, value, hash);
+        }
+    }
+
+    private void addToStash(final Object key, final Object value, final int hash) {
+        if(stashSize == stashKeys.length) {
+            stashKeys = Arrays.copyOf(stashKeys, 2 * stashSize);
+            stashValues = Arrays.copyOf(stashValues, 2 * stashSize);
+            stashHashes = Arrays.copyOf(stashHashes, 2 * stashSize);
+        }
+        stashKeys[stashSize] = key;
+        stashValues[stashSize] = value;
+        stashHashes[stashSize] = hash;
+        stashSize++;
+    }
+
+    /**
+     * Retrieves a value by the given key. It checks two buckets of the key, and the stash only if it is not empty.
+     *
+     * @param key
+     * @return value stored in the table by the given key or null if there is no such key
+     */
+    @Override
+    public V get(K key) {
+        final int hash = HashTable.hash(key);
+        final int index = findIndex(key, hash);
+        if(index >= 0) {
+            return valueAt(index);
+        }
+        if(stashSize > 0) {
+            final int stashIndex = findInStash(key, hash);
+            return stashIndex < 0 ? null : stashValueAt(stashIndex);
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        final int hash = HashTable.hash(key);
+        return findIndex(key, hash) >= 0 || stashSize > 0 && findInStash(key, hash) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(V value) {
+        for(int i = 0; i < hashes.length; i++) {
+            if(entries[2 * i] != null && Objects.equals(value, entries[2 * i + 1])) {
+                return true;
+            }
+        }
+        for(int i = 0; i < stashSize; i++) {
+            if(Objects.equals(value, stashValues[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes an element by its key and returns a removed value. If the stash has a key that belongs to the bucket
+     * of the removed one, it is moved to the freed cell.
+     *
+     * @param key
+     * @return removed value or null
+     */
+    @Override
+    public V remove(K key) {
+        final int hash = HashTable.hash(key);
+        final int index = findIndex(key, hash);
+        if(index >= 0) {
+            final V removedValue = valueAt(index);
+            entries[2 * index] = null;
+            entries[2 * index + 1] = null;
+            hashes[index] = 0;
+            size--;
+            moveFromStash(index);
+            return removedValue;
+        }
+        final int stashIndex = stashSize > 0 ? findInStash(key, hash) : -1;
+        if(stashIndex < 0) {
+            return null;
+        }
+        final V removedValue = stashValueAt(stashIndex);
+        removeFromStash(stashIndex);
+        size--;
+        return removedValue;
+    }
+
+    private void moveFromStash(final int index) {
+        final int bucket = index / BUCKET_SIZE;
+        for(int i = 0; i < stashSize; i++) {
+            final long mixed = mix(stashHashes[i]);
+            if(firstBucket(mixed) == bucket || secondBucket(mixed) == bucket) {
+                entries[2 * index] = stashKeys[i];
+                entries[2 * index + 1] = stashValues[i];
+                hashes[index] = stashHashes[i];
+                removeFromStash(i);
+                return;
+            }
+        }
+    }
+
+    private void removeFromStash(final int index) {
+        stashSize--;
+        stashKeys[index] = stashKeys[stashSize];
+        stashValues[index] = stashValues[stashSize];
+        stashHashes[index] = stashHashes[stashSize];
+        stashKeys[stashSize] = null;
+        stashValues[stashSize] = null;
+    }
+
+    /**
+     * Creates a string that represents an underlying array. Every row starts with an array index followed by ": ",
+     * then it adds a key and a value (key=value) stored in that cell, if any. Stashed entries follow in a row that
+     * starts with "stash: ".
+     *
+     * @return a string that represents an underlying array
+     */
+    @Override
+    public String toString() {
+        final StringBuilder stringBuilder = new StringBuilder();
+        for(int i = 0; i < hashes.length; i++) {
+            stringBuilder.append(i).append(": ");
+            if(entries[2 * i] != null) {
+                stringBuilder.append(entries[2 * i]).append("=").append(entries[2 * i + 1]);
+            }
+            stringBuilder.append("\n");
+        }
+        if(stashSize > 0) {
+            stringBuilder.append("stash: ");
+            for(int i = 0; i < stashSize; i++) {
+                stringBuilder.append(i == 0 ? "" : ", ").append(stashKeys[i]).append("=").append(stashValues[i]);
+            }
+            stringBuilder.append("\n");
+        }
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Creates new underlying arrays with a given capacity (rounded up to a power of two) and moves all entries there,
+     * including stashed ones. Stored hashes are reused, so it never calls hashCode again.
+     *
+     * @param newCapacity a size of the new underlying arrays
+     */
+    public void resizeTable(final int newCapacity) {
+        final int capacity = tableSizeFor(newCapacity);
+        if(size > capacity) {
+            throw new IllegalArgumentException("Capacity " + newCapacity + " is too small for " + size + " entries");
+        }
+        rehash(capacity);
+    }
+
+    /**
+     * Moves all entries to new arrays with new hash functions. If the stash still overflows, it tries another seed,
+     * and the capacity is doubled after every failed attempt. When many keys have the same hash, no seed can separate
+     * them, so after the last attempt the extra keys are left in the stash, and the stash may grow twice before
+     * the next rehash.
+     */
+    private void rehash(int capacity) {
+        final Object[] oldEntries = entries;
+        final int[] oldHashes = hashes;
+        final Object[] oldStashKeys = Arrays.copyOf(stashKeys, stashSize);
+        final Object[] oldStashValues = Arrays.copyOf(stashValues, stashSize);
+        final int[] oldStashHashes = Arrays.copyOf(stashHashes, stashSize);
+        for(int attempt = 0; ; attempt++) {
+            allocateArrays(capacity);
+            seed = ThreadLocalRandom.current().nextLong();
+            Arrays.fill(stashKeys, null);
+            Arrays.fill(stashValues, null);
+            stashSize = 0;
+            for(int i = 0; i < oldHashes.length; i++) {
+                if(oldEntries[2 * i] != null) {
+                    insert(oldEntries[2 * i], oldEntries[2 * i + 1], oldHashes[i]);
+                }
+            }
+            for(int i = 0; i < oldStashKeys.length; i++) {
+                insert(oldStashKeys[i], oldStashValues[i], oldStashHashes[i]);
+            }
+            if(stashSize <= STASH_LIMIT || attempt == MAX_REHASH_ATTEMPTS - 1 || capacity == MAXIMUM_CAPACITY) {
+                stashThreshold = Math.max(STASH_LIMIT, 2 * stashSize);
+                return;
+            }
+            capacity = tableSizeFor(2 * capacity);
+        }
+    }
+}
@@ -0,0 +1,459 @@
+package com.bobocode.cs;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link FrozenHashTable} is an immutable implementation of {@link Map} that is optimized for reads. It is created
+ * once, by {@link HashTable#freeze()} or by a {@link Builder}, and it cannot be modified afterwards.
+ * <p>
+ * Keys and values are stored in a single flat array without nodes, where a value follows its key, so both of them
+ * are usually in the same cache line. An index of a key is calculated by a minimal perfect hash function, which maps
+ * every key hash to its own pair of cells, so a lookup reads exactly one pair and never walks a chain. The function
+ * is built by the CHD (compress, hash and displace) algorithm:
+ * <ul>
+ *     <li>the hashes are split into small buckets, about two hashes per bucket</li>
+ *     <li>buckets are processed from the largest to the smallest, and for every bucket it searches a seed that maps
+ *     all its hashes to free cells</li>
+ *     <li>a bucket of a single hash does not need a search, so it just takes any free cell, which is stored as
+ *     a negative seed</li>
+ * </ul>
+ * The hashes are split into shards first, and every shard has its own function over its own part of the arrays. So
+ * the shards are built in parallel, and a build of a huge table scales across cores.
+ * <p>
+ * The function is built over {@link Object#hashCode()}, so it cannot separate different keys with the same hash code.
+ * Such keys share a slot that holds a small collision group, which is searched linearly.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class FrozenHashTable<K, V> implements Map<K, V> {
+
+    private static final int HASHES_PER_BUCKET = 2;
+    private static final int SHARD_SIZE = 1 << 16;
+    private static final int MAXIMUM_SEED = 1 << 24;
+    private static final int BUCKET_SEED = -1;
+
+    private record Collision(Object[] keys, Object[] values) {
+    }
+
+    private final int shardBits;
+    private final int[] bucketOffsets;
+    private final int[] slotOffsets;
+    private final int[] seeds;
+    private final Object[] table;
+    private final int size;
+
+    /**
+     * Builds a table from the first count cells of given arrays. If a key is repeated, its last value is kept.
+     */
+    FrozenHashTable(final Object[] sourceKeys, final Object[] sourceValues, final int count) {
+        final int shardCount = count <= SHARD_SIZE ? 1 : Integer.highestOneBit(count / SHARD_SIZE);
+        this.shardBits = Integer.numberOfTrailingZeros(shardCount);
+        final long[][] shardHashes = splitIntoShards(sourceKeys, count, shardCount);
+        final int[] distinctHashCounts = IntStream.range(0, shardCount).parallel()
+                .map(shard -> sortAndCountDistinct(shardHashes[shard]))
+                .toArray();
+        this.bucketOffsets = new int[shardCount + 1];
+        this.slotOffsets = new int[shardCount + 1];
+        for(int shard = 0; shard < shardCount; shard++) {
+            bucketOffsets[shard + 1] = bucketOffsets[shard] + bucketCount(distinctHashCounts[shard]);
+            slotOffsets[shard + 1] = slotOffsets[shard] + distinctHashCounts[shard];
+        }
+        this.seeds = new int[bucketOffsets[shardCount]];
+        this.table = new Object[2 * slotOffsets[shardCount]];
+        this.size = IntStream.range(0, shardCount).parallel()
+                .map(shard -> buildShard(shard, shardHashes[shard], sourceKeys, sourceValues))
+                .sum();
+    }
+
+    /**
+     * Creates a builder of a new table.
+     *
+     * @param <K> key type
+     * @param <V> value type
+     * @return a new builder
+     */
+    public static <K, V> Builder<K, V> builder() {
+        return new Builder<>();
+    }
+
+    private static int bucketCount(final int hashCount) {
+        return Math.max(1, (hashCount + HASHES_PER_BUCKET - 1) / HASHES_PER_BUCKET);
+    }
+
+    /**
+     * Returns the entries of every shard as longs, where the high half is a hash and the low half is an entry index.
+     * Once they are sorted, the entries of the same hash are next to each other, in the order they were added.
+     */
+    private long[][] splitIntoShards(final Object[] sourceKeys, final int count, final int shardCount) {
+        final int[] hashes = new int[count];
+        final int[] shardSizes = new int[shardCount];
+        for(int i = 0; i < count; i++) {
+            hashes[i] = HashTable.hash(requireNonNull(sourceKeys[i]));
+            shardSizes[shardOf(mix(hashes[i], BUCKET_SEED))]++;
+        }
+        final long[][] shardHashes = new long[shardCount][];
+        for(int shard = 0; shard < shardCount; shard++) {
+            shardHashes[shard] = new long[shardSizes[shard]];
+            shardSizes[shard] = 0;
+        }
+        for(int i = 0; i < count; i++) {
+            final int shard = shardOf(mix(hashes[i], BUCKET_SEED));
+            shardHashes[shard][shardSizes[shard]++] = ((long) hashes[i] << 32) | i;
+        }
+        return shardHashes;
+    }
+
+    private static int sortAndCountDistinct(final long[] entries) {
+        Arrays.sort(entries);
+        int distinctCount = 0;
+        for(int i = 0; i < entries.length; i++) {
+            if(i == 0 || hashOf(entries[i]) != hashOf(entries[i - 1])) {
+                distinctCount++;
+            }
+        }
+        return distinctCount;
+    }
+
+    private static int hashOf(final long entry) {
+        return (int) (entry >> 32);
+    }
+
+    private static int indexOf(final long entry) {
+        return (int) entry;
+    }
+
+    /**
+     * Builds the function of a shard and puts its entries into the arrays.
+     *
+     * @return the number of distinct keys in the shard
+     */
+    private int buildShard(final int shard, final long[] entries, final Object[] sourceKeys,
+                           final Object[] sourceValues) {
+        final int slotCount = slotOffsets[shard + 1] - slotOffsets[shard];
+        final int[] distinctHashes = new int[slotCount];
+        int distinctCount = 0;
+        for(int i = 0; i < entries.length; i++) {
+            if(i == 0 || hashOf(entries[i]) != hashOf(entries[i - 1])) {
+                distinctHashes[distinctCount++] = hashOf(entries[i]);
+            }
+        }
+        buildFunction(shard, distinctHashes);
+        int keyCount = 0;
+        int groupStart = 0;
+        while(groupStart < entries.length) {
+            int groupEnd = groupStart + 1;
+            while(groupEnd < entries.length && hashOf(entries[groupEnd]) == hashOf(entries[groupStart])) {
+                groupEnd++;
+            }
+            final int slot = slotOf(hashOf(entries[groupStart]));
+            if(groupEnd - groupStart == 1) {
+                table[2 * slot] = sourceKeys[indexOf(entries[groupStart])];
+                table[2 * slot + 1] = sourceValues[indexOf(entries[groupStart])];
+                keyCount++;
+            } else {
+                keyCount += putCollision(slot, entries, groupStart, groupEnd, sourceKeys, sourceValues);
+            }
+            groupStart = groupEnd;
+        }
+        return keyCount;
+    }
+
+    /**
+     * Puts the entries of the same hash into a slot. Equal keys are merged, and the last added value is kept.
+     *
+     * @return the number of distinct keys
+     */
+    private int putCollision(final int slot, final long[] entries, final int from, final int to,
+                             final Object[] sourceKeys, final Object[] sourceValues) {
+        final Object[] groupKeys = new Object[to - from];
+        final Object[] groupValues = new Object[to - from];
+        int groupSize = 0;
+        for(int i = from; i < to; i++) {
+            final Object key = sourceKeys[indexOf(entries[i])];
+            int keyIndex = 0;
+            while(keyIndex < groupSize && !groupKeys[keyIndex].equals(key)) {
+                keyIndex++;
+            }
+            groupKeys[keyIndex] = key;
+            groupValues[keyIndex] = sourceValues[indexOf(entries[i])];
+            if(keyIndex == groupSize) {
+                groupSize++;
+            }
+        }
+        if(groupSize == 1) {
+            table[2 * slot] = groupKeys[0];
+            table[2 * slot + 1] = groupValues[0];
+        } else {
+            table[2 * slot] = new Collision(Arrays.copyOf(groupKeys, groupSize), Arrays.copyOf(groupValues, groupSize));
+        }
+        return groupSize;
+    }
+
+    /**
+     * Finds the seeds of all buckets of a shard. The buckets are sorted by size with a counting sort, and the largest
+     * ones are placed first, while there are many free slots.
+     */
+    private void buildFunction(final int shard, final int[] hashes) {
+        final int slotCount = hashes.length;
+        final int bucketCount = bucketOffsets[shard + 1] - bucketOffsets[shard];
+        final int[] bucketStarts = new int[bucketCount + 1];
+        final int[] bucketOfHash = new int[slotCount];
+        for(int i = 0; i < slotCount; i++) {
+            bucketOfHash[i] = bucketOf(mix(hashes[i], BUCKET_SEED), bucketCount);
+            bucketStarts[bucketOfHash[i] + 1]++;
+        }
+        int maxBucketSize = 0;
+        for(int bucket = 0; bucket < bucketCount; bucket++) {
+            maxBucketSize = Math.max(maxBucketSize, bucketStarts[bucket + 1]);
+            bucketStarts[bucket + 1] += bucketStarts[bucket];
+        }
+        final int[] bucketHashes = new int[slotCount];
+        final int[] bucketFill = Arrays.copyOf(bucketStarts, bucketCount);
+        for(int i = 0; i < slotCount; i++) {
+            bucketHashes[bucketFill[bucketOfHash[i]]++] = hashes[i];
+        }
+        final int[] sizeStarts = new int[maxBucketSize + 2];
+        for(int bucket = 0; bucket < bucketCount; bucket++) {
+            sizeStarts[maxBucketSize - (bucketStarts[bucket + 1] - bucketStarts[bucket]) + 1]++;
+        }
+        for(int i = 1; i < sizeStarts.length; i++) {
+            sizeStarts[i] += sizeStarts[i - 1];
+        }
+        final int[] bucketsBySize = new int[bucketCount];
+        for(int bucket = 0; bucket < bucketCount; bucket++) {
+            bucketsBySize[sizeStarts[maxBucketSize - (bucketStarts[bucket + 1] - bucketStarts[bucket])]++] = bucket;
+        }
+        final boolean[] occupied = new boolean[slotCount];
+        final int[] positions = new int[maxBucketSize];
+        int freeSlot = 0;
+        for(final int bucket : bucketsBySize) {
+            final int from = bucketStarts[bucket];
+            final int bucketSize = bucketStarts[bucket + 1] - from;
+            final int seedIndex = bucketOffsets[shard] + bucket;
+            if(bucketSize == 1) {
+                while(occupied[freeSlot]) {
+                    freeSlot++;
+                }
+                occupied[freeSlot] = true;
+                seeds[seedIndex] = -freeSlot - 1;
+            } else if(bucketSize > 1) {
+                final int seed = findSeed(bucketHashes, from, bucketSize, occupied, positions);
+                for(int i = 0; i < bucketSize; i++) {
+                    occupied[positions[i]] = true;
+                }
+                seeds[seedIndex] = seed;
+            }
+        }
+    }
+
+    private static int findSeed(final int[] hashes, final int from, final int bucketSize, final boolean[] occupied,
+                                final int[] positions) {
+        for(int seed = 0; seed < MAXIMUM_SEED; seed++) {
+            if(tryPlace(hashes, from, bucketSize, occupied, positions, seed)) {
+                return seed;
+            }
+        }
+        throw new IllegalStateException("Cannot find a perfect hash seed for " + bucketSize + " hashes");
+    }
+
+    private static boolean tryPlace(final int[] hashes, final int from, final int bucketSize,
+                                    final boolean[] occupied, final int[] positions, final int seed) {
+        for(int i = 0; i < bucketSize; i++) {
+            final int position = fastRange(mix(hashes[from + i], seed), occupied.length);
+            if(occupied[position]) {
+                return false;
+            }
+            for(int j = 0; j < i; j++) {
+                if(positions[j] == position) {
+                    return false;
+                }
+            }
+            positions[i] = position;
+        }
+        return true;
+    }
+
+    /**
+     * A 64-bit finalizer (from MurmurHash3) over a hash and a seed. It is a bijection, so different seeds give
+     * unrelated results for the same hash.
+     */
+    private static long mix(final int hash, final int seed) {
+        long mixed = (hash & 0xFFFFFFFFL) | ((long) seed << 32);
+        mixed = (mixed ^ (mixed >>> 33)) * 0xff51afd7ed558ccdL;
+        mixed = (mixed ^ (mixed >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return mixed ^ (mixed >>> 33);
+    }
+
+    /**
+     * Maps a mixed hash to [0, range) with a multiplication instead of a division.
+     */
+    private static int fastRange(final long mixedHash, final int range) {
+        return (int) (((mixedHash >>> 32) * range) >>> 32);
+    }
+
+    /**
+     * A shard and a bucket are both taken from the same mixed hash: the shard from its highest bits, and the bucket
+     * from its lower half.
+     */
+    private int shardOf(final long mixedHash) {
+        return shardBits == 0 ? 0 : (int) (mixedHash >>> (64 - shardBits));
+    }
+
+    private static int bucketOf(final long mixedHash, final int bucketCount) {
+        return (int) (((mixedHash & 0xFFFFFFFFL) * bucketCount) >>> 32);
+    }
+
+    /**
+     * Returns the slot of a given hash, or -1 if its shard is empty.
+     */
+    private int slotOf(final int hash) {
+        final long mixedHash = mix(hash, BUCKET_SEED);
+        final int shard = shardOf(mixedHash);
+        final int slotOffset = slotOffsets[shard];
+        final int slotCount = slotOffsets[shard + 1] - slotOffset;
+        if(slotCount == 0) {
+            return -1;
+        }
+        final int bucketCount = bucketOffsets[shard + 1] - bucketOffsets[shard];
+        final int seed = seeds[bucketOffsets[shard] + bucketOf(mixedHash, bucketCount)];
+        if(seed < 0) {
+            return slotOffset - seed - 1;
+        }
+        return slotOffset + fastRange(mix(hash, seed), slotCount);
+    }
+
+    /**
+     * Returns the value that is mapped to the given key. It reads a single cell of the arrays, unless the key shares
+     * its hash code with other keys.
+     *
+     * @param key
+     * @return the value that is mapped to the given key, or null if there is no such key
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        final int slot = slotOf(HashTable.hash(key));
+        if(slot < 0) {
+            return null;
+        }
+        final Object storedKey = table[2 * slot];
+        if(storedKey instanceof Collision collision) {
+            for(int i = 0; i < collision.keys.length; i++) {
+                if(collision.keys[i].equals(key)) {
+                    return (V) collision.values[i];
+                }
+            }
+            return null;
+        }
+        return key.equals(storedKey) ? (V) table[2 * slot + 1] : null;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public boolean containsValue(V value) {
+        for(int i = 0; i < table.length; i += 2) {
+            if(table[i] instanceof Collision collision) {
+                for(final Object collisionValue : collision.values) {
+                    if(Objects.equals(value, collisionValue)) {
+                        return true;
+                    }
+                }
+            } else if(table[i] != null && Objects.equals(value, table[i + 1])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Performs a given action for each key and value in the table.
+     *
+     * @param action an action to perform for each key and value
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(final BiConsumer<? super K, ? super V> action) {
+        requireNonNull(action);
+        for(int i = 0; i < table.length; i += 2) {
+            if(table[i] instanceof Collision collision) {
+                for(int j = 0; j < collision.keys.length; j++) {
+                    action.accept((K) collision.keys[j], (V) collision.values[j]);
+                }
+            } else if(table[i] != null) {
+                action.accept((K) table[i], (V) table[i + 1]);
+            }
+        }
+    }
+
+    /**
+     * The table is immutable, so this method always throws an exception.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public V put(K key, V value) {
+        throw new UnsupportedOperationException("FrozenHashTable is immutable");
+    }
+
+    /**
+     * The table is immutable, so this method always throws an exception.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public V remove(K key) {
+        throw new UnsupportedOperationException("FrozenHashTable is immutable");
+    }
+
+    /**
+     * A builder of {@link FrozenHashTable}. It only collects keys and values into arrays, and the table is built
+     * at once by {@link #build()}. If a key is put more than once, the last value is kept.
+     *
+     * @param <K> key type
+     * @param <V> value type
+     */
+    public static final class Builder<K, V> {
+        private Object[] keys = new Object[16];
+        private Object[] values = new Object[16];
+        private int count;
+
+        private Builder() {
+        }
+
+        public Builder<K, V> put(final K key, final V value) {
+            requireNonNull(key);
+            requireNonNull(value);
+            if(count == keys.length) {
+                keys = Arrays.copyOf(keys, count * 2);
+                values = Arrays.copyOf(values, count * 2);
+            }
+            keys[count] = key;
+            values[count] = value;
+            count++;
+            return this;
+        }
+
+        public FrozenHashTable<K, V> build() {
+            return new FrozenHashTable<>(keys, values, count);
+        }
+    }
+}
@@ -1,6 +1,15 @@
 package com.bobocode.cs;
 
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static java.util.Objects.requireNonNull;
 
@@ -16,9 +25,22 @@ import static java.util.Objects.requireNonNull;
  * If two elements (keys) have the same array index, they form a linked list. That's why class {@link Node} requires
  * a reference to the next field.
  * <p>
+ * A linked list makes the search linear, so poorly distributed keys would turn a lookup into O(n). That's why once
+ * a list grows long enough, its nodes are also organized into a balanced (AVL) tree ordered by the hash, and by
+ * {@link Comparable} when the keys support it. A tree bucket keeps its next references, so it can still be walked as
+ * a list, and it turns back to a plain list when it shrinks.
+ * <p>
  * Since you don't always know the number of elements in advance, the table can be resized. You can do that manually by
  * calling method resizeTable, or it will be done automatically once the table reach resize threshold.
  * <p>
+ * By default, an automatic resize moves all the elements at once, so the put that triggers it pays for the whole
+ * table. A table created with incremental resize enabled keeps the old and the new arrays side by side instead, and
+ * every put, get and remove moves only a few buckets to the new array. It spreads the cost of a resize across many
+ * operations, so no single call stalls.
+ * <p>
+ * The table can collect stats (operation counters, probe lengths, resizes and a chain length histogram) once they are
+ * enabled by {@link #enableStats()}. Every resize also commits a {@link HashTableResizeEvent} to JFR.
+ * <p>
  * The initial array size (initial capacity) is 8.
  * <p><p>
  * <strong>TODO: to get the most out of your learning, <a href="https://www.bobocode.com/learn">visit our website</a></strong>
@@ -32,28 +54,91 @@ public class HashTable<K, V> implements Map<K, V> {
 
     private static final int DEFAULT_INITIAL_CAPACITY = 8;
     private static final float RESIZE_THRESHOLD = 1.0f;
+    private static final int MIGRATION_STEP = 4;
+    private static final int TREEIFY_THRESHOLD = 8;
+    private static final int UNTREEIFY_THRESHOLD = 6;
+    private static final int MIN_TREEIFY_CAPACITY = 64;
+    private static final int PARALLEL_SCAN_THRESHOLD = 1 << 16;
 
-    private static class Node<K, V> {
+    private static final int PUT_IF_ABSENT = 0;
+    private static final int COMPUTE_IF_ABSENT = 1;
+    private static final int COMPUTE_IF_PRESENT = 2;
+    private static final int COMPUTE = 3;
+    private static final int MERGE = 4;
+
+    private static class Node<K, V> implements Map.Entry<K, V> {
         K key;
         V value;
         Node<K, V> next;
+        final int hash;
 
         public Node(final K key, final V value) {
             this.key = key;
             this.value = value;
+            this.hash = hash(key);
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    private static final class TreeNode<K, V> extends Node<K, V> {
+        TreeNode<K, V> left;
+        TreeNode<K, V> right;
+        TreeNode<K, V> prev;
+        int height = 1;
+
+        TreeNode(final K key, final V value) {
+            super(key, value);
         }
     }
 
     private Node<K, V>[] table;
     private int size;
 
+    private final boolean incrementalResize;
+    private Node<K, V>[] oldTable;
+    private int migrationIndex;
+
+    private HashTableStats stats;
+
     public HashTable() {
         this(DEFAULT_INITIAL_CAPACITY);
     }
 
     public HashTable(final int initialCapacity) {
+        this(initialCapacity, false);
+    }
+
+    /**
+     * Creates a table with a given initial capacity. If incrementalResize is true, an automatic resize does not move
+     * all the elements at once. Instead, the old array is kept until every put, get and remove moves a few of its
+     * buckets to the new one.
+     *
+     * @param initialCapacity   initial array size
+     * @param incrementalResize true to spread the cost of automatic resizing across operations
+     */
+    public HashTable(final int initialCapacity, final boolean incrementalResize) {
         checkArrayCapacity(initialCapacity);
-        this.table = new Node[initialCapacity];
+        this.table = newTable(initialCapacity);
+        this.incrementalResize = incrementalResize;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K, V> Node<K, V>[] newTable(final int capacity) {
+        return new Node[capacity];
     }
 
     private static void checkArrayCapacity(final int initialCapacity) {
@@ -78,8 +163,19 @@ public class HashTable<K, V> implements Map<K, V> {
      */
     public static int calculateIndex(Object key, int tableCapacity) {
         checkArrayCapacity(tableCapacity);
-        final int hash = key.hashCode() ^ (key.hashCode() >> 16);
-        return hash & (tableCapacity - 1);
+        return hash(key) & (tableCapacity - 1);
+    }
+
+    /**
+     * Spreads higher bits of the key's hash code to the lower ones, so the keys that differ only in the upper bits
+     * still end up in different buckets. It is shared by all hash-based {@link Map} implementations of this package.
+     *
+     * @param key
+     * @return a spread hash code of the given key
+     */
+    static int hash(Object key) {
+        final int hashCode = key.hashCode();
+        return hashCode ^ (hashCode >> 16);
     }
 
     /**
@@ -96,72 +192,97 @@ public class HashTable<K, V> implements Map<K, V> {
     @Override
     public V put(K key, V value) {
         resizeTableIfNeeded();
+        migrateBucketsOf(key);
         return put(table, key, value);
     }
 
     private V put(final Node<K, V>[] table, final K key, final V value) {
-        final Node<K, V> newNode = new Node<>(requireNonNull(key), requireNonNull(value));
-        final int index = calculateIndex(key, table.length);
-        if(table[index] == null) {
-            table[index] = newNode;
-        } else {
-            Node<K, V> currentNode = table[index];
-            while(currentNode.next != null) {
-                if(currentNode.key.equals(key)) {
-                    V oldValue = currentNode.value;
-                    currentNode.value = value;
-                    return oldValue;
-                }
-                currentNode = currentNode.next;
+        requireNonNull(value);
+        final int hash = hash(requireNonNull(key));
+        final int index = hash & (table.length - 1);
+        if(table[index] instanceof TreeNode<K, V> root) {
+            if(stats != null) {
+                stats.recordPut(root.height);
             }
-            if(currentNode.key.equals(key)) {
-                V oldValue = currentNode.value;
+            return putTreeNode(table, index, root, hash, key, value);
+        }
+        Node<K, V> lastNode = null;
+        int binCount = 0;
+        for(Node<K, V> currentNode = table[index]; currentNode != null; currentNode = currentNode.next) {
+            if(currentNode.hash == hash && currentNode.key.equals(key)) {
+                if(stats != null) {
+                    stats.recordPut(binCount + 1);
+                }
+                final V oldValue = currentNode.value;
                 currentNode.value = value;
                 return oldValue;
             }
-            currentNode.next = newNode;
+            lastNode = currentNode;
+            binCount++;
+        }
+        if(stats != null) {
+            stats.recordPut(binCount);
+        }
+        final Node<K, V> newNode = new Node<>(key, value);
+        if(lastNode == null) {
+            table[index] = newNode;
+        } else {
+            lastNode.next = newNode;
         }
         size++;
+        if(binCount + 1 >= TREEIFY_THRESHOLD) {
+            treeifyIfNeeded(table, index);
+        }
         return null;
     }
 
-    private Node<K, V> findNodeByKeyRecursively(final Node<K, V> currentNode, final K searchedKey) {
-        if(currentNode == null) {
+    private Node<K, V> findNodeByKey(final K searchedKey) {
+        if(table.length == 0) {
             return null;
-        } else if(Objects.equals(searchedKey, currentNode.key)) {
-            return currentNode;
-        } else {
-            return findNodeByKeyRecursively(currentNode.next, searchedKey);
         }
+        final int hash = hash(searchedKey);
+        final Node<K, V> nodeByIndex = table[hash & (table.length - 1)];
+        if(nodeByIndex instanceof TreeNode<K, V> root) {
+            if(stats != null) {
+                stats.recordGet(root.height);
+            }
+            return findTreeNode(root, hash, searchedKey);
+        }
+        int probeLength = 0;
+        Node<K, V> currentNode = nodeByIndex;
+        while(currentNode != null) {
+            probeLength++;
+            if(currentNode.hash == hash && searchedKey.equals(currentNode.key)) {
+                break;
+            }
+            currentNode = currentNode.next;
+        }
+        if(stats != null) {
+            stats.recordGet(probeLength);
+        }
+        return currentNode;
     }
 
-    private Node<K, V> findNodeByValue(final Node<K, V> currentNode, final V searchedValue) {
-        if(currentNode == null) {
-            return null;
-        } else if(Objects.equals(searchedValue, currentNode.value)) {
-            return currentNode;
-        } else {
-            return findNodeByValue(currentNode.next, searchedValue);
+    private Node<K, V> findNodeByValue(Node<K, V> currentNode, final V searchedValue) {
+        while(currentNode != null && !Objects.equals(searchedValue, currentNode.value)) {
+            currentNode = currentNode.next;
         }
+        return currentNode;
     }
 
     /**
      * Retrieves a value by the given key. It uses calculateIndex method to find the corresponding array index.
      * Then it iterates though all elements that are stored by that index, and uses equals to compare its keys.
+     * If the elements of that index form a tree, it descends the tree instead.
      *
      * @param key
      * @return value stored in the table by the given key or null if there is no such key
      */
     @Override
     public V get(K key) {
-        final int index = calculateIndex(key, table.length);
-        final Node<K, V> nodeByIndex = table[index];
-        if(nodeByIndex == null) {
-            return null;
-        } else {
-            final Node<K, V> nodeByKey = findNodeByKeyRecursively(nodeByIndex, key);
-            return nodeByKey == null ? null : nodeByKey.value;
-        }
+        migrateBucketsOf(key);
+        final Node<K, V> nodeByKey = findNodeByKey(key);
+        return nodeByKey == null ? null : nodeByKey.value;
     }
 
     /**
@@ -176,13 +297,20 @@ public class HashTable<K, V> implements Map<K, V> {
     }
 
     /**
-     * Checks if the table contains a given value.
+     * Checks if the table contains a given value. A large table is scanned by a parallel stream.
      *
      * @param value
      * @return true is there is such value in the table or false otherwise
      */
     @Override
     public boolean containsValue(V value) {
+        if(table.length >= PARALLEL_SCAN_THRESHOLD) {
+            return stream().parallel().anyMatch(entry -> Objects.equals(value, entry.getValue()));
+        }
+        return containsValue(table, value) || (oldTable != null && containsValue(oldTable, value));
+    }
+
+    private boolean containsValue(final Node<K, V>[] table, final V value) {
         for(final Node<K, V> node : table) {
             final Node<K, V> nodeByValue = findNodeByValue(node, value);
             if(nodeByValue != null) {
@@ -220,28 +348,448 @@ public class HashTable<K, V> implements Map<K, V> {
      */
     @Override
     public V remove(K key) {
-        final int index = calculateIndex(key, table.length);
-        if(table[index] == null) {
+        if(stats != null) {
+            stats.recordRemove();
+        }
+        migrateBucketsOf(key);
+        if(table.length == 0) {
             return null;
-        } else {
-            Node<K, V> currentNode = table[index];
-            if(currentNode.key.equals(key)) {
-                size--;
-                table[index] = currentNode.next;
+        }
+        final int hash = hash(key);
+        final int index = hash & (table.length - 1);
+        if(table[index] instanceof TreeNode<K, V> root) {
+            return removeTreeNode(index, root, hash, key);
+        }
+        Node<K, V> previousNode = null;
+        for(Node<K, V> currentNode = table[index]; currentNode != null; currentNode = currentNode.next) {
+            if(currentNode.hash == hash && currentNode.key.equals(key)) {
+                unlinkNode(index, currentNode, previousNode);
                 return currentNode.value;
             }
+            previousNode = currentNode;
+        }
+        return null;
+    }
+
+    private void unlinkNode(final int index, final Node<K, V> node, final Node<K, V> previousNode) {
+        if(previousNode == null) {
+            table[index] = node.next;
+        } else {
+            previousNode.next = node.next;
+        }
+        size--;
+    }
+
+    /**
+     * Creates a mapping for a given key and value only if there is no such key yet. It hashes the key and walks
+     * its bucket only once.
+     *
+     * @param key
+     * @param value
+     * @return the current value or null if there was no such key
+     */
+    @Override
+    public V putIfAbsent(K key, V value) {
+        requireNonNull(value);
+        return remap(key, PUT_IF_ABSENT, value, null);
+    }
+
+    /**
+     * If there is no such key, it computes a value using a given function and creates a mapping for it. It hashes
+     * the key and walks its bucket only once, and it creates a new node only if the key is actually inserted.
+     *
+     * @param key
+     * @param mappingFunction a function that computes a value by the key
+     * @return the current (existing or computed) value, or null
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        requireNonNull(mappingFunction);
+        return remap(key, COMPUTE_IF_ABSENT, null, mappingFunction);
+    }
+
+    /**
+     * If the key exists, it computes a new value using a given function and the old value. If the function returns
+     * null, the mapping is removed. It hashes the key and walks its bucket only once.
+     *
+     * @param key
+     * @param remappingFunction a function that computes a new value by the key and the old value
+     * @return the new value or null
+     */
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        requireNonNull(remappingFunction);
+        return remap(key, COMPUTE_IF_PRESENT, null, remappingFunction);
+    }
+
+    /**
+     * Computes a new value using a given function, the key and the old value (or null if there is no such key).
+     * If the function returns null, the mapping is removed (or not created). It hashes the key and walks its bucket
+     * only once, and it creates a new node only if the key is actually inserted.
+     *
+     * @param key
+     * @param remappingFunction a function that computes a new value by the key and the old value
+     * @return the new value or null
+     */
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        requireNonNull(remappingFunction);
+        return remap(key, COMPUTE, null, remappingFunction);
+    }
+
+    /**
+     * If there is no such key, it creates a mapping for a given value. Otherwise, it combines the old value and
+     * the given one using a given function. If the function returns null, the mapping is removed. It hashes the key
+     * and walks its bucket only once, so it is the cheapest way to count or to aggregate values by key.
+     *
+     * @param key
+     * @param value             a value to put or to combine with the old one
+     * @param remappingFunction a function that combines the old value and the given one
+     * @return the new value or null
+     */
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        requireNonNull(value);
+        requireNonNull(remappingFunction);
+        return remap(key, MERGE, value, remappingFunction);
+    }
+
+    /**
+     * Finds a node of a given key with a single walk over its bucket, and then updates, removes or inserts it
+     * according to the new value of a given operation. The walk remembers the previous node of a list, or the last
+     * one if there is no such key, so neither a removal nor an insertion needs another walk. The operation is passed
+     * as a mode with its value and function rather than as a lambda, so a call allocates only a node that it inserts.
+     * The function must not modify this table.
+     */
+    private V remap(final K key, final int mode, final V value, final Object function) {
+        requireNonNull(key);
+        resizeTableIfNeeded();
+        migrateBucketsOf(key);
+        final int hash = hash(key);
+        final int index = hash & (table.length - 1);
+        Node<K, V> node = table[index];
+        Node<K, V> previousNode = null;
+        int binCount = 0;
+        if(node instanceof TreeNode<K, V> root) {
+            binCount = root.height;
+            node = findTreeNode(root, hash, key);
+        } else {
+            while(node != null && (node.hash != hash || !node.key.equals(key))) {
+                previousNode = node;
+                node = node.next;
+                binCount++;
+            }
+        }
+        if(stats != null) {
+            stats.recordPut(node == null ? binCount : binCount + 1);
+        }
+        final V oldValue = node == null ? null : node.value;
+        final V newValue = newValue(mode, key, oldValue, value, function);
+        if(node != null) {
+            if(newValue != null) {
+                node.value = newValue;
+            } else if(node instanceof TreeNode<K, V> treeNode) {
+                unlinkTreeNode(index, (TreeNode<K, V>) table[index], treeNode);
+            } else {
+                unlinkNode(index, node, previousNode);
+            }
+        } else if(newValue != null) {
+            if(table[index] instanceof TreeNode<K, V> root) {
+                addTreeNode(table, index, root, key, newValue);
+            } else {
+                insertNode(index, previousNode, key, newValue, binCount);
+            }
+        }
+        return mode == PUT_IF_ABSENT ? oldValue : newValue;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> V newValue(final int mode, final K key, final V oldValue, final V value,
+                                     final Object function) {
+        return switch(mode) {
+            case PUT_IF_ABSENT -> oldValue == null ? value : oldValue;
+            case COMPUTE_IF_ABSENT -> oldValue == null
+                    ? ((Function<? super K, ? extends V>) function).apply(key)
+                    : oldValue;
+            case COMPUTE_IF_PRESENT -> oldValue == null
+                    ? null
+                    : ((BiFunction<? super K, ? super V, ? extends V>) function).apply(key, oldValue);
+            case COMPUTE -> ((BiFunction<? super K, ? super V, ? extends V>) function).apply(key, oldValue);
+            case MERGE -> oldValue == null
+                    ? value
+                    : ((BiFunction<? super V, ? super V, ? extends V>) function).apply(oldValue, value);
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        };
+    }
+
+    private void insertNode(final int index, final Node<K, V> lastNode, final K key, final V value,
+                            final int binCount) {
+        final Node<K, V> newNode = new Node<>(key, value);
+        if(lastNode == null) {
+            table[index] = newNode;
+        } else {
+            lastNode.next = newNode;
+        }
+        size++;
+        if(binCount + 1 >= TREEIFY_THRESHOLD) {
+            treeifyIfNeeded(table, index);
+        }
+    }
+
+    /**
+     * Enables the stats of this table. Until it is called, the table does not collect anything, and every operation
+     * only checks that the stats are disabled. Calling it again has no effect.
+     */
+    public void enableStats() {
+        if(stats == null) {
+            stats = new HashTableStats();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the table stats. The chain length histogram is computed by walking the whole table, so
+     * it is O(n).
+     *
+     * @return the stats snapshot
+     * @throws IllegalStateException if the stats are not enabled
+     */
+    public HashTableStats.Snapshot stats() {
+        if(stats == null) {
+            throw new IllegalStateException("Stats are not enabled");
+        }
+        final long[] chainLengthHistogram = new long[HashTableStats.HISTOGRAM_SIZE];
+        addChainLengths(table, chainLengthHistogram, true);
+        if(oldTable != null) {
+            addChainLengths(oldTable, chainLengthHistogram, false);
+        }
+        return stats.snapshot(size, table.length, chainLengthHistogram);
+    }
+
+    /**
+     * The buckets of the old array that were already moved are empty, so empty buckets are counted only in the new
+     * array.
+     */
+    private static void addChainLengths(final Node<?, ?>[] table, final long[] chainLengthHistogram,
+                                        final boolean countEmptyBuckets) {
+        for(final Node<?, ?> bucket : table) {
+            if(bucket == null && !countEmptyBuckets) {
+                continue;
+            }
+            int chainLength = 0;
+            for(Node<?, ?> currentNode = bucket; currentNode != null; currentNode = currentNode.next) {
+                chainLength++;
+            }
+            chainLengthHistogram[Math.min(chainLength, chainLengthHistogram.length - 1)]++;
+        }
+    }
+
+    /**
+     * Creates an immutable copy of this table that is optimized for reads. See {@link FrozenHashTable}.
+     *
+     * @return a frozen copy of the table
+     */
+    public FrozenHashTable<K, V> freeze() {
+        final Object[] keys = new Object[size];
+        final Object[] values = new Object[size];
+        int index = 0;
+        final Iterator<Map.Entry<K, V>> iterator = entryIterator();
+        while(iterator.hasNext()) {
+            final Map.Entry<K, V> entry = iterator.next();
+            keys[index] = entry.getKey();
+            values[index] = entry.getValue();
+            index++;
+        }
+        return new FrozenHashTable<>(keys, values, size);
+    }
+
+    /**
+     * Performs a given action for each key and value in the table. The table must not be modified by the action.
+     * If an incremental resize is in progress, it is completed first.
+     *
+     * @param action an action to perform for each key and value
+     */
+    public void forEach(final BiConsumer<? super K, ? super V> action) {
+        requireNonNull(action);
+        completeMigration();
+        for(final Node<K, V> bucket : table) {
+            for(Node<K, V> currentNode = bucket; currentNode != null; currentNode = currentNode.next) {
+                action.accept(currentNode.key, currentNode.value);
+            }
+        }
+    }
+
+    /**
+     * Returns an iterator over the entries of the table. The table must not be modified while it is iterated.
+     * If an incremental resize is in progress, it is completed first.
+     *
+     * @return an entry iterator
+     */
+    public Iterator<Map.Entry<K, V>> entryIterator() {
+        return new TableIterator<>() {
+            @Override
+            public Map.Entry<K, V> next() {
+                return nextNode();
+            }
+        };
+    }
+
+    /**
+     * Returns an iterator over the keys of the table. The table must not be modified while it is iterated.
+     *
+     * @return a key iterator
+     */
+    public Iterator<K> keyIterator() {
+        return new TableIterator<>() {
+            @Override
+            public K next() {
+                return nextNode().key;
+            }
+        };
+    }
+
+    /**
+     * Returns an iterator over the values of the table. The table must not be modified while it is iterated.
+     *
+     * @return a value iterator
+     */
+    public Iterator<V> valueIterator() {
+        return new TableIterator<>() {
+            @Override
+            public V next() {
+                return nextNode().value;
+            }
+        };
+    }
+
+    /**
+     * Walks the table bucket by bucket. Tree buckets keep their next references, so they are walked as lists too.
+     */
+    private abstract class TableIterator<T> implements Iterator<T> {
+        private final Node<K, V>[] table;
+        private int index;
+        private Node<K, V> nextNode;
 
-            while(currentNode.next != null) {
-                Node<K,V> nextNode = currentNode.next;
-                if(nextNode.key.equals(key)) {
-                    size--;
-                    currentNode.next = nextNode.next;
-                    return nextNode.value;
+        TableIterator() {
+            completeMigration();
+            this.table = HashTable.this.table;
+            advance();
+        }
+
+        private void advance() {
+            while(nextNode == null && index < table.length) {
+                nextNode = table[index++];
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextNode != null;
+        }
+
+        Node<K, V> nextNode() {
+            final Node<K, V> node = nextNode;
+            if(node == null) {
+                throw new NoSuchElementException();
+            }
+            nextNode = node.next;
+            advance();
+            return node;
+        }
+    }
+
+    /**
+     * Returns a spliterator over the entries of the table. It splits the table into ranges of buckets, so a parallel
+     * stream processes different parts of the array in different threads. The spliterator that is returned is
+     * {@link Spliterator#SIZED}, while the parts it is split into only estimate their sizes.
+     * If an incremental resize is in progress, it is completed first.
+     *
+     * @return an entry spliterator
+     */
+    public Spliterator<Map.Entry<K, V>> spliterator() {
+        completeMigration();
+        return new EntrySpliterator<>(table, 0, table.length, size, true);
+    }
+
+    /**
+     * Returns a sequential stream of the table entries. Call {@link Stream#parallel()} to process it in parallel.
+     *
+     * @return a stream of entries
+     */
+    public Stream<Map.Entry<K, V>> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    private static final class EntrySpliterator<K, V> implements Spliterator<Map.Entry<K, V>> {
+        private final Node<K, V>[] table;
+        private int index;
+        private final int fence;
+        private Node<K, V> currentNode;
+        private long estimatedSize;
+        private boolean exactSize;
+
+        EntrySpliterator(final Node<K, V>[] table, final int index, final int fence, final long estimatedSize,
+                         final boolean exactSize) {
+            this.table = table;
+            this.index = index;
+            this.fence = fence;
+            this.estimatedSize = estimatedSize;
+            this.exactSize = exactSize;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super Map.Entry<K, V>> action) {
+            requireNonNull(action);
+            while(currentNode == null && index < fence) {
+                currentNode = table[index++];
+            }
+            if(currentNode == null) {
+                return false;
+            }
+            final Node<K, V> node = currentNode;
+            currentNode = node.next;
+            action.accept(node);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super Map.Entry<K, V>> action) {
+            requireNonNull(action);
+            Node<K, V> node = currentNode;
+            currentNode = null;
+            while(true) {
+                for(; node != null; node = node.next) {
+                    action.accept(node);
                 }
-                currentNode = currentNode.next;
+                if(index >= fence) {
+                    return;
+                }
+                node = table[index++];
             }
         }
-        return null;
+
+        @Override
+        public Spliterator<Map.Entry<K, V>> trySplit() {
+            final int middle = (index + fence) >>> 1;
+            if(currentNode != null || middle <= index) {
+                return null;
+            }
+            final EntrySpliterator<K, V> prefix = new EntrySpliterator<>(table, index, middle, estimatedSize >>> 1,
+                    false);
+            index = middle;
+            estimatedSize -= prefix.estimatedSize;
+            exactSize = false;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimatedSize;
+        }
+
+        @Override
+        public int characteristics() {
+            return (exactSize ? SIZED : 0) | DISTINCT | NONNULL;
+        }
     }
 
     /**
@@ -262,6 +810,7 @@ public class HashTable<K, V> implements Map<K, V> {
      * 6:
      * 7:
      * </pre>
+     * While an incremental resize is in progress, it shows only the new array.
      *
      * @return
      */
@@ -296,25 +845,462 @@ public class HashTable<K, V> implements Map<K, V> {
      * PLEASE NOTE that such method <strong>should not be a part of the public API</strong>, but it was made public
      * for learning purposes. You can create a table, print it using toString, then resizeTable and print it again.
      * It will help you to understand how it works.
+     * <p>
+     * Existing nodes are relinked into the new array, so it does not allocate anything except the array itself.
+     * If an incremental resize is in progress, it is completed first.
      *
      * @param newCapacity a size of the new underlying array
      */
     public void resizeTable(int newCapacity) {
         checkArrayCapacity(newCapacity);
-        final Node<K, V>[] newTable = new Node[newCapacity];
-        for(final Node<K, V> tableNode : table) {
-            Node<K, V> current = tableNode;
-            while(current != null) {
-                put(newTable, current.key, current.value);
-                current = current.next;
+        final HashTableResizeEvent event = new HashTableResizeEvent();
+        event.begin();
+        final long startNanos = stats == null ? 0 : System.nanoTime();
+        completeMigration();
+        final int oldCapacity = table.length;
+        final Node<K, V>[] newTable = newTable(newCapacity);
+        final boolean doubled = newCapacity == 2 * table.length;
+        for(int i = 0; i < table.length; i++) {
+            transferBucket(table[i], i, table.length, newTable);
+        }
+        if(!doubled) {
+            for(int i = 0; i < newTable.length; i++) {
+                treeifyIfNeeded(newTable, i);
             }
         }
         table = newTable;
+        if(stats != null) {
+            stats.recordResize(System.nanoTime() - startNanos);
+        }
+        commitResizeEvent(event, oldCapacity, false);
+    }
+
+    private void commitResizeEvent(final HashTableResizeEvent event, final int oldCapacity,
+                                   final boolean incremental) {
+        if(event.shouldCommit()) {
+            event.oldCapacity = oldCapacity;
+            event.newCapacity = table.length;
+            event.size = size;
+            event.incremental = incremental;
+            event.commit();
+        }
+    }
+
+    /**
+     * Moves all the nodes of an old bucket into a new table. When the table is doubled, the nodes of a bucket can only
+     * go to the same index or to the index increased by the old capacity, so tree nodes are reused and both of these
+     * buckets are checked for the tree threshold. Otherwise, tree nodes are replaced by plain ones and the whole new
+     * table is checked by the caller.
+     */
+    private void transferBucket(final Node<K, V> bucket, final int index, final int oldCapacity,
+                                final Node<K, V>[] newTable) {
+        final boolean doubled = newTable.length == 2 * oldCapacity;
+        if(doubled && bucket instanceof TreeNode<K, V> treeBucket) {
+            splitTreeBucket(treeBucket, index, oldCapacity, newTable);
+        } else {
+            relinkAll(bucket, newTable);
+            if(doubled) {
+                treeifyIfNeeded(newTable, index);
+                treeifyIfNeeded(newTable, index + oldCapacity);
+            }
+        }
+    }
+
+    private void relinkAll(Node<K, V> current, final Node<K, V>[] newTable) {
+        while(current != null) {
+            final Node<K, V> next = current.next;
+            final Node<K, V> node = current instanceof TreeNode ? new Node<>(current.key, current.value) : current;
+            final int index = node.hash & (newTable.length - 1);
+            node.next = newTable[index];
+            newTable[index] = node;
+            current = next;
+        }
     }
 
     private void resizeTableIfNeeded() {
-        if(size / (float) table.length > RESIZE_THRESHOLD) {
-            resizeTable(2 * table.length);
+        if(table.length == 0) {
+            resizeTable(DEFAULT_INITIAL_CAPACITY);
+        } else if(size / (float) table.length > RESIZE_THRESHOLD) {
+            if(!incrementalResize) {
+                resizeTable(2 * table.length);
+            } else if(oldTable == null) {
+                startMigration(2 * table.length);
+            }
+        }
+    }
+
+    private void startMigration(final int newCapacity) {
+        final HashTableResizeEvent event = new HashTableResizeEvent();
+        event.begin();
+        final long startNanos = stats == null ? 0 : System.nanoTime();
+        oldTable = table;
+        table = newTable(newCapacity);
+        migrationIndex = 0;
+        if(stats != null) {
+            stats.recordResize(System.nanoTime() - startNanos);
+        }
+        commitResizeEvent(event, oldTable.length, true);
+    }
+
+    /**
+     * Moves the bucket of the old array where the given key can be found, so the key can only be in the new array
+     * afterwards. Then it moves a few more buckets in order to finish the migration eventually.
+     */
+    private void migrateBucketsOf(final K key) {
+        if(oldTable != null) {
+            migrateBucket(calculateIndex(key, oldTable.length));
+            for(int i = 0; i < MIGRATION_STEP && oldTable != null; i++) {
+                migrateBucket(migrationIndex++);
+                if(migrationIndex == oldTable.length) {
+                    oldTable = null;
+                }
+            }
+        }
+    }
+
+    private void migrateBucket(final int index) {
+        final Node<K, V> bucket = oldTable[index];
+        if(bucket != null) {
+            oldTable[index] = null;
+            transferBucket(bucket, index, oldTable.length, table);
+        }
+    }
+
+    private void completeMigration() {
+        if(oldTable != null) {
+            for(int i = migrationIndex; i < oldTable.length; i++) {
+                migrateBucket(i);
+            }
+            for(int i = 0; i < migrationIndex; i++) {
+                migrateBucket(i);
+            }
+            oldTable = null;
+        }
+    }
+
+    private static boolean canTreeify(final Node<?, ?>[] table) {
+        return table.length >= MIN_TREEIFY_CAPACITY && (table.length & (table.length - 1)) == 0;
+    }
+
+    private void treeifyIfNeeded(final Node<K, V>[] table, final int index) {
+        if(!canTreeify(table) || table[index] instanceof TreeNode) {
+            return;
+        }
+        int binCount = 0;
+        for(Node<K, V> currentNode = table[index]; currentNode != null; currentNode = currentNode.next) {
+            if(++binCount >= TREEIFY_THRESHOLD) {
+                treeify(table, index);
+                return;
+            }
+        }
+    }
+
+    private void treeify(final Node<K, V>[] table, final int index) {
+        TreeNode<K, V> head = null;
+        TreeNode<K, V> tail = null;
+        for(Node<K, V> currentNode = table[index]; currentNode != null; currentNode = currentNode.next) {
+            final TreeNode<K, V> treeNode = new TreeNode<>(currentNode.key, currentNode.value);
+            if(tail == null) {
+                head = treeNode;
+            } else {
+                tail.next = treeNode;
+                treeNode.prev = tail;
+            }
+            tail = treeNode;
+        }
+        buildTree(table, index, head);
+    }
+
+    private void buildTree(final Node<K, V>[] table, final int index, final TreeNode<K, V> head) {
+        TreeNode<K, V> root = null;
+        for(TreeNode<K, V> treeNode = head; treeNode != null; treeNode = (TreeNode<K, V>) treeNode.next) {
+            root = insertTreeNode(root, treeNode);
+        }
+        table[index] = head;
+        moveRootToFront(table, index, root);
+    }
+
+    private void untreeify(final Node<K, V>[] table, final int index) {
+        Node<K, V> head = null;
+        Node<K, V> tail = null;
+        for(Node<K, V> currentNode = table[index]; currentNode != null; currentNode = currentNode.next) {
+            final Node<K, V> node = new Node<>(currentNode.key, currentNode.value);
+            if(tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+        }
+        table[index] = head;
+    }
+
+    private void splitTreeBucket(final TreeNode<K, V> bucket, final int index, final int oldCapacity,
+                                 final Node<K, V>[] newTable) {
+        TreeNode<K, V> lowHead = null;
+        TreeNode<K, V> lowTail = null;
+        TreeNode<K, V> highHead = null;
+        TreeNode<K, V> highTail = null;
+        int lowCount = 0;
+        int highCount = 0;
+        TreeNode<K, V> currentNode = bucket;
+        while(currentNode != null) {
+            final TreeNode<K, V> next = (TreeNode<K, V>) currentNode.next;
+            currentNode.next = null;
+            currentNode.left = null;
+            currentNode.right = null;
+            currentNode.height = 1;
+            if((currentNode.hash & oldCapacity) == 0) {
+                currentNode.prev = lowTail;
+                if(lowTail == null) {
+                    lowHead = currentNode;
+                } else {
+                    lowTail.next = currentNode;
+                }
+                lowTail = currentNode;
+                lowCount++;
+            } else {
+                currentNode.prev = highTail;
+                if(highTail == null) {
+                    highHead = currentNode;
+                } else {
+                    highTail.next = currentNode;
+                }
+                highTail = currentNode;
+                highCount++;
+            }
+            currentNode = next;
+        }
+        placeTreeBucket(newTable, index, lowHead, lowCount);
+        placeTreeBucket(newTable, index + oldCapacity, highHead, highCount);
+    }
+
+    private void placeTreeBucket(final Node<K, V>[] table, final int index, final TreeNode<K, V> head,
+                                 final int count) {
+        if(head == null) {
+            return;
+        }
+        table[index] = head;
+        if(count <= UNTREEIFY_THRESHOLD) {
+            untreeify(table, index);
+        } else {
+            buildTree(table, index, head);
+        }
+    }
+
+    /**
+     * A tree bucket always starts with its root, so the root can be found directly in the table.
+     */
+    private static <K, V> void moveRootToFront(final Node<K, V>[] table, final int index, final TreeNode<K, V> root) {
+        final TreeNode<K, V> first = (TreeNode<K, V>) table[index];
+        if(root != first) {
+            final TreeNode<K, V> previous = root.prev;
+            final TreeNode<K, V> next = (TreeNode<K, V>) root.next;
+            previous.next = next;
+            if(next != null) {
+                next.prev = previous;
+            }
+            root.next = first;
+            root.prev = null;
+            first.prev = root;
+            table[index] = root;
         }
     }
+
+    private V putTreeNode(final Node<K, V>[] table, final int index, final TreeNode<K, V> root, final int hash,
+                          final K key, final V value) {
+        final TreeNode<K, V> existingNode = findTreeNode(root, hash, key);
+        if(existingNode != null) {
+            final V oldValue = existingNode.value;
+            existingNode.value = value;
+            return oldValue;
+        }
+        addTreeNode(table, index, root, key, value);
+        return null;
+    }
+
+    private void addTreeNode(final Node<K, V>[] table, final int index, final TreeNode<K, V> root, final K key,
+                             final V value) {
+        final TreeNode<K, V> newNode = new TreeNode<>(key, value);
+        final TreeNode<K, V> next = (TreeNode<K, V>) root.next;
+        newNode.next = next;
+        newNode.prev = root;
+        if(next != null) {
+            next.prev = newNode;
+        }
+        root.next = newNode;
+        moveRootToFront(table, index, insertTreeNode(root, newNode));
+        size++;
+    }
+
+    private V removeTreeNode(final int index, final TreeNode<K, V> root, final int hash, final K key) {
+        final TreeNode<K, V> nodeToRemove = findTreeNode(root, hash, key);
+        if(nodeToRemove == null) {
+            return null;
+        }
+        unlinkTreeNode(index, root, nodeToRemove);
+        return nodeToRemove.value;
+    }
+
+    private void unlinkTreeNode(final int index, final TreeNode<K, V> root, final TreeNode<K, V> nodeToRemove) {
+        final TreeNode<K, V> previous = nodeToRemove.prev;
+        final TreeNode<K, V> next = (TreeNode<K, V>) nodeToRemove.next;
+        if(previous == null) {
+            table[index] = next;
+        } else {
+            previous.next = next;
+        }
+        if(next != null) {
+            next.prev = previous;
+        }
+        final TreeNode<K, V> newRoot = deleteTreeNode(root, nodeToRemove);
+        size--;
+        if(newRoot != null) {
+            moveRootToFront(table, index, newRoot);
+            int binCount = 0;
+            for(Node<K, V> currentNode = newRoot; currentNode != null; currentNode = currentNode.next) {
+                if(++binCount > UNTREEIFY_THRESHOLD) {
+                    return;
+                }
+            }
+            untreeify(table, index);
+        }
+    }
+
+    /**
+     * Searches a tree by the hash first. When the hashes are equal, it uses {@link Comparable} if both keys are of
+     * the same class. If the keys are not comparable, the node can be in both subtrees, so it searches both of them.
+     */
+    private static <K, V> TreeNode<K, V> findTreeNode(TreeNode<K, V> currentNode, final int hash, final Object key) {
+        while(currentNode != null) {
+            if(hash != currentNode.hash) {
+                currentNode = hash < currentNode.hash ? currentNode.left : currentNode.right;
+            } else if(key.equals(currentNode.key)) {
+                return currentNode;
+            } else {
+                final int comparison = compareComparables(key, currentNode.key);
+                if(comparison < 0) {
+                    currentNode = currentNode.left;
+                } else if(comparison > 0) {
+                    currentNode = currentNode.right;
+                } else {
+                    final TreeNode<K, V> foundNode = findTreeNode(currentNode.right, hash, key);
+                    if(foundNode != null) {
+                        return foundNode;
+                    }
+                    currentNode = currentNode.left;
+                }
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareComparables(final Object key, final Object otherKey) {
+        if(key instanceof Comparable comparable && key.getClass() == otherKey.getClass()) {
+            return comparable.compareTo(otherKey);
+        }
+        return 0;
+    }
+
+    /**
+     * Defines the order of nodes in a tree: by hash, then by class name, then by {@link Comparable}, and finally by
+     * identity hash code.
+     */
+    private static int compareTreeNodes(final TreeNode<?, ?> node, final TreeNode<?, ?> otherNode) {
+        if(node.hash != otherNode.hash) {
+            return node.hash < otherNode.hash ? -1 : 1;
+        }
+        int comparison = node.key.getClass().getName().compareTo(otherNode.key.getClass().getName());
+        if(comparison == 0) {
+            comparison = compareComparables(node.key, otherNode.key);
+        }
+        if(comparison == 0) {
+            comparison = Integer.compare(System.identityHashCode(node.key), System.identityHashCode(otherNode.key));
+        }
+        return comparison;
+    }
+
+    private static <K, V> TreeNode<K, V> insertTreeNode(final TreeNode<K, V> root, final TreeNode<K, V> newNode) {
+        if(root == null) {
+            return newNode;
+        }
+        if(compareTreeNodes(newNode, root) <= 0) {
+            root.left = insertTreeNode(root.left, newNode);
+        } else {
+            root.right = insertTreeNode(root.right, newNode);
+        }
+        return rebalance(root);
+    }
+
+    private static <K, V> TreeNode<K, V> deleteTreeNode(final TreeNode<K, V> root, final TreeNode<K, V> nodeToDelete) {
+        if(root == null) {
+            return null;
+        }
+        if(root == nodeToDelete) {
+            if(root.left == null) {
+                return root.right;
+            } else if(root.right == null) {
+                return root.left;
+            }
+            TreeNode<K, V> successor = root.right;
+            while(successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = deleteTreeNode(root.right, successor);
+            successor.left = root.left;
+            return rebalance(successor);
+        }
+        final int comparison = compareTreeNodes(nodeToDelete, root);
+        if(comparison <= 0) {
+            root.left = deleteTreeNode(root.left, nodeToDelete);
+        }
+        if(comparison >= 0) {
+            root.right = deleteTreeNode(root.right, nodeToDelete);
+        }
+        return rebalance(root);
+    }
+
+    private static int height(final TreeNode<?, ?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static <K, V> TreeNode<K, V> rebalance(final TreeNode<K, V> node) {
+        final int balance = height(node.left) - height(node.right);
+        if(balance > 1) {
+            if(height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        } else if(balance < -1) {
+            if(height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        updateHeight(node);
+        return node;
+    }
+
+    private static void updateHeight(final TreeNode<?, ?> node) {
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+    }
+
+    private static <K, V> TreeNode<K, V> rotateLeft(final TreeNode<K, V> node) {
+        final TreeNode<K, V> newRoot = node.right;
+        node.right = newRoot.left;
+        newRoot.left = node;
+        updateHeight(node);
+        updateHeight(newRoot);
+        return newRoot;
+    }
+
+    private static <K, V> TreeNode<K, V> rotateRight(final TreeNode<K, V> node) {
+        final TreeNode<K, V> newRoot = node.left;
+        node.left = newRoot.right;
+        newRoot.right = node;
+        updateHeight(node);
+        updateHeight(newRoot);
+        return newRoot;
+    }
 }
@@ -0,0 +1,31 @@
+package com.bobocode.cs;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JFR event that is committed when a {@link HashTable} is resized. JFR events are disabled unless a recording
+ * enables them, and a disabled event is not recorded.
+ */
+@Name("com.bobocode.cs.HashTableResize")
+@Label("HashTable Resize")
+@Category("Data Structures")
+@Description("A resize of a HashTable")
+class HashTableResizeEvent extends Event {
+
+    @Label("Old Capacity")
+    int oldCapacity;
+
+    @Label("New Capacity")
+    int newCapacity;
+
+    @Label("Size")
+    int size;
+
+    @Label("Incremental")
+    @Description("Whether the entries are moved gradually by the following operations")
+    boolean incremental;
+}
@@ -0,0 +1,79 @@
+package com.bobocode.cs;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link HashTableStats} collects the counters of a {@link HashTable} that has stats enabled. The counters are
+ * {@link LongAdder}s, so they can be read by a monitoring thread while the table is used. A table that does not have
+ * stats enabled does not create this object at all.
+ * <p>
+ * A probe length is the number of nodes that a lookup visits in a bucket. For a tree bucket, it is the height of the
+ * tree, which is the longest path that a lookup can take.
+ */
+public final class HashTableStats {
+
+    /**
+     * The size of the chain length histogram. Its last cell counts all the chains of that length or longer.
+     */
+    public static final int HISTOGRAM_SIZE = 16;
+
+    private final LongAdder gets = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder removes = new LongAdder();
+    private final LongAdder resizes = new LongAdder();
+    private final LongAdder totalResizeNanos = new LongAdder();
+    private final LongAccumulator maxResizeNanos = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxProbeLength = new LongAccumulator(Math::max, 0);
+
+    HashTableStats() {
+    }
+
+    void recordGet(final int probeLength) {
+        gets.increment();
+        maxProbeLength.accumulate(probeLength);
+    }
+
+    void recordPut(final int probeLength) {
+        puts.increment();
+        maxProbeLength.accumulate(probeLength);
+    }
+
+    void recordRemove() {
+        removes.increment();
+    }
+
+    void recordResize(final long durationNanos) {
+        resizes.increment();
+        totalResizeNanos.add(durationNanos);
+        maxResizeNanos.accumulate(durationNanos);
+    }
+
+    Snapshot snapshot(final int size, final int capacity, final long[] chainLengthHistogram) {
+        return new Snapshot(gets.sum(), puts.sum(), removes.sum(), resizes.sum(), maxProbeLength.get(),
+                totalResizeNanos.sum(), maxResizeNanos.get(), size, capacity, chainLengthHistogram);
+    }
+
+    /**
+     * A snapshot of the table stats.
+     *
+     * @param gets                 the number of lookups (get and containsKey)
+     * @param puts                 the number of puts, including the compute methods
+     * @param removes              the number of removes
+     * @param resizes              the number of resizes, both manual and automatic
+     * @param maxProbeLength       the longest probe of a lookup or a put
+     * @param totalResizeNanos     the total time spent on resizing. An incremental resize counts only its start
+     * @param maxResizeNanos       the longest resize
+     * @param size                 the number of entries
+     * @param capacity             the size of the underlying array
+     * @param chainLengthHistogram the number of buckets of every chain length, where index 0 counts empty buckets
+     */
+    public record Snapshot(long gets, long puts, long removes, long resizes, long maxProbeLength,
+                           long totalResizeNanos, long maxResizeNanos, int size, int capacity,
+                           long[] chainLengthHistogram) {
+
+        public double loadFactor() {
+            return capacity == 0 ? 0 : (double) size / capacity;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.bobocode.cs;
+
+/**
+ * {@link IntHashTable} is a version of {@link Map} that is specialized for primitive int keys and values. It does not
+ * box keys and values, and it does not create a node per entry. Keys and values are stored in two parallel int arrays,
+ * and a collision is resolved by probing the next array cell (linear probing).
+ * <p>
+ * Since a primitive cannot be null, an empty cell is marked by key 0, and the key 0 itself is stored in a separate
+ * field. For the same reason, methods that would return null in {@link Map} return a missing value instead. It is 0 by
+ * default, and it can be changed via constructor.
+ * <p>
+ * Int keys are often sequential or strided, so the index is calculated with a multiplicative (Fibonacci) hash instead
+ * of {@link HashTable#calculateIndex(Object, int)}. It spreads such keys evenly.
+ * <p>
+ * A removal shifts the following keys of a cluster back, so it does not leave tombstones.
+ */
+public class IntHashTable {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 8;
+    private static final float RESIZE_THRESHOLD = 0.75f;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    private static final int FREE_KEY = 0;
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+    private boolean containsFreeKey;
+    private int freeKeyValue;
+    private final int missingValue;
+
+    public IntHashTable() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public IntHashTable(final int initialCapacity) {
+        this(initialCapacity, 0);
+    }
+
+    /**
+     * Creates a table with a given initial capacity and a value that is returned when there is no such key.
+     *
+     * @param initialCapacity initial array size
+     * @param missingValue    a value that is returned by get, put and remove when there is no such key
+     */
+    public IntHashTable(final int initialCapacity, final int missingValue) {
+        if(initialCapacity < 0) {
+            throw new IllegalArgumentException("Negative initialCapacity: " + initialCapacity);
+        }
+        final int capacity = tableSizeFor((int) Math.ceil(initialCapacity / RESIZE_THRESHOLD));
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+        this.missingValue = missingValue;
+    }
+
+    private static int tableSizeFor(final int capacity) {
+        if(capacity <= 2) {
+            return 2;
+        }
+        return capacity >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY : Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    private static int hash(final int key) {
+        final int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Returns a value that is returned by get, put and remove when there is no such key.
+     *
+     * @return the missing value
+     */
+    public int missingValue() {
+        return missingValue;
+    }
+
+    /**
+     * Creates or updates a mapping for a given key and value.
+     *
+     * @param key
+     * @param value
+     * @return an old value or the missing value if there was no such key
+     */
+    public int put(final int key, final int value) {
+        if(key == FREE_KEY) {
+            final int oldValue = containsFreeKey ? freeKeyValue : missingValue;
+            if(!containsFreeKey) {
+                containsFreeKey = true;
+                size++;
+            }
+            freeKeyValue = value;
+            return oldValue;
+        }
+        final int index = findIndex(key);
+        if(keys[index] == key) {
+            final int oldValue = values[index];
+            values[index] = value;
+            return oldValue;
+        }
+        insertAt(index, key, value);
+        return missingValue;
+    }
+
+    /**
+     * Adds a given increment to the value of a given key. If there is no such key, it creates a mapping with
+     * the increment as a value. It makes counting possible with a single lookup.
+     *
+     * @param key
+     * @param increment
+     * @return a new value
+     */
+    public int addTo(final int key, final int increment) {
+        if(key == FREE_KEY) {
+            if(!containsFreeKey) {
+                containsFreeKey = true;
+                freeKeyValue = 0;
+                size++;
+            }
+            return freeKeyValue += increment;
+        }
+        final int index = findIndex(key);
+        if(keys[index] == key) {
+            return values[index] += increment;
+        }
+        insertAt(index, key, increment);
+        return increment;
+    }
+
+    private void insertAt(final int index, final int key, final int value) {
+        keys[index] = key;
+        values[index] = value;
+        size++;
+        if(size > keys.length * RESIZE_THRESHOLD) {
+            resizeTable(keys.length * 2);
+        }
+    }
+
+    /**
+     * Returns the index of the cell that stores a given key, or the index of the empty cell where it should be put.
+     */
+    private int findIndex(final int key) {
+        final int mask = keys.length - 1;
+        int index = hash(key) & mask;
+        while(keys[index] != FREE_KEY && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the value that is mapped to the given key. It never allocates.
+     *
+     * @param key
+     * @return the value that is mapped to the given key, or the missing value if there is no such key
+     */
+    public int get(final int key) {
+        return getOrDefault(key, missingValue);
+    }
+
+    /**
+     * Returns the value that is mapped to the given key, or a given default value if there is no such key.
+     *
+     * @param key
+     * @param defaultValue
+     * @return the value that is mapped to the given key, or the default value
+     */
+    public int getOrDefault(final int key, final int defaultValue) {
+        if(key == FREE_KEY) {
+            return containsFreeKey ? freeKeyValue : defaultValue;
+        }
+        final int index = findIndex(key);
+        return keys[index] == key ? values[index] : defaultValue;
+    }
+
+    public boolean containsKey(final int key) {
+        return key == FREE_KEY ? containsFreeKey : keys[findIndex(key)] == key;
+    }
+
+    public boolean containsValue(final int value) {
+        if(containsFreeKey && freeKeyValue == value) {
+            return true;
+        }
+        for(int i = 0; i < keys.length; i++) {
+            if(keys[i] != FREE_KEY && values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes a mapping for a given key. The following keys of the cluster are shifted back, so every key stays
+     * reachable from its home index.
+     *
+     * @param key
+     * @return a removed value or the missing value if there was no such key
+     */
+    public int remove(final int key) {
+        if(key == FREE_KEY) {
+            if(!containsFreeKey) {
+                return missingValue;
+            }
+            containsFreeKey = false;
+            size--;
+            return freeKeyValue;
+        }
+        final int index = findIndex(key);
+        if(keys[index] != key) {
+            return missingValue;
+        }
+        final int removedValue = values[index];
+        shiftKeys(index);
+        size--;
+        return removedValue;
+    }
+
+    private void shiftKeys(int emptyIndex) {
+        final int mask = keys.length - 1;
+        int index = emptyIndex;
+        while(true) {
+            index = (index + 1) & mask;
+            final int key = keys[index];
+            if(key == FREE_KEY) {
+                keys[emptyIndex] = FREE_KEY;
+                return;
+            }
+            final int homeIndex = hash(key) & mask;
+            final boolean canMove = emptyIndex <= index
+                    ? emptyIndex >= homeIndex || homeIndex > index
+                    : emptyIndex >= homeIndex && homeIndex > index;
+            if(canMove) {
+                keys[emptyIndex] = key;
+                values[emptyIndex] = values[index];
+                emptyIndex = index;
+            }
+        }
+    }
+
+    /**
+     * Creates new underlying arrays with a given capacity (rounded up to a power of two) and moves all entries there.
+     *
+     * @param newCapacity a size of the new underlying arrays
+     */
+    public void resizeTable(final int newCapacity) {
+        final int capacity = tableSizeFor(newCapacity);
+        if(size >= capacity) {
+            throw new IllegalArgumentException("Capacity " + newCapacity + " is too small for " + size + " entries");
+        }
+        final int[] oldKeys = keys;
+        final int[] oldValues = values;
+        keys = new int[capacity];
+        values = new int[capacity];
+        for(int i = 0; i < oldKeys.length; i++) {
+            if(oldKeys[i] != FREE_KEY) {
+                final int index = findIndex(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.bobocode.cs;
+
+/**
+ * {@link LongHashTable} is a version of {@link Map} that is specialized for primitive long keys and values. It does not
+ * box keys and values, and it does not create a node per entry. Keys and values are stored in two parallel long arrays,
+ * and a collision is resolved by probing the next array cell (linear probing).
+ * <p>
+ * Since a primitive cannot be null, an empty cell is marked by key 0, and the key 0 itself is stored in a separate
+ * field. For the same reason, methods that would return null in {@link Map} return a missing value instead. It is 0 by
+ * default, and it can be changed via constructor.
+ * <p>
+ * Long keys are often sequential or strided, so the index is calculated with a multiplicative (Fibonacci) hash instead
+ * of {@link HashTable#calculateIndex(Object, int)}. It spreads such keys evenly.
+ * <p>
+ * A removal shifts the following keys of a cluster back, so it does not leave tombstones.
+ */
+public class LongHashTable {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 8;
+    private static final float RESIZE_THRESHOLD = 0.75f;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    private static final long FREE_KEY = 0L;
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+    private boolean containsFreeKey;
+    private long freeKeyValue;
+    private final long missingValue;
+
+    public LongHashTable() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public LongHashTable(final int initialCapacity) {
+        this(initialCapacity, 0L);
+    }
+
+    /**
+     * Creates a table with a given initial capacity and a value that is returned when there is no such key.
+     *
+     * @param initialCapacity initial array size
+     * @param missingValue    a value that is returned by get, put and remove when there is no such key
+     */
+    public LongHashTable(final int initialCapacity, final long missingValue) {
+        if(initialCapacity < 0) {
+            throw new IllegalArgumentException("Negative initialCapacity: " + initialCapacity);
+        }
+        final int capacity = tableSizeFor((int) Math.ceil(initialCapacity / RESIZE_THRESHOLD));
+        this.keys = new long[capacity];
+        this.values = new long[capacity];
+        this.missingValue = missingValue;
+    }
+
+    private static int tableSizeFor(final int capacity) {
+        if(capacity <= 2) {
+            return 2;
+        }
+        return capacity >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY : Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    private static int hash(final long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * Returns a value that is returned by get, put and remove when there is no such key.
+     *
+     * @return the missing value
+     */
+    public long missingValue() {
+        return missingValue;
+    }
+
+    /**
+     * Creates or updates a mapping for a given key and value.
+     *
+     * @param key
+     * @param value
+     * @return an old value or the missing value if there was no such key
+     */
+    public long put(final long key, final long value) {
+        if(key == FREE_KEY) {
+            final long oldValue = containsFreeKey ? freeKeyValue : missingValue;
+            if(!containsFreeKey) {
+                containsFreeKey = true;
+                size++;
+            }
+            freeKeyValue = value;
+            return oldValue;
+        }
+        final int index = findIndex(key);
+        if(keys[index] == key) {
+            final long oldValue = values[index];
+            values[index] = value;
+            return oldValue;
+        }
+        insertAt(index, key, value);
+        return missingValue;
+    }
+
+    /**
+     * Adds a given increment to the value of a given key. If there is no such key, it creates a mapping with
+     * the increment as a value. It makes counting possible with a single lookup.
+     *
+     * @param key
+     * @param increment
+     * @return a new value
+     */
+    public long addTo(final long key, final long increment) {
+        if(key == FREE_KEY) {
+            if(!containsFreeKey) {
+                containsFreeKey = true;
+                freeKeyValue = 0;
+                size++;
+            }
+            return freeKeyValue += increment;
+        }
+        final int index = findIndex(key);
+        if(keys[index] == key) {
+            return values[index] += increment;
+        }
+        insertAt(index, key, increment);
+        return increment;
+    }
+
+    private void insertAt(final int index, final long key, final long value) {
+        keys[index] = key;
+        values[index] = value;
+        size++;
+        if(size > keys.length * RESIZE_THRESHOLD) {
+            resizeTable(keys.length * 2);
+        }
+    }
+
+    /**
+     * Returns the index of the cell that stores a given key, or the index of the empty cell where it should be put.
+     */
+    private int findIndex(final long key) {
+        final int mask = keys.length - 1;
+        int index = hash(key) & mask;
+        while(keys[index] != FREE_KEY && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the value that is mapped to the given key. It never allocates.
+     *
+     * @param key
+     * @return the value that is mapped to the given key, or the missing value if there is no such key
+     */
+    public long get(final long key) {
+        return getOrDefault(key, missingValue);
+    }
+
+    /**
+     * Returns the value that is mapped to the given key, or a given default value if there is no such key.
+     *
+     * @param key
+     * @param defaultValue
+     * @return the value that is mapped to the given key, or the default value
+     */
+    public long getOrDefault(final long key, final long defaultValue) {
+        if(key == FREE_KEY) {
+            return containsFreeKey ? freeKeyValue : defaultValue;
+        }
+        final int index = findIndex(key);
+        return keys[index] == key ? values[index] : defaultValue;
+    }
+
+    public boolean containsKey(final long key) {
+        return key == FREE_KEY ? containsFreeKey : keys[findIndex(key)] == key;
+    }
+
+    public boolean containsValue(final long value) {
+        if(containsFreeKey && freeKeyValue == value) {
+            return true;
+        }
+        for(int i = 0; i < keys.length; i++) {
+            if(keys[i] != FREE_KEY && values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes a mapping for a given key. The following keys of the cluster are shifted back, so every key stays
+     * reachable from its home index.
+     *
+     * @param key
+     * @return a removed value or the missing value if there was no such key
+     */
+    public long remove(final long key) {
+        if(key == FREE_KEY) {
+            if(!containsFreeKey) {
+                return missingValue;
+            }
+            containsFreeKey = false;
+            size--;
+            return freeKeyValue;
+        }
+        final int index = findIndex(key);
+        if(keys[index] != key) {
+            return missingValue;
+        }
+        final long removedValue = values[index];
+        shiftKeys(index);
+        size--;
+        return removedValue;
+    }
+
+    private void shiftKeys(int emptyIndex) {
+        final int mask = keys.length - 1;
+        int index = emptyIndex;
+        while(true) {
+            index = (index + 1) & mask;
+            final long key = keys[index];
+            if(key == FREE_KEY) {
+                keys[emptyIndex] = FREE_KEY;
+                return;
+            }
+            final int homeIndex = hash(key) & mask;
+            final boolean canMove = emptyIndex <= index
+                    ? emptyIndex >= homeIndex || homeIndex > index
+                    : emptyIndex >= homeIndex && homeIndex > index;
+            if(canMove) {
+                keys[emptyIndex] = key;
+                values[emptyIndex] = values[index];
+                emptyIndex = index;
+            }
+        }
+    }
+
+    /**
+     * Creates new underlying arrays with a given capacity (rounded up to a power of two) and moves all entries there.
+     *
+     * @param newCapacity a size of the new underlying arrays
+     */
+    public void resizeTable(final int newCapacity) {
+        final int capacity = tableSizeFor(newCapacity);
+        if(size >= capacity) {
+            throw new IllegalArgumentException("Capacity " + newCapacity + " is too small for " + size + " entries");
+        }
+        final long[] oldKeys = keys;
+        final long[] oldValues = values;
+        keys = new long[capacity];
+        values = new long[capacity];
+        for(int i = 0; i < oldKeys.length; i++) {
+            if(oldKeys[i] != FREE_KEY) {
+                final int index = findIndex(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+}
@@ -1,5 +1,10 @@
 package com.bobocode.cs;
 
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
 /**
  * A {@link Map} is a simplified interface of so-called dictionary. It maps keys to values and provides an API for data
  * access and manipulation. Please note that a map does not support duplicate keys.
@@ -66,4 +71,89 @@ public interface Map<K, V> {
      * @return a removed value or null
      */
     V remove(K key);
+
+    /**
+     * Creates a mapping for a given key and value only if there is no such key yet.
+     *
+     * @param key
+     * @param value
+     * @return the current value or null if there was no such key
+     */
+    default V putIfAbsent(K key, V value) {
+        final V currentValue = get(key);
+        return currentValue == null ? put(key, value) : currentValue;
+    }
+
+    /**
+     * If there is no such key, it computes a value using a given function and creates a mapping for it. If the function
+     * returns null, no mapping is created.
+     *
+     * @param key
+     * @param mappingFunction a function that computes a value by the key
+     * @return the current (existing or computed) value, or null
+     */
+    default V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        requireNonNull(mappingFunction);
+        return compute(key, (k, oldValue) -> oldValue == null ? mappingFunction.apply(k) : oldValue);
+    }
+
+    /**
+     * If the key exists, it computes a new value using a given function and the old value. If the function returns
+     * null, the mapping is removed.
+     *
+     * @param key
+     * @param remappingFunction a function that computes a new value by the key and the old value
+     * @return the new value or null
+     */
+    default V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        requireNonNull(remappingFunction);
+        return compute(key, (k, oldValue) -> oldValue == null ? null : remappingFunction.apply(k, oldValue));
+    }
+
+    /**
+     * Computes a new value using a given function, the key and the old value (or null if there is no such key).
+     * If the function returns null, the mapping is removed (or not created).
+     *
+     * @param key
+     * @param remappingFunction a function that computes a new value by the key and the old value
+     * @return the new value or null
+     */
+    default V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        requireNonNull(remappingFunction);
+        final V oldValue = get(key);
+        final V newValue = remappingFunction.apply(key, oldValue);
+        if(newValue != null) {
+            put(key, newValue);
+        } else if(oldValue != null) {
+            remove(key);
+        }
+        return newValue;
+    }
+
+    /**
+     * If there is no such key, it creates a mapping for a given value. Otherwise, it combines the old value and
+     * the given one using a given function. If the function returns null, the mapping is removed.
+     *
+     * @param key
+     * @param value             a value to put or to combine with the old one
+     * @param remappingFunction a function that combines the old value and the given one
+     * @return the new value or null
+     */
+    default V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        requireNonNull(value);
+        requireNonNull(remappingFunction);
+        return compute(key, (k, oldValue) -> oldValue == null ? value : remappingFunction.apply(oldValue, value));
+    }
+
+    /**
+     * A key-value pair that is stored in a map.
+     *
+     * @param <K> key type
+     * @param <V> value type
+     */
+    interface Entry<K, V> {
+        K getKey();
+
+        V getValue();
+    }
 }
@@ -0,0 +1,505 @@
+package com.bobocode.cs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link MappedHashTable} is a read-only implementation of {@link Map} over a snapshot file. A snapshot is written
+ * once by {@link #write(HashTable, Path, Codec, Codec)}, and it is opened by {@link #open(Path, Codec, Codec)} through
+ * {@link FileChannel#map}. Opening does not read the entries at all, so it takes the same time for any number of them.
+ * The OS loads the pages of the file lazily, when a lookup touches them, and {@link #warmUp()} can load them in
+ * the background in advance.
+ * <p>
+ * Keys and values are stored as bytes produced by a {@link Codec}. The file has three parts:
+ * <ul>
+ *     <li>a header with the format version, the number of entries and the positions of other parts</li>
+ *     <li>entries, each of them is a key length, a value length, key bytes and value bytes</li>
+ *     <li>an index, which is an open addressing table of entry hashes and entry positions</li>
+ * </ul>
+ * A lookup encodes the key, probes the index and compares the key bytes right in the mapped file, so it decodes only
+ * the found value, from a view of the file without copying. The hash is calculated from the key bytes, not from
+ * {@link Object#hashCode()}, so the file does not depend on the JVM that has written it.
+ * <p>
+ * A single mapped buffer cannot be larger than 2GB, so the file is mapped by regions of 1GB. An entry never crosses
+ * a region boundary: if it does not fit into the rest of a region, the rest is skipped.
+ * <p>
+ * The table must be closed once it is no longer needed. A mapping is released when its buffer is collected.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class MappedHashTable<K, V> implements Map<K, V>, AutoCloseable {
+
+    private static final int MAGIC = 0x42485431;
+    private static final int VERSION = 1;
+    private static final int DEFAULT_REGION_SIZE = 1 << 30;
+    private static final int HEADER_SIZE = 64;
+    private static final int ENTRY_HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int REGION_END = -1;
+    private static final float LOAD_FACTOR = 0.5f;
+    private static final long EMPTY = 0;
+
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+    private final FileChannel channel;
+    private final Regions regions;
+    private final int size;
+    private final int slotCount;
+    private final long dataEnd;
+    private final long hashesOffset;
+    private final long positionsOffset;
+    private boolean closed;
+
+    private MappedHashTable(final Codec<K> keyCodec, final Codec<V> valueCodec, final FileChannel channel)
+            throws IOException {
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.channel = channel;
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        channel.read(header, 0);
+        header.flip();
+        if(header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+            throw new SnapshotException("Not a snapshot file");
+        }
+        final int version = header.getInt();
+        if(version != VERSION) {
+            throw new SnapshotException("Unsupported snapshot version: " + version);
+        }
+        final int regionSize = header.getInt();
+        this.size = header.getInt();
+        this.slotCount = header.getInt();
+        header.getInt();
+        this.dataEnd = header.getLong();
+        this.hashesOffset = header.getLong();
+        this.positionsOffset = header.getLong();
+        this.regions = new Regions(channel, FileChannel.MapMode.READ_ONLY, channel.size(), regionSize);
+    }
+
+    /**
+     * Writes all the entries of a given table into a snapshot file. An existing file is replaced.
+     *
+     * @param table      a table to write
+     * @param file       a snapshot file
+     * @param keyCodec   a codec for keys
+     * @param valueCodec a codec for values
+     * @param <K>        key type
+     * @param <V>        value type
+     * @throws SnapshotException if the file cannot be written
+     */
+    public static <K, V> void write(final HashTable<K, V> table, final Path file, final Codec<K> keyCodec,
+                                    final Codec<V> valueCodec) {
+        write(table, file, keyCodec, valueCodec, DEFAULT_REGION_SIZE);
+    }
+
+    static <K, V> void write(final HashTable<K, V> table, final Path file, final Codec<K> keyCodec,
+                             final Codec<V> valueCodec, final int regionSize) {
+        requireNonNull(table);
+        requireNonNull(keyCodec);
+        requireNonNull(valueCodec);
+        try(final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final long dataEnd = writeEntries(table, channel, keyCodec, valueCodec, regionSize);
+            final int slotCount = slotCountFor(table.size());
+            final long hashesOffset = align(dataEnd, Long.BYTES);
+            final long positionsOffset = hashesOffset + (long) slotCount * Integer.BYTES;
+            final long fileSize = positionsOffset + (long) slotCount * Long.BYTES;
+            channel.write(ByteBuffer.allocate(1), fileSize - 1);
+            final Regions regions = new Regions(channel, FileChannel.MapMode.READ_WRITE, fileSize, regionSize);
+            writeIndex(regions, dataEnd, slotCount, hashesOffset, positionsOffset);
+            regions.force();
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putInt(regionSize)
+                    .putInt(table.size())
+                    .putInt(slotCount)
+                    .putInt(0)
+                    .putLong(dataEnd)
+                    .putLong(hashesOffset)
+                    .putLong(positionsOffset);
+            header.clear();
+            channel.write(header, 0);
+            channel.force(true);
+        } catch(IOException e) {
+            throw new SnapshotException("Snapshot " + file + " cannot be written", e);
+        }
+    }
+
+    /**
+     * Appends the entries after the header through a buffer. If an entry does not fit into the rest of a region,
+     * the rest is marked as skipped, and the entry is written at the beginning of the next region.
+     *
+     * @return the end of the entries
+     */
+    private static <K, V> long writeEntries(final HashTable<K, V> table, final FileChannel channel,
+                                            final Codec<K> keyCodec, final Codec<V> valueCodec,
+                                            final int regionSize) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        long position = HEADER_SIZE;
+        long bufferPosition = position;
+        final Iterator<Map.Entry<K, V>> iterator = table.entryIterator();
+        while(iterator.hasNext()) {
+            final Map.Entry<K, V> entry = iterator.next();
+            final byte[] keyBytes = keyCodec.encode(entry.getKey());
+            final byte[] valueBytes = valueCodec.encode(entry.getValue());
+            final long entrySize = ENTRY_HEADER_SIZE + (long) keyBytes.length + valueBytes.length;
+            if(entrySize > regionSize - HEADER_SIZE) {
+                throw new SnapshotException("Entry of " + entrySize + " bytes does not fit into a region");
+            }
+            final long regionRest = regionSize - position % regionSize;
+            if(entrySize > regionRest) {
+                if(regionRest >= Integer.BYTES) {
+                    bufferPosition = flushIfFull(channel, buffer, bufferPosition, Integer.BYTES);
+                    buffer.putInt(REGION_END);
+                }
+                position += regionRest;
+                bufferPosition = flush(channel, buffer, bufferPosition);
+                bufferPosition = position;
+            }
+            bufferPosition = flushIfFull(channel, buffer, bufferPosition, ENTRY_HEADER_SIZE);
+            buffer.putInt(keyBytes.length).putInt(valueBytes.length);
+            bufferPosition = put(channel, buffer, bufferPosition, keyBytes);
+            bufferPosition = put(channel, buffer, bufferPosition, valueBytes);
+            position += entrySize;
+        }
+        flush(channel, buffer, bufferPosition);
+        return position;
+    }
+
+    private static long put(final FileChannel channel, final ByteBuffer buffer, long bufferPosition,
+                            final byte[] bytes) throws IOException {
+        int offset = 0;
+        while(offset < bytes.length) {
+            bufferPosition = flushIfFull(channel, buffer, bufferPosition, 1);
+            final int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+        return bufferPosition;
+    }
+
+    private static long flushIfFull(final FileChannel channel, final ByteBuffer buffer, final long bufferPosition,
+                                    final int requiredBytes) throws IOException {
+        return buffer.remaining() < requiredBytes ? flush(channel, buffer, bufferPosition) : bufferPosition;
+    }
+
+    /**
+     * Writes the buffer at a given file position.
+     *
+     * @return the file position of the next buffer
+     */
+    private static long flush(final FileChannel channel, final ByteBuffer buffer, long bufferPosition)
+            throws IOException {
+        buffer.flip();
+        while(buffer.hasRemaining()) {
+            bufferPosition += channel.write(buffer, bufferPosition);
+        }
+        buffer.clear();
+        return bufferPosition;
+    }
+
+    /**
+     * Reads the entries back from the mapped file and puts their positions into the index, so the writer does not
+     * keep anything per entry in memory.
+     */
+    private static void writeIndex(final Regions regions, final long dataEnd, final int slotCount,
+                                   final long hashesOffset, final long positionsOffset) {
+        final int mask = slotCount - 1;
+        long position = HEADER_SIZE;
+        while((position = regions.nextEntry(position, dataEnd)) < dataEnd) {
+            final int keyLength = regions.getInt(position);
+            final int valueLength = regions.getInt(position + Integer.BYTES);
+            final int hash = regions.hashBytes(position + ENTRY_HEADER_SIZE, keyLength);
+            int slot = hash & mask;
+            while(regions.getLong(positionsOffset + (long) slot * Long.BYTES) != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            regions.putInt(hashesOffset + (long) slot * Integer.BYTES, hash);
+            regions.putLong(positionsOffset + (long) slot * Long.BYTES, position);
+            position += ENTRY_HEADER_SIZE + (long) keyLength + valueLength;
+        }
+    }
+
+    private static int slotCountFor(final int size) {
+        final long capacity = Math.max(2, (long) Math.ceil(size / LOAD_FACTOR));
+        if(capacity > 1 << 30) {
+            throw new SnapshotException("Too many entries: " + size);
+        }
+        return Integer.highestOneBit((int) capacity - 1) << 1;
+    }
+
+    private static long align(final long position, final int alignment) {
+        return (position + alignment - 1) / alignment * alignment;
+    }
+
+    /**
+     * Opens a snapshot file. It maps the file, but it does not read the entries.
+     *
+     * @param file       a snapshot file
+     * @param keyCodec   a codec for keys, the same as the one it was written with
+     * @param valueCodec a codec for values, the same as the one it was written with
+     * @param <K>        key type
+     * @param <V>        value type
+     * @return a read-only table
+     * @throws SnapshotException if the file cannot be read or it is not a snapshot
+     */
+    public static <K, V> MappedHashTable<K, V> open(final Path file, final Codec<K> keyCodec,
+                                                    final Codec<V> valueCodec) {
+        requireNonNull(keyCodec);
+        requireNonNull(valueCodec);
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            return new MappedHashTable<>(keyCodec, valueCodec, channel);
+        } catch(IOException | SnapshotException e) {
+            closeQuietly(channel);
+            if(e instanceof SnapshotException snapshotException) {
+                throw snapshotException;
+            }
+            throw new SnapshotException("Snapshot " + file + " cannot be opened", e);
+        }
+    }
+
+    private static void closeQuietly(final FileChannel channel) {
+        if(channel != null) {
+            try {
+                channel.close();
+            } catch(IOException ignored) {
+                // the original exception is more important
+            }
+        }
+    }
+
+    /**
+     * Loads all the pages of the file into memory in a background thread, so the first lookups do not wait for
+     * the disk.
+     *
+     * @return a future that is completed once the file is loaded
+     */
+    public CompletableFuture<Void> warmUp() {
+        ensureOpen();
+        return CompletableFuture.runAsync(regions::load);
+    }
+
+    private void ensureOpen() {
+        if(closed) {
+            throw new IllegalStateException("Table is closed");
+        }
+    }
+
+    /**
+     * Returns the position of the entry of a given key, or -1 if there is no such key.
+     */
+    private long findEntry(final byte[] keyBytes) {
+        final int hash = OffHeapHashTable.hashBytes(keyBytes);
+        final int mask = slotCount - 1;
+        int slot = hash & mask;
+        long position;
+        while((position = regions.getLong(positionsOffset + (long) slot * Long.BYTES)) != EMPTY) {
+            if(regions.getInt(hashesOffset + (long) slot * Integer.BYTES) == hash
+                    && regions.getInt(position) == keyBytes.length
+                    && regions.equalsBytes(position + ENTRY_HEADER_SIZE, keyBytes)) {
+                return position;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the value that is mapped to the given key. The value is decoded from a view of the mapped file.
+     *
+     * @param key
+     * @return the value that is mapped to the given key, or null if there is no such key
+     */
+    @Override
+    public V get(K key) {
+        ensureOpen();
+        final byte[] keyBytes = keyCodec.encode(requireNonNull(key));
+        final long position = findEntry(keyBytes);
+        return position < 0 ? null : decodeValue(position);
+    }
+
+    private V decodeValue(final long position) {
+        final int keyLength = regions.getInt(position);
+        final int valueLength = regions.getInt(position + Integer.BYTES);
+        return valueCodec.decode(regions.slice(position + ENTRY_HEADER_SIZE + keyLength, valueLength));
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        ensureOpen();
+        return findEntry(keyCodec.encode(requireNonNull(key))) >= 0;
+    }
+
+    /**
+     * Checks if the table contains a given value. It compares the encoded value with every stored one byte by byte,
+     * so it does not decode anything.
+     *
+     * @param value
+     * @return true is there is such value in the table or false otherwise
+     */
+    @Override
+    public boolean containsValue(V value) {
+        ensureOpen();
+        final byte[] valueBytes = valueCodec.encode(requireNonNull(value));
+        long position = HEADER_SIZE;
+        while((position = regions.nextEntry(position, dataEnd)) < dataEnd) {
+            final int keyLength = regions.getInt(position);
+            final int valueLength = regions.getInt(position + Integer.BYTES);
+            if(valueLength == valueBytes.length
+                    && regions.equalsBytes(position + ENTRY_HEADER_SIZE + keyLength, valueBytes)) {
+                return true;
+            }
+            position += ENTRY_HEADER_SIZE + (long) keyLength + valueLength;
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * A snapshot is read-only, so this method always throws an exception.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public V put(K key, V value) {
+        throw new UnsupportedOperationException("MappedHashTable is read-only");
+    }
+
+    /**
+     * A snapshot is read-only, so this method always throws an exception.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public V remove(K key) {
+        throw new UnsupportedOperationException("MappedHashTable is read-only");
+    }
+
+    /**
+     * Closes the file. The mapped regions are released once they are collected.
+     */
+    @Override
+    public void close() {
+        if(!closed) {
+            closed = true;
+            regions.clear();
+            closeQuietly(channel);
+        }
+    }
+
+    /**
+     * Maps a file by regions of a fixed size and reads values at absolute file positions. A value must not cross
+     * a region boundary, which is true for entry headers and index cells, since entries never cross a region and
+     * index cells are aligned.
+     */
+    private static final class Regions {
+        private final MappedByteBuffer[] buffers;
+        private final int regionSize;
+
+        Regions(final FileChannel channel, final FileChannel.MapMode mode, final long fileSize,
+                final int regionSize) throws IOException {
+            this.regionSize = regionSize;
+            this.buffers = new MappedByteBuffer[(int) ((fileSize + regionSize - 1) / regionSize)];
+            for(int i = 0; i < buffers.length; i++) {
+                final long start = (long) i * regionSize;
+                buffers[i] = channel.map(mode, start, Math.min(regionSize, fileSize - start));
+            }
+        }
+
+        private MappedByteBuffer region(final long position) {
+            return buffers[(int) (position / regionSize)];
+        }
+
+        private int offset(final long position) {
+            return (int) (position % regionSize);
+        }
+
+        int getInt(final long position) {
+            return region(position).getInt(offset(position));
+        }
+
+        long getLong(final long position) {
+            return region(position).getLong(offset(position));
+        }
+
+        void putInt(final long position, final int value) {
+            region(position).putInt(offset(position), value);
+        }
+
+        void putLong(final long position, final long value) {
+            region(position).putLong(offset(position), value);
+        }
+
+        ByteBuffer slice(final long position, final int length) {
+            return region(position).slice(offset(position), length);
+        }
+
+        boolean equalsBytes(final long position, final byte[] bytes) {
+            final MappedByteBuffer region = region(position);
+            final int offset = offset(position);
+            for(int i = 0; i < bytes.length; i++) {
+                if(region.get(offset + i) != bytes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int hashBytes(final long position, final int length) {
+            final byte[] bytes = new byte[length];
+            region(position).get(offset(position), bytes);
+            return OffHeapHashTable.hashBytes(bytes);
+        }
+
+        /**
+         * Returns the position of the entry that starts at or after a given position, skipping the rest of a region
+         * that is too small for an entry header or is marked as skipped.
+         */
+        long nextEntry(final long position, final long dataEnd) {
+            if(position >= dataEnd) {
+                return dataEnd;
+            }
+            final long regionRest = regionSize - position % regionSize;
+            if(regionRest < ENTRY_HEADER_SIZE || getInt(position) == REGION_END) {
+                return position + regionRest;
+            }
+            return position;
+        }
+
+        void load() {
+            for(final MappedByteBuffer buffer : buffers) {
+                buffer.load();
+            }
+        }
+
+        void force() {
+            for(final MappedByteBuffer buffer : buffers) {
+                buffer.force();
+            }
+        }
+
+        void clear() {
+            Arrays.fill(buffers, null);
+        }
+    }
+}
@@ -0,0 +1,404 @@
+package com.bobocode.cs;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link OffHeapHashTable} is an implementation of {@link Map} interface that stores keys and values outside the Java
+ * heap. Keys and values are converted to bytes by a {@link Codec} and appended to direct {@link ByteBuffer} chunks
+ * (an arena). The heap keeps only a compact index: two flat arrays with the hash and the arena address of every entry.
+ * So the garbage collector does not have to trace the entries, no matter how many of them there are.
+ * <p>
+ * An entry is stored as its key length, value length, key bytes and value bytes. Keys are compared byte by byte right
+ * in the arena, so a lookup decodes only the found value. A collision in the index is resolved by probing the next
+ * array cell (linear probing), and a removal shifts the following entries of a cluster back.
+ * <p>
+ * The first chunk is small, and every next chunk is twice as large up to a maximum chunk size, so a small table does
+ * not reserve much memory. An entry that does not fit into the rest of the current chunk goes to a new one.
+ * <p>
+ * Removed and replaced entries leave garbage in the arena, and so does the rest of a chunk that is left behind. Once
+ * there is more garbage than live data, the live entries are copied into a new arena (compaction).
+ * <p>
+ * The table must be closed once it is no longer needed. A closed table drops all its chunks and refuses any further
+ * call. The memory of a direct buffer is returned to the OS when the buffer object itself is collected.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class OffHeapHashTable<K, V> implements Map<K, V>, AutoCloseable {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+    private static final int INITIAL_CHUNK_SIZE = 64 * 1024;
+    private static final int DEFAULT_MAX_CHUNK_SIZE = 64 * 1024 * 1024;
+    private static final float RESIZE_THRESHOLD = 0.75f;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+    private static final long EMPTY = -1L;
+
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+    private final int initialChunkSize;
+    private final int maxChunkSize;
+
+    private long[] addresses;
+    private int[] hashes;
+    private int size;
+
+    private List<ByteBuffer> chunks = new ArrayList<>();
+    private int nextChunkSize;
+    private long liveBytes;
+    private long garbageBytes;
+    private boolean closed;
+
+    public OffHeapHashTable(final Codec<K> keyCodec, final Codec<V> valueCodec) {
+        this(keyCodec, valueCodec, DEFAULT_INITIAL_CAPACITY, DEFAULT_MAX_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a table with given codecs, initial index capacity and the maximum size of a single off-heap chunk.
+     * The first chunk takes 64 KB, or the maximum size if it is smaller, and every next chunk is twice as large.
+     *
+     * @param keyCodec        a codec for keys
+     * @param valueCodec      a codec for values
+     * @param initialCapacity initial index size
+     * @param maxChunkSize    the maximum size of a single direct buffer of the arena in bytes
+     */
+    public OffHeapHashTable(final Codec<K> keyCodec, final Codec<V> valueCodec, final int initialCapacity,
+                            final int maxChunkSize) {
+        if(initialCapacity < 0) {
+            throw new IllegalArgumentException("Negative initialCapacity: " + initialCapacity);
+        }
+        if(maxChunkSize < HEADER_SIZE) {
+            throw new IllegalArgumentException("Chunk size is too small: " + maxChunkSize);
+        }
+        this.keyCodec = requireNonNull(keyCodec);
+        this.valueCodec = requireNonNull(valueCodec);
+        this.initialChunkSize = Math.min(INITIAL_CHUNK_SIZE, maxChunkSize);
+        this.maxChunkSize = maxChunkSize;
+        this.nextChunkSize = initialChunkSize;
+        allocateIndex(tableSizeFor((int) Math.ceil(initialCapacity / RESIZE_THRESHOLD)));
+    }
+
+    private static int tableSizeFor(final int capacity) {
+        if(capacity <= 2) {
+            return 2;
+        }
+        return capacity >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY : Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    private void allocateIndex(final int capacity) {
+        addresses = new long[capacity];
+        hashes = new int[capacity];
+        Arrays.fill(addresses, EMPTY);
+    }
+
+    /**
+     * Calculates a hash of encoded bytes. Equal bytes always produce the same hash, so it is consistent with the way
+     * keys are compared.
+     */
+    static int hashBytes(final byte[] bytes) {
+        final int hash = Arrays.hashCode(bytes) * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int chunkIndex(final long address) {
+        return (int) (address >>> 32);
+    }
+
+    private static int chunkOffset(final long address) {
+        return (int) address;
+    }
+
+    private void checkNotClosed() {
+        if(closed) {
+            throw new IllegalStateException("Table is closed");
+        }
+    }
+
+    /**
+     * Creates or updates a mapping for a given key and value. A new value of the same length overwrites the old one
+     * in place. Otherwise, a new entry is appended to the arena.
+     *
+     * @param key
+     * @param value
+     * @return old value or null
+     */
+    @Override
+    public V put(K key, V value) {
+        checkNotClosed();
+        final byte[] keyBytes = keyCodec.encode(requireNonNull(key));
+        final byte[] valueBytes = valueCodec.encode(requireNonNull(value));
+        final int hash = hashBytes(keyBytes);
+        final int index = findIndex(keyBytes, hash);
+        if(addresses[index] != EMPTY) {
+            final long address = addresses[index];
+            final V oldValue = decodeValue(address);
+            final ByteBuffer chunk = chunks.get(chunkIndex(address));
+            final int offset = chunkOffset(address);
+            if(chunk.getInt(offset + Integer.BYTES) == valueBytes.length) {
+                chunk.put(offset + HEADER_SIZE + keyBytes.length, valueBytes);
+            } else {
+                releaseEntry(address);
+                addresses[index] = appendEntry(keyBytes, valueBytes);
+            }
+            compactIfNeeded();
+            return oldValue;
+        }
+        addresses[index] = appendEntry(keyBytes, valueBytes);
+        hashes[index] = hash;
+        size++;
+        if(size > addresses.length * RESIZE_THRESHOLD) {
+            resizeIndex(addresses.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the index of the cell that refers to a given key, or the index of the empty cell where it should be put.
+     */
+    private int findIndex(final byte[] keyBytes, final int hash) {
+        final int mask = addresses.length - 1;
+        int index = hash & mask;
+        while(addresses[index] != EMPTY && (hashes[index] != hash || !keyEquals(addresses[index], keyBytes))) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private boolean keyEquals(final long address, final byte[] keyBytes) {
+        final ByteBuffer chunk = chunks.get(chunkIndex(address));
+        final int offset = chunkOffset(address);
+        if(chunk.getInt(offset) != keyBytes.length) {
+            return false;
+        }
+        final int keyOffset = offset + HEADER_SIZE;
+        for(int i = 0; i < keyBytes.length; i++) {
+            if(chunk.get(keyOffset + i) != keyBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int entrySize(final ByteBuffer chunk, final int offset) {
+        return HEADER_SIZE + chunk.getInt(offset) + chunk.getInt(offset + Integer.BYTES);
+    }
+
+    private V decodeValue(final long address) {
+        final ByteBuffer chunk = chunks.get(chunkIndex(address));
+        final int offset = chunkOffset(address);
+        final int keyLength = chunk.getInt(offset);
+        final int valueLength = chunk.getInt(offset + Integer.BYTES);
+        final int valueOffset = offset + HEADER_SIZE + keyLength;
+        return valueCodec.decode(chunk.slice(valueOffset, valueLength));
+    }
+
+    /**
+     * Appends an entry to the last chunk. If it does not fit, the rest of the chunk becomes garbage and the entry goes
+     * to a new chunk.
+     */
+    private long appendEntry(final byte[] keyBytes, final byte[] valueBytes) {
+        final int entrySize = HEADER_SIZE + keyBytes.length + valueBytes.length;
+        ByteBuffer chunk = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+        if(chunk == null || chunk.remaining() < entrySize) {
+            if(chunk != null) {
+                garbageBytes += chunk.remaining();
+            }
+            chunk = ByteBuffer.allocateDirect(Math.max(nextChunkSize, entrySize));
+            chunks.add(chunk);
+            nextChunkSize = (int) Math.min((long) nextChunkSize * 2, maxChunkSize);
+        }
+        final int offset = chunk.position();
+        chunk.putInt(keyBytes.length).putInt(valueBytes.length).put(keyBytes).put(valueBytes);
+        liveBytes += entrySize;
+        return ((long) (chunks.size() - 1) << 32) | offset;
+    }
+
+    private void releaseEntry(final long address) {
+        final int entrySize = entrySize(chunks.get(chunkIndex(address)), chunkOffset(address));
+        liveBytes -= entrySize;
+        garbageBytes += entrySize;
+    }
+
+    /**
+     * Retrieves a value by the given key. The key is encoded and compared with the stored keys in place, and only
+     * the value of the found entry is decoded.
+     *
+     * @param key
+     * @return value stored in the table by the given key or null if there is no such key
+     */
+    @Override
+    public V get(K key) {
+        checkNotClosed();
+        final byte[] keyBytes = keyCodec.encode(key);
+        final int index = findIndex(keyBytes, hashBytes(keyBytes));
+        return addresses[index] == EMPTY ? null : decodeValue(addresses[index]);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        checkNotClosed();
+        final byte[] keyBytes = keyCodec.encode(key);
+        return addresses[findIndex(keyBytes, hashBytes(keyBytes))] != EMPTY;
+    }
+
+    /**
+     * Checks if the table contains a given value. The value is encoded once and compared with the stored values byte
+     * by byte, so nothing is decoded.
+     *
+     * @param value
+     * @return true is there is such value in the table or false otherwise
+     */
+    @Override
+    public boolean containsValue(V value) {
+        checkNotClosed();
+        final byte[] valueBytes = valueCodec.encode(value);
+        for(final long address : addresses) {
+            if(address != EMPTY && valueEquals(address, valueBytes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean valueEquals(final long address, final byte[] valueBytes) {
+        final ByteBuffer chunk = chunks.get(chunkIndex(address));
+        final int offset = chunkOffset(address);
+        if(chunk.getInt(offset + Integer.BYTES) != valueBytes.length) {
+            return false;
+        }
+        final int valueOffset = offset + HEADER_SIZE + chunk.getInt(offset);
+        for(int i = 0; i < valueBytes.length; i++) {
+            if(chunk.get(valueOffset + i) != valueBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes a mapping for a given key and returns a removed value. The space of the entry becomes garbage until
+     * the next compaction.
+     *
+     * @param key
+     * @return a removed value or null
+     */
+    @Override
+    public V remove(K key) {
+        checkNotClosed();
+        final byte[] keyBytes = keyCodec.encode(key);
+        int index = findIndex(keyBytes, hashBytes(keyBytes));
+        if(addresses[index] == EMPTY) {
+            return null;
+        }
+        final V removedValue = decodeValue(addresses[index]);
+        releaseEntry(addresses[index]);
+        shiftEntries(index);
+        size--;
+        compactIfNeeded();
+        return removedValue;
+    }
+
+    private void shiftEntries(int emptyIndex) {
+        final int mask = addresses.length - 1;
+        int index = emptyIndex;
+        while(true) {
+            index = (index + 1) & mask;
+            if(addresses[index] == EMPTY) {
+                addresses[emptyIndex] = EMPTY;
+                return;
+            }
+            final int homeIndex = hashes[index] & mask;
+            final boolean canMove = emptyIndex <= index
+                    ? emptyIndex >= homeIndex || homeIndex > index
+                    : emptyIndex >= homeIndex && homeIndex > index;
+            if(canMove) {
+                addresses[emptyIndex] = addresses[index];
+                hashes[emptyIndex] = hashes[index];
+                emptyIndex = index;
+            }
+        }
+    }
+
+    private void resizeIndex(final int newCapacity) {
+        final long[] oldAddresses = addresses;
+        final int[] oldHashes = hashes;
+        allocateIndex(newCapacity);
+        final int mask = newCapacity - 1;
+        for(int i = 0; i < oldAddresses.length; i++) {
+            if(oldAddresses[i] != EMPTY) {
+                int index = oldHashes[i] & mask;
+                while(addresses[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                addresses[index] = oldAddresses[i];
+                hashes[index] = oldHashes[i];
+            }
+        }
+    }
+
+    private void compactIfNeeded() {
+        if(garbageBytes > liveBytes && garbageBytes >= initialChunkSize) {
+            compact();
+        }
+    }
+
+    /**
+     * Copies all live entries into a new arena and drops the old chunks together with the garbage.
+     */
+    private void compact() {
+        final List<ByteBuffer> oldChunks = chunks;
+        chunks = new ArrayList<>();
+        nextChunkSize = initialChunkSize;
+        liveBytes = 0;
+        garbageBytes = 0;
+        for(int i = 0; i < addresses.length; i++) {
+            if(addresses[i] != EMPTY) {
+                final ByteBuffer oldChunk = oldChunks.get(chunkIndex(addresses[i]));
+                final int offset = chunkOffset(addresses[i]);
+                final byte[] keyBytes = new byte[oldChunk.getInt(offset)];
+                final byte[] valueBytes = new byte[oldChunk.getInt(offset + Integer.BYTES)];
+                oldChunk.get(offset + HEADER_SIZE, keyBytes);
+                oldChunk.get(offset + HEADER_SIZE + keyBytes.length, valueBytes);
+                addresses[i] = appendEntry(keyBytes, valueBytes);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of off-heap bytes that are currently allocated by the arena.
+     *
+     * @return allocated off-heap bytes
+     */
+    public long allocatedBytes() {
+        return chunks.stream().mapToLong(ByteBuffer::capacity).sum();
+    }
+
+    /**
+     * Drops the arena and the index. The table cannot be used afterwards.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        chunks = new ArrayList<>();
+        addresses = new long[0];
+        hashes = new int[0];
+        size = 0;
+        liveBytes = 0;
+        garbageBytes = 0;
+    }
+}
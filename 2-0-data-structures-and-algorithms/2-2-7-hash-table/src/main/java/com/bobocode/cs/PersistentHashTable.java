@@ -0,0 +1,642 @@
+package com.bobocode.cs;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link PersistentHashTable} is an immutable implementation of {@link Map} based on a hash array mapped trie (HAMT).
+ * Instead of modifying the table, {@link #plus(Object, Object)} and {@link #minus(Object)} return its new version.
+ * The old version stays valid and unchanged, so it can be shared by any number of readers without copying.
+ * <p>
+ * The trie consumes a key hash by 5 bits at a time, so every node has up to 32 children, and the trie is at most
+ * 7 levels deep. A node stores only the children that exist, in a compact array, and a 32-bit bitmap tells which of
+ * them are present. An index in the array is the number of bits set below the bit of the child
+ * ({@link Integer#bitCount(int)}). Entries are stored inline at the beginning of the array, and child nodes at its end
+ * (CHAMP layout), so a lookup can tell them apart without type checks.
+ * <p>
+ * A new version copies only the path from the root to the changed node, which is O(log32 n) small arrays, and shares
+ * all other nodes with the old version.
+ * <p>
+ * Building a large table this way would copy the path for every entry, so there is a {@link Transient} mode for
+ * batches. A transient table owns the nodes it creates and modifies them in place, and nodes of other versions are
+ * still copied before the first modification. Once the batch is done, {@link Transient#persistent()} turns it back
+ * into a persistent table in O(1).
+ * <p>
+ * Keys that have exactly the same hash are stored in a collision node at the bottom of the trie.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public final class PersistentHashTable<K, V> implements Map<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final int HASH_LENGTH = 32;
+
+    private static final PersistentHashTable<?, ?> EMPTY = new PersistentHashTable<>(BitmapNode.EMPTY, 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentHashTable(final Node root, final int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Returns an empty table.
+     *
+     * @param <K> key type
+     * @param <V> value type
+     * @return an empty table
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashTable<K, V> empty() {
+        return (PersistentHashTable<K, V>) EMPTY;
+    }
+
+    /**
+     * Returns a new version of the table that maps a given key to a given value. This table is not changed.
+     *
+     * @param key
+     * @param value
+     * @return a new version of the table, or this table if the key is already mapped to the same value
+     */
+    public PersistentHashTable<K, V> plus(final K key, final V value) {
+        requireNonNull(key);
+        requireNonNull(value);
+        final Change change = new Change();
+        final Node newRoot = root.put(null, key, value, HashTable.hash(key), 0, change);
+        if(newRoot == root) {
+            return this;
+        }
+        return new PersistentHashTable<>(newRoot, change.added ? size + 1 : size);
+    }
+
+    /**
+     * Returns a new version of the table without a given key. This table is not changed.
+     *
+     * @param key
+     * @return a new version of the table, or this table if there is no such key
+     */
+    public PersistentHashTable<K, V> minus(final K key) {
+        requireNonNull(key);
+        final Change change = new Change();
+        final Node newRoot = root.remove(null, key, HashTable.hash(key), 0, change);
+        if(newRoot == root) {
+            return this;
+        }
+        return new PersistentHashTable<>(newRoot, size - 1);
+    }
+
+    /**
+     * Returns a mutable copy of the table. It is created in O(1), and it copies the nodes lazily, when they are
+     * modified for the first time.
+     *
+     * @return a transient table with the same entries
+     */
+    public Transient<K, V> asTransient() {
+        return new Transient<>(root, size);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        return (V) root.find(key, HashTable.hash(key), 0);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public boolean containsValue(V value) {
+        return root.containsValue(value);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Performs a given action for each key and value in the table.
+     *
+     * @param action an action to perform for each key and value
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(final BiConsumer<? super K, ? super V> action) {
+        requireNonNull(action);
+        root.forEach((BiConsumer<Object, Object>) action);
+    }
+
+    /**
+     * The table is immutable, so this method always throws an exception. Use {@link #plus(Object, Object)} instead.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public V put(K key, V value) {
+        throw new UnsupportedOperationException("PersistentHashTable is immutable, use plus instead");
+    }
+
+    /**
+     * The table is immutable, so this method always throws an exception. Use {@link #minus(Object)} instead.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public V remove(K key) {
+        throw new UnsupportedOperationException("PersistentHashTable is immutable, use minus instead");
+    }
+
+    /**
+     * A mutable version of {@link PersistentHashTable} for building a table with a batch of changes. It is not
+     * thread-safe, and it cannot be used after {@link #persistent()} is called.
+     *
+     * @param <K> key type
+     * @param <V> value type
+     */
+    public static final class Transient<K, V> implements Map<K, V> {
+        private Object owner = new Object();
+        private Node root;
+        private int size;
+
+        private Transient(final Node root, final int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        /**
+         * Returns a persistent table with the entries of this transient table in O(1). The transient table cannot be
+         * used afterwards, because its nodes now belong to the persistent table.
+         *
+         * @return a persistent table
+         */
+        public PersistentHashTable<K, V> persistent() {
+            ensureEditable();
+            owner = null;
+            return new PersistentHashTable<>(root, size);
+        }
+
+        private void ensureEditable() {
+            if(owner == null) {
+                throw new IllegalStateException("Transient table is used after persistent()");
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V put(K key, V value) {
+            requireNonNull(key);
+            requireNonNull(value);
+            ensureEditable();
+            final Change change = new Change();
+            root = root.put(owner, key, value, HashTable.hash(key), 0, change);
+            if(change.added) {
+                size++;
+            }
+            return (V) change.oldValue;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V remove(K key) {
+            requireNonNull(key);
+            ensureEditable();
+            final Change change = new Change();
+            root = root.remove(owner, key, HashTable.hash(key), 0, change);
+            if(change.oldValue != null) {
+                size--;
+            }
+            return (V) change.oldValue;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(K key) {
+            ensureEditable();
+            return (V) root.find(key, HashTable.hash(key), 0);
+        }
+
+        @Override
+        public boolean containsKey(K key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public boolean containsValue(V value) {
+            ensureEditable();
+            return root.containsValue(value);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+    }
+
+    /**
+     * The result of a put or a remove that is not returned as a node.
+     */
+    private static final class Change {
+        Object oldValue;
+        boolean added;
+    }
+
+    private abstract static class Node {
+        /**
+         * The transient table that has created this node and can modify it in place, or null.
+         */
+        final Object owner;
+
+        Node(final Object owner) {
+            this.owner = owner;
+        }
+
+        boolean isEditableBy(final Object owner) {
+            return owner != null && owner == this.owner;
+        }
+
+        abstract Object find(Object key, int hash, int shift);
+
+        abstract Node put(Object owner, Object key, Object value, int hash, int shift, Change change);
+
+        abstract Node remove(Object owner, Object key, int hash, int shift, Change change);
+
+        /**
+         * Returns true if the node holds a single entry and no child nodes, so its parent can store the entry inline.
+         */
+        abstract boolean hasSingleEntry();
+
+        /**
+         * Returns true if the node holds neither entries nor child nodes, so its parent can drop it.
+         */
+        abstract boolean hasNoEntries();
+
+        abstract Object firstKey();
+
+        abstract Object firstValue();
+
+        abstract boolean containsValue(Object value);
+
+        abstract void forEach(BiConsumer<Object, Object> action);
+    }
+
+    private static final class BitmapNode extends Node {
+        static final BitmapNode EMPTY = new BitmapNode(null, 0, 0, new Object[0]);
+
+        int dataMap;
+        int nodeMap;
+        Object[] array;
+
+        BitmapNode(final Object owner, final int dataMap, final int nodeMap, final Object[] array) {
+            super(owner);
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.array = array;
+        }
+
+        static int bitOf(final int hash, final int shift) {
+            return 1 << ((hash >>> shift) & MASK);
+        }
+
+        int dataIndex(final int bit) {
+            return Integer.bitCount(dataMap & (bit - 1));
+        }
+
+        int nodeIndex(final int bit) {
+            return array.length - 1 - Integer.bitCount(nodeMap & (bit - 1));
+        }
+
+        @Override
+        Object find(final Object key, final int hash, final int shift) {
+            final int bit = bitOf(hash, shift);
+            if((dataMap & bit) != 0) {
+                final int index = 2 * dataIndex(bit);
+                return key.equals(array[index]) ? array[index + 1] : null;
+            }
+            if((nodeMap & bit) != 0) {
+                return ((Node) array[nodeIndex(bit)]).find(key, hash, shift + BITS);
+            }
+            return null;
+        }
+
+        @Override
+        Node put(final Object owner, final Object key, final Object value, final int hash, final int shift,
+                 final Change change) {
+            final int bit = bitOf(hash, shift);
+            if((dataMap & bit) != 0) {
+                final int index = 2 * dataIndex(bit);
+                final Object existingKey = array[index];
+                if(key.equals(existingKey)) {
+                    change.oldValue = array[index + 1];
+                    return change.oldValue == value ? this : setAt(owner, index + 1, value);
+                }
+                change.added = true;
+                final Node subNode = mergeTwo(owner, existingKey, array[index + 1], HashTable.hash(existingKey),
+                        key, value, hash, shift + BITS);
+                return migrateToNode(owner, bit, subNode);
+            }
+            if((nodeMap & bit) != 0) {
+                final int index = nodeIndex(bit);
+                final Node subNode = (Node) array[index];
+                final Node newSubNode = subNode.put(owner, key, value, hash, shift + BITS, change);
+                return newSubNode == subNode ? this : setAt(owner, index, newSubNode);
+            }
+            change.added = true;
+            return insertEntry(owner, bit, key, value);
+        }
+
+        @Override
+        Node remove(final Object owner, final Object key, final int hash, final int shift, final Change change) {
+            final int bit = bitOf(hash, shift);
+            if((dataMap & bit) != 0) {
+                final int index = 2 * dataIndex(bit);
+                if(!key.equals(array[index])) {
+                    return this;
+                }
+                change.oldValue = array[index + 1];
+                return removeEntry(owner, bit, index);
+            }
+            if((nodeMap & bit) != 0) {
+                final Node subNode = (Node) array[nodeIndex(bit)];
+                final Node newSubNode = subNode.remove(owner, key, hash, shift + BITS, change);
+                if(change.oldValue == null) {
+                    return this;
+                }
+                // a transient table edits the sub-node in place, so it can be the same node and still need a collapse
+                if(newSubNode.hasNoEntries()) {
+                    return removeNode(owner, bit);
+                }
+                if(!newSubNode.hasSingleEntry()) {
+                    return newSubNode == subNode ? this : setAt(owner, nodeIndex(bit), newSubNode);
+                }
+                if(shift > 0 && dataMap == 0 && nodeMap == bit) {
+                    return newSubNode;
+                }
+                return migrateToInline(owner, bit, newSubNode.firstKey(), newSubNode.firstValue());
+            }
+            return this;
+        }
+
+        private Node setAt(final Object owner, final int index, final Object element) {
+            if(isEditableBy(owner)) {
+                array[index] = element;
+                return this;
+            }
+            final Object[] newArray = array.clone();
+            newArray[index] = element;
+            return new BitmapNode(owner, dataMap, nodeMap, newArray);
+        }
+
+        private Node withArray(final Object owner, final int newDataMap, final int newNodeMap,
+                               final Object[] newArray) {
+            if(isEditableBy(owner)) {
+                dataMap = newDataMap;
+                nodeMap = newNodeMap;
+                array = newArray;
+                return this;
+            }
+            return new BitmapNode(owner, newDataMap, newNodeMap, newArray);
+        }
+
+        private Node insertEntry(final Object owner, final int bit, final Object key, final Object value) {
+            final int index = 2 * dataIndex(bit);
+            final Object[] newArray = new Object[array.length + 2];
+            System.arraycopy(array, 0, newArray, 0, index);
+            newArray[index] = key;
+            newArray[index + 1] = value;
+            System.arraycopy(array, index, newArray, index + 2, array.length - index);
+            return withArray(owner, dataMap | bit, nodeMap, newArray);
+        }
+
+        private Node removeEntry(final Object owner, final int bit, final int index) {
+            final Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, index);
+            System.arraycopy(array, index + 2, newArray, index, array.length - index - 2);
+            return withArray(owner, dataMap ^ bit, nodeMap, newArray);
+        }
+
+        private Node removeNode(final Object owner, final int bit) {
+            final int index = nodeIndex(bit);
+            final Object[] newArray = new Object[array.length - 1];
+            System.arraycopy(array, 0, newArray, 0, index);
+            System.arraycopy(array, index + 1, newArray, index, array.length - index - 1);
+            return withArray(owner, dataMap, nodeMap ^ bit, newArray);
+        }
+
+        /**
+         * Replaces an inline entry with a child node. Entries are at the beginning of the array, and child nodes are
+         * at its end in reverse order, so the elements between the old and the new position are shifted.
+         */
+        private Node migrateToNode(final Object owner, final int bit, final Node node) {
+            final int oldIndex = 2 * dataIndex(bit);
+            final int newIndex = array.length - 2 - Integer.bitCount(nodeMap & (bit - 1));
+            final Object[] newArray = new Object[array.length - 1];
+            System.arraycopy(array, 0, newArray, 0, oldIndex);
+            System.arraycopy(array, oldIndex + 2, newArray, oldIndex, newIndex - oldIndex);
+            newArray[newIndex] = node;
+            System.arraycopy(array, newIndex + 2, newArray, newIndex + 1, array.length - newIndex - 2);
+            return withArray(owner, dataMap ^ bit, nodeMap | bit, newArray);
+        }
+
+        private Node migrateToInline(final Object owner, final int bit, final Object key, final Object value) {
+            final int oldIndex = nodeIndex(bit);
+            final int newIndex = 2 * dataIndex(bit);
+            final Object[] newArray = new Object[array.length + 1];
+            System.arraycopy(array, 0, newArray, 0, newIndex);
+            newArray[newIndex] = key;
+            newArray[newIndex + 1] = value;
+            System.arraycopy(array, newIndex, newArray, newIndex + 2, oldIndex - newIndex);
+            System.arraycopy(array, oldIndex + 1, newArray, oldIndex + 2, array.length - oldIndex - 1);
+            return withArray(owner, dataMap | bit, nodeMap ^ bit, newArray);
+        }
+
+        private static Node mergeTwo(final Object owner, final Object key0, final Object value0, final int hash0,
+                                     final Object key1, final Object value1, final int hash1, final int shift) {
+            if(shift >= HASH_LENGTH) {
+                return new CollisionNode(owner, hash0, new Object[]{key0, value0, key1, value1});
+            }
+            final int bit0 = bitOf(hash0, shift);
+            final int bit1 = bitOf(hash1, shift);
+            if(bit0 == bit1) {
+                final Node subNode = mergeTwo(owner, key0, value0, hash0, key1, value1, hash1, shift + BITS);
+                return new BitmapNode(owner, 0, bit0, new Object[]{subNode});
+            }
+            final Object[] array = Integer.compareUnsigned(bit0, bit1) < 0
+                    ? new Object[]{key0, value0, key1, value1}
+                    : new Object[]{key1, value1, key0, value0};
+            return new BitmapNode(owner, bit0 | bit1, 0, array);
+        }
+
+        @Override
+        boolean hasSingleEntry() {
+            return nodeMap == 0 && Integer.bitCount(dataMap) == 1;
+        }
+
+        @Override
+        boolean hasNoEntries() {
+            return dataMap == 0 && nodeMap == 0;
+        }
+
+        @Override
+        Object firstKey() {
+            return array[0];
+        }
+
+        @Override
+        Object firstValue() {
+            return array[1];
+        }
+
+        @Override
+        boolean containsValue(final Object value) {
+            final int dataLength = 2 * Integer.bitCount(dataMap);
+            for(int i = 1; i < dataLength; i += 2) {
+                if(Objects.equals(value, array[i])) {
+                    return true;
+                }
+            }
+            for(int i = dataLength; i < array.length; i++) {
+                if(((Node) array[i]).containsValue(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        void forEach(final BiConsumer<Object, Object> action) {
+            final int dataLength = 2 * Integer.bitCount(dataMap);
+            for(int i = 0; i < dataLength; i += 2) {
+                action.accept(array[i], array[i + 1]);
+            }
+            for(int i = dataLength; i < array.length; i++) {
+                ((Node) array[i]).forEach(action);
+            }
+        }
+    }
+
+    /**
+     * Holds the entries of the keys that have exactly the same hash. It is searched linearly.
+     */
+    private static final class CollisionNode extends Node {
+        final int hash;
+        Object[] array;
+
+        CollisionNode(final Object owner, final int hash, final Object[] array) {
+            super(owner);
+            this.hash = hash;
+            this.array = array;
+        }
+
+        private int indexOf(final Object key) {
+            for(int i = 0; i < array.length; i += 2) {
+                if(key.equals(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Object find(final Object key, final int hash, final int shift) {
+            final int index = indexOf(key);
+            return index < 0 ? null : array[index + 1];
+        }
+
+        @Override
+        Node put(final Object owner, final Object key, final Object value, final int hash, final int shift,
+                 final Change change) {
+            final int index = indexOf(key);
+            final Object[] newArray;
+            if(index >= 0) {
+                change.oldValue = array[index + 1];
+                if(change.oldValue == value) {
+                    return this;
+                }
+                newArray = isEditableBy(owner) ? array : array.clone();
+                newArray[index + 1] = value;
+            } else {
+                change.added = true;
+                newArray = Arrays.copyOf(array, array.length + 2);
+                newArray[array.length] = key;
+                newArray[array.length + 1] = value;
+            }
+            return withArray(owner, newArray);
+        }
+
+        @Override
+        Node remove(final Object owner, final Object key, final int hash, final int shift, final Change change) {
+            final int index = indexOf(key);
+            if(index < 0) {
+                return this;
+            }
+            change.oldValue = array[index + 1];
+            final Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, index);
+            System.arraycopy(array, index + 2, newArray, index, array.length - index - 2);
+            return withArray(owner, newArray);
+        }
+
+        private Node withArray(final Object owner, final Object[] newArray) {
+            if(isEditableBy(owner)) {
+                array = newArray;
+                return this;
+            }
+            return new CollisionNode(owner, hash, newArray);
+        }
+
+        @Override
+        boolean hasSingleEntry() {
+            return array.length == 2;
+        }
+
+        @Override
+        boolean hasNoEntries() {
+            return array.length == 0;
+        }
+
+        @Override
+        Object firstKey() {
+            return array[0];
+        }
+
+        @Override
+        Object firstValue() {
+            return array[1];
+        }
+
+        @Override
+        boolean containsValue(final Object value) {
+            for(int i = 1; i < array.length; i += 2) {
+                if(Objects.equals(value, array[i])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        void forEach(final BiConsumer<Object, Object> action) {
+            for(int i = 0; i < array.length; i += 2) {
+                action.accept(array[i], array[i + 1]);
+            }
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.bobocode.cs;
+
+import java.util.Objects;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link RobinHoodHashTable} is an open-addressing implementation of {@link Map} interface. Unlike {@link HashTable},
+ * it does not create a node per entry. Keys, values and their hashes are stored in three parallel flat arrays, and
+ * a collision is resolved by probing the next array cell (linear probing).
+ * <p>
+ * Every stored key has a probe distance, which is the number of cells between its home index (calculated the same way
+ * as {@link HashTable#calculateIndex(Object, int)} does) and the cell where it actually lives. When a new key is
+ * inserted, it takes the cell of any key that is closer to its home than the new one ("takes from the rich and gives
+ * to the poor"). It keeps all probe distances short and similar, so a search can stop as soon as it meets a key with
+ * a shorter distance than the current one.
+ * <p>
+ * A removal does not leave a tombstone. Instead, all following keys of the same cluster are shifted one cell back
+ * (backward-shift deletion), so the table never degrades after many removals.
+ * <p>
+ * The capacity is always a power of two, and the initial capacity is 8.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class RobinHoodHashTable<K, V> implements Map<K, V> {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 8;
+    private static final float RESIZE_THRESHOLD = 0.85f;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private Object[] keys;
+    private Object[] values;
+    private int[] hashes;
+    private int size;
+
+    public RobinHoodHashTable() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public RobinHoodHashTable(final int initialCapacity) {
+        if(initialCapacity < 0) {
+            throw new IllegalArgumentException("Negative initialCapacity: " + initialCapacity);
+        }
+        allocateArrays(tableSizeFor(initialCapacity));
+    }
+
+    private static int tableSizeFor(final int capacity) {
+        if(capacity <= 1) {
+            return 1;
+        }
+        return capacity >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY : Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    private void allocateArrays(final int capacity) {
+        this.keys = new Object[capacity];
+        this.values = new Object[capacity];
+        this.hashes = new int[capacity];
+    }
+
+    private int probeDistance(final int index) {
+        final int mask = keys.length - 1;
+        return (index - (hashes[index] & mask)) & mask;
+    }
+
+    /**
+     * Creates or updates a mapping for a given key and value. The lookup of an existing key and the search for the
+     * insertion cell are done in the same single pass.
+     *
+     * @param key
+     * @param value
+     * @return old value or null
+     */
+    @Override
+    public V put(K key, V value) {
+        requireNonNull(key);
+        requireNonNull(value);
+        resizeTableIfNeeded();
+        final int hash = HashTable.hash(key);
+        final int mask = keys.length - 1;
+        int index = hash & mask;
+        int distance = 0;
+        while(keys[index] != null && probeDistance(index) >= distance) {
+            if(hashes[index] == hash && keys[index].equals(key)) {
+                final V oldValue = valueAt(index);
+                values[index] = value;
+                return oldValue;
+            }
+            index = (index + 1) & mask;
+            distance++;
+        }
+        insertAt(index, distance, key, value, hash);
+        size++;
+        return null;
+    }
+
+    private void insertAt(int index, int distance, Object key, Object value, int hash) {
+        final int mask = keys.length - 1;
+        while(keys[index] != null) {
+            final int residentDistance = probeDistance(index);
+            if(residentDistance < distance) {
+                final Object residentKey = keys[index];
+                final Object residentValue = values[index];
+                final int residentHash = hashes[index];
+                keys[index] = key;
+                values[index] = value;
+                hashes[index] = hash;
+                key = residentKey;
+                value = residentValue;
+                hash = residentHash;
+                distance = residentDistance;
+            }
+            index = (index + 1) & mask;
+            distance++;
+        }
+        keys[index] = key;
+        values[index] = value;
+        hashes[index] = hash;
+    }
+
+    private int findIndex(final Object key) {
+        final int hash = HashTable.hash(key);
+        final int mask = keys.length - 1;
+        int index = hash & mask;
+        int distance = 0;
+        while(keys[index] != null && probeDistance(index) >= distance) {
+            if(hashes[index] == hash && keys[index].equals(key)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+            distance++;
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(final int index) {
+        return (V) values[index];
+    }
+
+    /**
+     * Retrieves a value by the given key. The search stops at the first empty cell, or at the first key that has a
+     * shorter probe distance than the searched one would have at that cell.
+     *
+     * @param key
+     * @return value stored in the table by the given key or null if there is no such key
+     */
+    @Override
+    public V get(K key) {
+        final int index = findIndex(key);
+        return index < 0 ? null : valueAt(index);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return findIndex(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(V value) {
+        for(int i = 0; i < keys.length; i++) {
+            if(keys[i] != null && Objects.equals(value, values[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes an element by its key and returns a removed value. The following keys of the cluster are shifted one
+     * cell back until an empty cell or a key that already lives at its home index is found.
+     *
+     * @param key
+     * @return removed value or null
+     */
+    @Override
+    public V remove(K key) {
+        int index = findIndex(key);
+        if(index < 0) {
+            return null;
+        }
+        final V removedValue = valueAt(index);
+        final int mask = keys.length - 1;
+        int next = (index + 1) & mask;
+        while(keys[next] != null && probeDistance(next) > 0) {
+            keys[index] = keys[next];
+            values[index] = values[next];
+            hashes[index] = hashes[next];
+            index = next;
+            next = (next + 1) & mask;
+        }
+        keys[index] = null;
+        values[index] = null;
+        hashes[index] = 0;
+        size--;
+        return removedValue;
+    }
+
+    /**
+     * Creates a string that represents an underlying array. Every row starts with an array index followed by ": ",
+     * then it adds a key and a value (key=value) stored in that cell, if any.
+     *
+     * @return a string that represents an underlying array
+     */
+    @Override
+    public String toString() {
+        final StringBuilder stringBuilder = new StringBuilder();
+        for(int i = 0; i < keys.length; i++) {
+            stringBuilder.append(i).append(": ");
+            if(keys[i] != null) {
+                stringBuilder.append(keys[i]).append("=").append(values[i]);
+            }
+            stringBuilder.append("\n");
+        }
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Creates new underlying arrays with a given capacity (rounded up to a power of two) and moves all entries there.
+     * Stored hashes are reused, so it never calls hashCode again.
+     *
+     * @param newCapacity a size of the new underlying arrays
+     */
+    public void resizeTable(int newCapacity) {
+        final int capacity = tableSizeFor(newCapacity);
+        if(size > capacity) {
+            throw new IllegalArgumentException("Capacity " + newCapacity + " is too small for " + size + " entries");
+        }
+        final Object[] oldKeys = keys;
+        final Object[] oldValues = values;
+        final int[] oldHashes = hashes;
+        allocateArrays(capacity);
+        for(int i = 0; i < oldKeys.length; i++) {
+            if(oldKeys[i] != null) {
+                insertAt(oldHashes[i] & (capacity - 1), 0, oldKeys[i], oldValues[i], oldHashes[i]);
+            }
+        }
+    }
+
+    private void resizeTableIfNeeded() {
+        if(size + 1 > keys.length * RESIZE_THRESHOLD) {
+            if(keys.length == MAXIMUM_CAPACITY) {
+                if(size + 1 >= MAXIMUM_CAPACITY) {
+                    throw new IllegalStateException("Table is full");
+                }
+                return;
+            }
+            resizeTable(2 * keys.length);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.bobocode.cs;
+
+/**
+ * Thrown when a snapshot of a table cannot be written or read.
+ */
+public class SnapshotException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public SnapshotException(String message) {
+        super(message);
+    }
+
+    public SnapshotException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
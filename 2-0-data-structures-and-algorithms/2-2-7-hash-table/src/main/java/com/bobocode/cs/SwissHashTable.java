@@ -0,0 +1,348 @@
+package com.bobocode.cs;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link SwissHashTable} is an open-addressing implementation of {@link Map} interface modeled on SwissTable. Cells
+ * are split into groups of 16, and every cell has a control byte in a separate metadata array. A control byte is
+ * either empty, deleted (a tombstone), or a 7-bit fingerprint of the hash of the stored key.
+ * <p>
+ * A lookup takes a group by the high bits of the hash, and compares all 16 control bytes of the group with
+ * the fingerprint at once. Control bytes are packed into longs, eight per long, so a group is compared by a few
+ * arithmetic operations on two longs (SIMD within a register, SWAR). Only the cells with a matching fingerprint are
+ * checked by equals, and a wrong key matches with probability of 1/128 per cell. If the group has an empty cell,
+ * the key is not in the table, otherwise the next group is probed (quadratic probing by groups). So a missing key is
+ * usually detected by reading only the metadata, without touching the keys at all.
+ * <p>
+ * A removal leaves a tombstone only if the group has no empty cells, since otherwise no probe goes through this group.
+ * The table keeps at most 7/8 of cells full or deleted. Once this limit is reached, the table is rehashed, and its
+ * capacity is doubled only if more than 25/32 of cells are full, otherwise the tombstones are just dropped. Hashes are
+ * not stored, so a rehash calls hashCode again.
+ * <p>
+ * The capacity is always a power of two, and the initial capacity is 16.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class SwissHashTable<K, V> implements Map<K, V> {
+
+    private static final int GROUP_SIZE = 16;
+    private static final int DEFAULT_INITIAL_CAPACITY = GROUP_SIZE;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    private static final byte EMPTY = (byte) 0x80;
+    private static final byte DELETED = (byte) 0xFE;
+    private static final long LSBS = 0x0101010101010101L;
+    private static final long MSBS = 0x8080808080808080L;
+
+    private long[] controls;
+    private Object[] keys;
+    private Object[] values;
+    private int groupMask;
+    private int growthLeft;
+    private int size;
+
+    public SwissHashTable() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public SwissHashTable(final int initialCapacity) {
+        if(initialCapacity < 0) {
+            throw new IllegalArgumentException("Negative initialCapacity: " + initialCapacity);
+        }
+        allocateArrays(tableSizeFor(initialCapacity));
+    }
+
+    private static int tableSizeFor(final int capacity) {
+        if(capacity <= GROUP_SIZE) {
+            return GROUP_SIZE;
+        }
+        return capacity >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY : Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    private void allocateArrays(final int capacity) {
+        this.controls = new long[capacity / Long.BYTES];
+        Arrays.fill(controls, (EMPTY & 0xFFL) * LSBS);
+        this.keys = new Object[capacity];
+        this.values = new Object[capacity];
+        this.groupMask = capacity / GROUP_SIZE - 1;
+        this.growthLeft = maximumLoad(capacity);
+    }
+
+    private static int maximumLoad(final int capacity) {
+        return capacity - capacity / 8;
+    }
+
+    /**
+     * Mixes the bits of a hash code (the finalizer of MurmurHash3), so both the fingerprint (low 7 bits) and the group
+     * (the rest) depend on all of them.
+     */
+    private static int hash(final Object key) {
+        int hash = key.hashCode();
+        hash = (hash ^ (hash >>> 16)) * 0x85ebca6b;
+        hash = (hash ^ (hash >>> 13)) * 0xc2b2ae35;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static byte fingerprint(final int hash) {
+        return (byte) (hash & 0x7F);
+    }
+
+    private int firstGroup(final int hash) {
+        return (hash >>> 7) & groupMask;
+    }
+
+    /**
+     * Returns a mask that has the highest bit set in every byte of a word that is equal to a given fingerprint.
+     * It may also mark a byte next to a matching one, which only causes one more equals check.
+     */
+    private static long match(final long word, final byte fingerprint) {
+        final long difference = word ^ (fingerprint * LSBS);
+        return (difference - LSBS) & ~difference & MSBS;
+    }
+
+    /**
+     * Returns a mask that has the highest bit set in every empty byte of a word. A deleted byte differs from the empty
+     * one in the second lowest bit, and a full byte has no highest bit.
+     */
+    private static long matchEmpty(final long word) {
+        return word & ~(word << 6) & MSBS;
+    }
+
+    private static long matchEmptyOrDeleted(final long word) {
+        return word & MSBS;
+    }
+
+    private static int byteIndex(final long mask) {
+        return Long.numberOfTrailingZeros(mask) >>> 3;
+    }
+
+    private void setControl(final int index, final byte control) {
+        final int shift = (index & 7) * Byte.SIZE;
+        final int word = index >>> 3;
+        controls[word] = controls[word] & ~(0xFFL << shift) | (control & 0xFFL) << shift;
+    }
+
+    private byte controlAt(final int index) {
+        return (byte) (controls[index >>> 3] >>> ((index & 7) * Byte.SIZE));
+    }
+
+    /**
+     * Returns the index of a cell that contains a given key, or -1 if there is no such key. It checks a key only if
+     * its fingerprint matches, and it stops at the first group that has an empty cell.
+     */
+    private int findIndex(final Object key, final int hash) {
+        final byte fingerprint = fingerprint(hash);
+        int group = firstGroup(hash);
+        for(int step = 1; ; step++) {
+            final int word = group * (GROUP_SIZE / Long.BYTES);
+            final long low = controls[word];
+            final long high = controls[word + 1];
+            for(long mask = match(low, fingerprint); mask != 0; mask &= mask - 1) {
+                final int index = group * GROUP_SIZE + byteIndex(mask);
+                if(key.equals(keys[index])) {
+                    return index;
+                }
+            }
+            for(long mask = match(high, fingerprint); mask != 0; mask &= mask - 1) {
+                final int index = group * GROUP_SIZE + Long.BYTES + byteIndex(mask);
+                if(key.equals(keys[index])) {
+                    return index;
+                }
+            }
+            if((matchEmpty(low) | matchEmpty(high)) != 0 || step > groupMask) {
+                return -1;
+            }
+            group = (group + step) & groupMask;
+        }
+    }
+
+    /**
+     * Returns the first empty or deleted cell in the probe sequence of a given hash. The table always has such a cell,
+     * because it is never full.
+     */
+    private int findInsertIndex(final int hash) {
+        int group = firstGroup(hash);
+        for(int step = 1; ; step++) {
+            final int word = group * (GROUP_SIZE / Long.BYTES);
+            final long low = matchEmptyOrDeleted(controls[word]);
+            if(low != 0) {
+                return group * GROUP_SIZE + byteIndex(low);
+            }
+            final long high = matchEmptyOrDeleted(controls[word + 1]);
+            if(high != 0) {
+                return group * GROUP_SIZE + Long.BYTES + byteIndex(high);
+            }
+            group = (group + step) & groupMask;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(final int index) {
+        return (V) values[index];
+    }
+
+    /**
+     * Creates or updates a mapping for a given key and value. A new key takes the first empty or deleted cell of its
+     * probe sequence.
+     *
+     * @param key
+     * @param value
+     * @return old value or null
+     */
+    @Override
+    public V put(K key, V value) {
+        requireNonNull(key);
+        requireNonNull(value);
+        final int hash = hash(key);
+        final int index = findIndex(key, hash);
+        if(index >= 0) {
+            final V oldValue = valueAt(index);
+            values[index] = value;
+            return oldValue;
+        }
+        int insertIndex = findInsertIndex(hash);
+        if(growthLeft == 0 && controlAt(insertIndex) == EMPTY) {
+            rehashForInsert();
+            insertIndex = findInsertIndex(hash);
+        }
+        if(controlAt(insertIndex) == EMPTY) {
+            growthLeft--;
+        }
+        setControl(insertIndex, fingerprint(hash));
+        keys[insertIndex] = key;
+        values[insertIndex] = value;
+        size++;
+        return null;
+    }
+
+    /**
+     * Rehashes the table at the same capacity if at most 25/32 of cells are full, so the rest are tombstones, or
+     * doubles it otherwise.
+     */
+    private void rehashForInsert() {
+        final int capacity = keys.length;
+        if((long) size * 32 <= (long) capacity * 25) {
+            rehash(capacity);
+        } else if(capacity == MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Table is full");
+        } else {
+            rehash(2 * capacity);
+        }
+    }
+
+    /**
+     * Retrieves a value by the given key. A missing key is usually detected by the control bytes only.
+     *
+     * @param key
+     * @return value stored in the table by the given key or null if there is no such key
+     */
+    @Override
+    public V get(K key) {
+        final int index = findIndex(key, hash(key));
+        return index < 0 ? null : valueAt(index);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return findIndex(key, hash(key)) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(V value) {
+        for(int i = 0; i < keys.length; i++) {
+            if(keys[i] != null && Objects.equals(value, values[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes an element by its key and returns a removed value. The cell becomes empty if its group has another empty
+     * cell, otherwise it becomes deleted, so the probe sequences that go through this group are not broken.
+     *
+     * @param key
+     * @return removed value or null
+     */
+    @Override
+    public V remove(K key) {
+        final int index = findIndex(key, hash(key));
+        if(index < 0) {
+            return null;
+        }
+        final V removedValue = valueAt(index);
+        final int word = index / GROUP_SIZE * (GROUP_SIZE / Long.BYTES);
+        if((matchEmpty(controls[word]) | matchEmpty(controls[word + 1])) != 0) {
+            setControl(index, EMPTY);
+            growthLeft++;
+        } else {
+            setControl(index, DELETED);
+        }
+        keys[index] = null;
+        values[index] = null;
+        size--;
+        return removedValue;
+    }
+
+    /**
+     * Creates a string that represents an underlying array. Every row starts with an array index followed by ": ",
+     * then it adds a key and a value (key=value) stored in that cell, if any.
+     *
+     * @return a string that represents an underlying array
+     */
+    @Override
+    public String toString() {
+        final StringBuilder stringBuilder = new StringBuilder();
+        for(int i = 0; i < keys.length; i++) {
+            stringBuilder.append(i).append(": ");
+            if(keys[i] != null) {
+                stringBuilder.append(keys[i]).append("=").append(values[i]);
+            }
+            stringBuilder.append("\n");
+        }
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Creates new underlying arrays with a given capacity (rounded up to a power of two) and moves all entries there.
+     * It also drops all tombstones.
+     *
+     * @param newCapacity a size of the new underlying arrays
+     */
+    public void resizeTable(final int newCapacity) {
+        final int capacity = tableSizeFor(newCapacity);
+        if(size > maximumLoad(capacity)) {
+            throw new IllegalArgumentException("Capacity " + newCapacity + " is too small for " + size + " entries");
+        }
+        rehash(capacity);
+    }
+
+    private void rehash(final int capacity) {
+        final Object[] oldKeys = keys;
+        final Object[] oldValues = values;
+        allocateArrays(capacity);
+        for(int i = 0; i < oldKeys.length; i++) {
+            if(oldKeys[i] != null) {
+                final int hash = hash(oldKeys[i]);
+                final int index = findInsertIndex(hash);
+                setControl(index, fingerprint(hash));
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+        growthLeft -= size;
+    }
+}
@@ -0,0 +1,173 @@
+package com.bobocode.cs;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("BoundedCache Test")
+class BoundedCacheTest {
+
+    @Test
+    @DisplayName("the least recently used entry is evicted when the cache is full")
+    void evictsLeastRecentlyUsed() {
+        var cache = BoundedCache.<String, Integer>builder().maximumSize(2).build();
+        cache.put("madmax", 833);
+        cache.put("altea", 553);
+
+        cache.get("madmax");
+        cache.put("leon", 886);
+
+        assertThat(cache.get("altea")).isNull();
+        assertThat(cache.get("madmax")).isEqualTo(833);
+        assertThat(cache.get("leon")).isEqualTo(886);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("entries are evicted until the new entry fits into the maximum weight")
+    void maximumWeight() {
+        var cache = BoundedCache.<String, String>builder()
+                .maximumWeight(10)
+                .weigher((key, value) -> value.length())
+                .build();
+        cache.put("a", "aaaa");
+        cache.put("b", "bbbb");
+
+        cache.put("c", "cccccc");
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b")).isEqualTo("bbbb");
+        assertThat(cache.weightedSize()).isEqualTo(10);
+        assertThat(cache.put("d", "d".repeat(11))).isFalse();
+        assertThat(cache.get("d")).isNull();
+    }
+
+    @Test
+    @DisplayName("updating a key replaces its weight instead of adding to it")
+    void updateExistingKey() {
+        var cache = BoundedCache.<String, String>builder()
+                .maximumWeight(10)
+                .weigher((key, value) -> value.length())
+                .build();
+        cache.put("a", "aaaa");
+
+        cache.put("a", "aaaaaaaa");
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.weightedSize()).isEqualTo(8);
+        assertThat(cache.get("a")).isEqualTo("aaaaaaaa");
+    }
+
+    @Test
+    @DisplayName("entries expire after the write duration passes")
+    void expireAfterWrite() {
+        var time = new AtomicLong();
+        var cache = BoundedCache.<String, Integer>builder()
+                .maximumSize(10)
+                .expireAfterWrite(Duration.ofSeconds(1))
+                .ticker(time::get)
+                .build();
+        cache.put("madmax", 833);
+
+        time.addAndGet(Duration.ofMillis(999).toNanos());
+        assertThat(cache.get("madmax")).isEqualTo(833);
+        time.addAndGet(Duration.ofMillis(1).toNanos());
+        assertThat(cache.get("madmax")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("stats count hits, misses and evictions")
+    void stats() {
+        var cache = BoundedCache.<Integer, Integer>builder().maximumSize(1).build();
+        cache.put(1, 1);
+        cache.get(1);
+        cache.get(2);
+        cache.put(2, 2);
+
+        var stats = cache.stats();
+
+        assertThat(stats.hitCount()).isEqualTo(1);
+        assertThat(stats.missCount()).isEqualTo(1);
+        assertThat(stats.evictionCount()).isEqualTo(1);
+        assertThat(stats.hitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("get with a loader loads and caches a missing value")
+    void getWithLoader() {
+        var cache = BoundedCache.<String, Integer>builder().maximumSize(10).build();
+        var loads = new AtomicLong();
+
+        assertThat(cache.get("madmax", key -> (int) loads.incrementAndGet())).isEqualTo(1);
+        assertThat(cache.get("madmax", key -> (int) loads.incrementAndGet())).isEqualTo(1);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("the admission filter keeps frequently used entries while one-time keys are scanned")
+    void admissionFilterResistsScan() {
+        var lruCache = BoundedCache.<Integer, Integer>builder().maximumSize(100).build();
+        var tinyLfuCache = BoundedCache.<Integer, Integer>builder().maximumSize(100).admissionFilter().build();
+
+        for (var cache : java.util.List.of(lruCache, tinyLfuCache)) {
+            var scannedKey = 1_000;
+            for (int round = 0; round < 50; round++) {
+                for (int i = 0; i < 50; i++) {
+                    cache.get(i, key -> key);
+                }
+                for (int i = 0; i < 200; i++) {
+                    cache.get(scannedKey++, key -> key);
+                }
+            }
+        }
+
+        assertThat(lruCache.stats().hitRate()).isZero();
+        assertThat(tinyLfuCache.stats().hitRate()).isGreaterThan(0.15);
+    }
+
+    @Test
+    @DisplayName("the admission filter is sized by the number of entries, not by their weight")
+    void admissionFilterSize() {
+        var weightedCache = BoundedCache.<Integer, byte[]>builder()
+                .maximumWeight(1L << 30)
+                .weigher((key, value) -> value.length)
+                .admissionFilter()
+                .build();
+        var expectedCache = BoundedCache.<Integer, byte[]>builder()
+                .maximumWeight(1L << 30)
+                .weigher((key, value) -> value.length)
+                .expectedEntries(1000)
+                .admissionFilter()
+                .build();
+        var sizedCache = BoundedCache.<Integer, Integer>builder().maximumSize(100_000).admissionFilter().build();
+
+        assertThat(sketchLength(weightedCache)).isEqualTo(1024);
+        assertThat(sketchLength(expectedCache)).isEqualTo(1024);
+        assertThat(sketchLength(sizedCache)).isEqualTo(131_072);
+    }
+
+    @Test
+    @DisplayName("builder requires the maximum weight")
+    void builderRequiresMaximumWeight() {
+        assertThatThrownBy(() -> BoundedCache.builder().build()).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> BoundedCache.builder().maximumSize(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @SneakyThrows
+    private int sketchLength(BoundedCache<?, ?> cache) {
+        Field sketchField = BoundedCache.class.getDeclaredField("sketch");
+        sketchField.setAccessible(true);
+        Object sketch = sketchField.get(cache);
+        Field tableField = sketch.getClass().getDeclaredField("table");
+        tableField.setAccessible(true);
+        return ((long[]) tableField.get(sketch)).length;
+    }
+}
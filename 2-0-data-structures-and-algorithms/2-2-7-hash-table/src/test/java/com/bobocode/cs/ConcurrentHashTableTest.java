@@ -0,0 +1,259 @@
+package com.bobocode.cs;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ConcurrentHashTable Test")
+class ConcurrentHashTableTest {
+
+    private static final int THREADS = 8;
+
+    private final ConcurrentHashTable<String, Integer> hashTable = new ConcurrentHashTable<>();
+
+    @Test
+    @DisplayName("put, get and remove work the same way as in HashTable")
+    void singleThreadedOperations() {
+        assertThat(hashTable.put("madmax", 833)).isNull();
+        assertThat(hashTable.put("madmax", 876)).isEqualTo(833);
+        hashTable.put("AaAa", 123);
+        hashTable.put("BBBB", 456);
+
+        assertThat(hashTable.get("madmax")).isEqualTo(876);
+        assertThat(hashTable.get("BBBB")).isEqualTo(456);
+        assertThat(hashTable.containsKey("AaAa")).isTrue();
+        assertThat(hashTable.containsValue(456)).isTrue();
+        assertThat(hashTable.size()).isEqualTo(3);
+        assertThat(hashTable.remove("AaAa")).isEqualTo(123);
+        assertThat(hashTable.remove("AaAa")).isNull();
+        assertThat(hashTable.get("BBBB")).isEqualTo(456);
+        assertThat(hashTable.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("put does not accept null keys and values")
+    void putNull() {
+        assertThatThrownBy(() -> hashTable.put(null, 1)).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> hashTable.put("madmax", null)).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    @DisplayName("concurrent puts of different keys are all stored while the table is resized")
+    void concurrentPuts() {
+        var table = new ConcurrentHashTable<Integer, Integer>(2);
+        var keysPerThread = 50_000;
+
+        runConcurrently(thread -> () -> {
+            for (int i = thread * keysPerThread; i < (thread + 1) * keysPerThread; i++) {
+                table.put(i, -i);
+            }
+            return null;
+        });
+
+        assertThat(table.size()).isEqualTo(THREADS * keysPerThread);
+        for (int i = 0; i < THREADS * keysPerThread; i++) {
+            assertThat(table.get(i)).isEqualTo(-i);
+        }
+    }
+
+    @Test
+    @DisplayName("concurrent puts of the same keys do not create duplicates")
+    void concurrentPutsOfSameKeys() {
+        var table = new ConcurrentHashTable<Integer, Integer>(2);
+        var keys = 20_000;
+
+        runConcurrently(thread -> () -> {
+            for (int i = 0; i < keys; i++) {
+                table.put(i, thread);
+            }
+            return null;
+        });
+
+        assertThat(table.size()).isEqualTo(keys);
+        for (int i = 0; i < keys; i++) {
+            assertThat(table.get(i)).isBetween(0, THREADS - 1);
+        }
+    }
+
+    @Test
+    @DisplayName("readers always see existing keys while writers put and remove other keys")
+    @SneakyThrows
+    void readersDuringWrites() {
+        var table = new ConcurrentHashTable<Integer, Integer>(2);
+        var stableKeys = 1_000;
+        for (int i = 0; i < stableKeys; i++) {
+            table.put(i, i);
+        }
+        var writing = new AtomicBoolean(true);
+
+        runConcurrently(thread -> {
+            if (thread % 2 == 0) {
+                return () -> {
+                    for (int round = 0; round < 3; round++) {
+                        for (int i = stableKeys + thread * 20_000; i < stableKeys + (thread + 1) * 20_000; i++) {
+                            table.put(i, i);
+                        }
+                        for (int i = stableKeys + thread * 20_000; i < stableKeys + (thread + 1) * 20_000; i++) {
+                            table.remove(i);
+                        }
+                    }
+                    writing.set(false);
+                    return null;
+                };
+            }
+            return () -> {
+                var random = new Random(thread);
+                while (writing.get()) {
+                    var key = random.nextInt(stableKeys);
+                    assertThat(table.get(key)).isEqualTo(key);
+                }
+                return null;
+            };
+        });
+
+        assertThat(table.size()).isEqualTo(stableKeys);
+    }
+
+    @Test
+    @DisplayName("concurrent removes delete every key exactly once")
+    void concurrentRemoves() {
+        var table = new ConcurrentHashTable<Integer, Integer>();
+        var keys = 100_000;
+        for (int i = 0; i < keys; i++) {
+            table.put(i, i);
+        }
+        var removed = new AtomicInteger();
+
+        runConcurrently(thread -> () -> {
+            for (int i = 0; i < keys; i++) {
+                if (table.remove(i) != null) {
+                    removed.incrementAndGet();
+                }
+            }
+            return null;
+        });
+
+        assertThat(removed.get()).isEqualTo(keys);
+        assertThat(table.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("compute methods work the same way as in HashTable")
+    void singleThreadedComputeMethods() {
+        assertThat(hashTable.putIfAbsent("madmax", 833)).isNull();
+        assertThat(hashTable.putIfAbsent("madmax", 876)).isEqualTo(833);
+        assertThat(hashTable.computeIfAbsent("altea", String::length)).isEqualTo(5);
+        assertThat(hashTable.computeIfAbsent("leon", key -> null)).isNull();
+        assertThat(hashTable.computeIfPresent("altea", (key, value) -> null)).isNull();
+        assertThat(hashTable.merge("madmax", 1, Integer::sum)).isEqualTo(834);
+        assertThat(hashTable.compute("madmax", (key, value) -> null)).isNull();
+
+        assertThat(hashTable.isEmpty()).isTrue();
+        assertThat(hashTable.containsKey("leon")).isFalse();
+    }
+
+    @Test
+    @DisplayName("a compute function that throws leaves the table unchanged")
+    void computeFunctionThrows() {
+        assertThatThrownBy(() -> hashTable.compute("madmax", (key, value) -> {
+            throw new IllegalArgumentException();
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(hashTable.put("madmax", 833)).isNull();
+        assertThat(hashTable.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("put and remove called from a compute function of the same bucket are rejected")
+    void recursiveUpdate() {
+        assertThatThrownBy(() -> hashTable.computeIfAbsent("madmax", key -> hashTable.put(key, 833)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> hashTable.compute("madmax", (key, value) -> hashTable.remove(key)))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(hashTable.isEmpty()).isTrue();
+        assertThat(hashTable.put("madmax", 876)).isNull();
+        assertThat(hashTable.get("madmax")).isEqualTo(876);
+    }
+
+    @Test
+    @DisplayName("concurrent merges of the same keys never lose an update")
+    void concurrentMerges() {
+        var table = new ConcurrentHashTable<Integer, Integer>(2);
+        var keys = 1_000;
+        var rounds = 50;
+
+        runConcurrently(thread -> () -> {
+            for (int round = 0; round < rounds; round++) {
+                for (int i = 0; i < keys; i++) {
+                    table.merge(i, 1, Integer::sum);
+                }
+            }
+            return null;
+        });
+
+        assertThat(table.size()).isEqualTo(keys);
+        for (int i = 0; i < keys; i++) {
+            assertThat(table.get(i)).isEqualTo(THREADS * rounds);
+        }
+    }
+
+    @Test
+    @DisplayName("concurrent computeIfAbsent calls the function once per key")
+    void concurrentComputeIfAbsent() {
+        var table = new ConcurrentHashTable<Integer, Integer>(2);
+        var keys = 20_000;
+        var calls = new AtomicInteger();
+
+        runConcurrently(thread -> () -> {
+            for (int i = 0; i < keys; i++) {
+                table.computeIfAbsent(i, key -> {
+                    calls.incrementAndGet();
+                    return -key;
+                });
+            }
+            return null;
+        });
+
+        assertThat(calls.get()).isEqualTo(keys);
+        assertThat(table.size()).isEqualTo(keys);
+    }
+
+    @SneakyThrows
+    private void runConcurrently(IntFunction<Callable<Void>> taskFactory) {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            var start = new CountDownLatch(1);
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                var task = taskFactory.apply(thread);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (var future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.bobocode.cs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CuckooHashTable Test")
+class CuckooHashTableTest {
+
+    private final CuckooHashTable<String, Integer> hashTable = new CuckooHashTable<>();
+
+    @Test
+    @DisplayName("put creates new entry and returns null")
+    void putNewKey() {
+        var previousValue = hashTable.put("madmax", 833);
+
+        assertThat(previousValue).isNull();
+        assertThat(hashTable.get("madmax")).isEqualTo(833);
+        assertThat(hashTable.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("put updates the value and returns the previous one when key is the same")
+    void putExistingKey() {
+        hashTable.put("madmax", 833);
+
+        var previousValue = hashTable.put("madmax", 876);
+
+        assertThat(previousValue).isEqualTo(833);
+        assertThat(hashTable.get("madmax")).isEqualTo(876);
+        assertThat(hashTable.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("put does not accept null keys and values")
+    void putNull() {
+        assertThatThrownBy(() -> hashTable.put(null, 1)).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> hashTable.put("madmax", null)).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    @DisplayName("containsKey and containsValue")
+    void containsKeyAndValue() {
+        hashTable.put("madmax", 833);
+
+        assertThat(hashTable.containsKey("madmax")).isTrue();
+        assertThat(hashTable.containsKey("altea")).isFalse();
+        assertThat(hashTable.containsValue(833)).isTrue();
+        assertThat(hashTable.containsValue(553)).isFalse();
+    }
+
+    @Test
+    @DisplayName("remove deletes the entry and returns its value")
+    void remove() {
+        hashTable.put("madmax", 833);
+        hashTable.put("altea", 553);
+
+        assertThat(hashTable.remove("madmax")).isEqualTo(833);
+        assertThat(hashTable.remove("madmax")).isNull();
+        assertThat(hashTable.get("altea")).isEqualTo(553);
+        assertThat(hashTable.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("the table is filled up to 90% before it grows")
+    void highLoadFactor() {
+        var table = new CuckooHashTable<Integer, Integer>(1024);
+
+        for (int i = 0; i < 921; i++) {
+            table.put(i, i);
+        }
+
+        assertThat(table.toString().lines().filter(line -> !line.startsWith("stash"))).hasSize(1024);
+        for (int i = 0; i < 921; i++) {
+            assertThat(table.get(i)).isEqualTo(i);
+        }
+        table.put(921, 921);
+        assertThat(table.toString().lines().filter(line -> !line.startsWith("stash"))).hasSize(2048);
+    }
+
+    @Test
+    @DisplayName("keys with the same hash code that do not fit into two buckets are kept in the stash")
+    void keysWithSameHashCode() {
+        var table = new CuckooHashTable<SameHashKey, Integer>();
+
+        for (int i = 0; i < 30; i++) {
+            table.put(new SameHashKey(i), i);
+        }
+
+        assertThat(table.size()).isEqualTo(30);
+        for (int i = 0; i < 30; i++) {
+            assertThat(table.get(new SameHashKey(i))).isEqualTo(i);
+        }
+        assertThat(table.toString()).contains("stash: ");
+        for (int i = 0; i < 30; i++) {
+            assertThat(table.remove(new SameHashKey(i))).isEqualTo(i);
+        }
+        assertThat(table.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("resizeTable keeps all the entries")
+    void resizeTable() {
+        hashTable.put("madmax", 833);
+        hashTable.put("altea", 553);
+
+        hashTable.resizeTable(64);
+
+        assertThat(hashTable.get("madmax")).isEqualTo(833);
+        assertThat(hashTable.get("altea")).isEqualTo(553);
+        assertThat(hashTable.toString().lines()).hasSize(64);
+    }
+
+    @Test
+    @DisplayName("random puts and removes behave the same way as java.util.HashMap")
+    void randomOperations() {
+        var table = new CuckooHashTable<Integer, Integer>();
+        var expected = new HashMap<Integer, Integer>();
+        var random = ThreadLocalRandom.current();
+
+        for (int i = 0; i < 100_000; i++) {
+            var key = random.nextInt(5_000);
+            if (random.nextBoolean()) {
+                assertThat(table.put(key, i)).isEqualTo(expected.put(key, i));
+            } else {
+                assertThat(table.remove(key)).isEqualTo(expected.remove(key));
+            }
+        }
+
+        assertThat(table.size()).isEqualTo(expected.size());
+        expected.forEach((key, value) -> assertThat(table.get(key)).isEqualTo(value));
+    }
+
+    private record SameHashKey(int id) {
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.bobocode.cs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("FrozenHashTable Test")
+class FrozenHashTableTest {
+
+    @Test
+    @DisplayName("freeze copies all the entries of a HashTable")
+    void freeze() {
+        var hashTable = new HashTable<String, Integer>();
+        hashTable.put("madmax", 833);
+        hashTable.put("altea", 553);
+        hashTable.put("leon", 886);
+
+        var frozenTable = hashTable.freeze();
+
+        assertThat(frozenTable.size()).isEqualTo(3);
+        assertThat(frozenTable.get("madmax")).isEqualTo(833);
+        assertThat(frozenTable.get("altea")).isEqualTo(553);
+        assertThat(frozenTable.get("leon")).isEqualTo(886);
+        assertThat(frozenTable.get("johnny")).isNull();
+        assertThat(frozenTable.containsKey("leon")).isTrue();
+        assertThat(frozenTable.containsValue(553)).isTrue();
+        assertThat(frozenTable.containsValue(554)).isFalse();
+    }
+
+    @Test
+    @DisplayName("a frozen table cannot be modified")
+    void immutable() {
+        var frozenTable = FrozenHashTable.<String, Integer>builder().put("madmax", 833).build();
+
+        assertThatThrownBy(() -> frozenTable.put("altea", 553)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> frozenTable.remove("madmax")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> frozenTable.merge("madmax", 1, Integer::sum))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("an empty table finds nothing")
+    void emptyTable() {
+        var frozenTable = new HashTable<String, Integer>().freeze();
+
+        assertThat(frozenTable.isEmpty()).isTrue();
+        assertThat(frozenTable.get("madmax")).isNull();
+    }
+
+    @Test
+    @DisplayName("keys with the same hash code are stored in a collision group")
+    void sameHashCodes() {
+        var frozenTable = FrozenHashTable.<String, Integer>builder()
+                .put("AaAa", 1)
+                .put("BBBB", 2)
+                .put("AaBB", 3)
+                .put("madmax", 4)
+                .build();
+
+        assertThat(frozenTable.get("AaAa")).isEqualTo(1);
+        assertThat(frozenTable.get("BBBB")).isEqualTo(2);
+        assertThat(frozenTable.get("AaBB")).isEqualTo(3);
+        assertThat(frozenTable.get("BBAa")).isNull();
+        assertThat(frozenTable.containsValue(3)).isTrue();
+        assertThat(frozenTable.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("builder keeps the last value of a repeated key")
+    void repeatedKeys() {
+        var frozenTable = FrozenHashTable.<String, Integer>builder()
+                .put("madmax", 833)
+                .put("AaAa", 1)
+                .put("BBBB", 2)
+                .put("madmax", 876)
+                .put("AaAa", 3)
+                .build();
+
+        assertThat(frozenTable.size()).isEqualTo(3);
+        assertThat(frozenTable.get("madmax")).isEqualTo(876);
+        assertThat(frozenTable.get("AaAa")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("a large table is built in shards and finds every key")
+    void largeTable() {
+        var builder = FrozenHashTable.<Integer, Integer>builder();
+        var expected = new HashMap<Integer, Integer>();
+        var random = ThreadLocalRandom.current();
+        for (int i = 0; i < 500_000; i++) {
+            var key = random.nextInt();
+            builder.put(key, i);
+            expected.put(key, i);
+        }
+
+        var frozenTable = builder.build();
+
+        assertThat(frozenTable.size()).isEqualTo(expected.size());
+        expected.forEach((key, value) -> assertThat(frozenTable.get(key)).isEqualTo(value));
+        var visited = new HashMap<Integer, Integer>();
+        frozenTable.forEach(visited::put);
+        assertThat(visited).isEqualTo(expected);
+    }
+}
@@ -534,7 +534,536 @@ class HashTableTest {
 
     }
 
+    @Nested
+    @Order(7)
+    @DisplayName("7. Incremental resize Test")
+    @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+    class IncrementalResizeTest {
+
+        @Test
+        @Order(1)
+        @DisplayName("resizeTable does not change the size of the table")
+        void resizeTableKeepsSize() {
+            hashTable.put("madmax", 833);
+            hashTable.put("altea", 553);
+
+            hashTable.resizeTable(16);
+
+            assertThat(hashTable.size()).isEqualTo(2);
+        }
+
+        @Test
+        @Order(2)
+        @DisplayName("resizeTable relinks existing nodes instead of creating new ones")
+        void resizeTableRelinksNodes() {
+            hashTable.put("madmax", 833);
+            var nodeBeforeResize = getNodeByKey("madmax").target;
+
+            hashTable.resizeTable(16);
+
+            assertThat(getNodeByKey("madmax").target).isSameAs(nodeBeforeResize);
+        }
+
+        @Test
+        @Order(3)
+        @DisplayName("automatic resize keeps the old array until all of its buckets are moved")
+        void automaticResizeKeepsOldTable() {
+            var table = new HashTable<Integer, Integer>(64, true);
+            for (int i = 0; i <= 64; i++) {
+                table.put(i, i);
+            }
+
+            table.put(65, 65);
+
+            assertThat(getInternalTable(table)).hasSize(128);
+            assertThat(getOldTable(table)).hasSize(64);
+        }
+
+        @Test
+        @Order(4)
+        @DisplayName("all entries stay reachable while an incremental resize is in progress")
+        void entriesAreReachableDuringMigration() {
+            var table = new HashTable<Integer, Integer>(8, true);
+            var entries = 10_000;
+
+            for (int i = 0; i < entries; i++) {
+                table.put(i, i * 2);
+            }
+
+            assertThat(table.size()).isEqualTo(entries);
+            for (int i = 0; i < entries; i++) {
+                assertThat(table.get(i)).isEqualTo(i * 2);
+            }
+            assertThat(table.containsValue(2 * (entries - 1))).isTrue();
+            for (int i = 0; i < entries; i += 2) {
+                assertThat(table.remove(i)).isEqualTo(i * 2);
+            }
+            assertThat(table.size()).isEqualTo(entries / 2);
+            assertThat(table.get(1)).isEqualTo(2);
+            assertThat(table.get(2)).isNull();
+        }
+
+        @Test
+        @Order(5)
+        @DisplayName("the old array is released once all of its buckets are moved")
+        void oldTableIsReleasedAfterMigration() {
+            var table = new HashTable<Integer, Integer>(8, true);
+            for (int i = 0; i <= 9; i++) {
+                table.put(i, i);
+            }
+
+            for (int i = 0; i < 8; i++) {
+                table.get(i);
+            }
+
+            assertThat(getOldTable(table)).isNull();
+            assertThat(getInternalTable(table)).hasSize(16);
+        }
+    }
+
+    @Nested
+    @Order(8)
+    @DisplayName("8. Tree bucket Test")
+    @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+    class TreeBucketTest {
+
+        private final HashTable<CollidingKey, Integer> collidingTable = new HashTable<>(64);
+
+        @Test
+        @Order(1)
+        @DisplayName("a long bucket is turned into a tree")
+        void longBucketIsTreeified() {
+            for (int i = 0; i < 8; i++) {
+                collidingTable.put(new CollidingKey(i), i);
+            }
+
+            var bucket = getInternalTable(collidingTable)[CollidingKey.INDEX];
+
+            assertThat(bucket.getClass().getSimpleName()).isEqualTo("TreeNode");
+        }
+
+        @Test
+        @Order(2)
+        @DisplayName("get and remove find keys with the same hash code in a tree bucket")
+        void getAndRemoveFromTreeBucket() {
+            for (int i = 0; i < 1_000; i++) {
+                collidingTable.put(new CollidingKey(i), i);
+            }
+
+            for (int i = 0; i < 1_000; i++) {
+                assertThat(collidingTable.get(new CollidingKey(i))).isEqualTo(i);
+            }
+            assertThat(collidingTable.get(new CollidingKey(1_000))).isNull();
+            for (int i = 0; i < 1_000; i += 2) {
+                assertThat(collidingTable.remove(new CollidingKey(i))).isEqualTo(i);
+            }
+            for (int i = 0; i < 1_000; i++) {
+                assertThat(collidingTable.get(new CollidingKey(i))).isEqualTo(i % 2 == 0 ? null : i);
+            }
+            assertThat(collidingTable.size()).isEqualTo(500);
+        }
+
+        @Test
+        @Order(3)
+        @DisplayName("keys that are not comparable are found in a tree bucket")
+        void notComparableKeys() {
+            var table = new HashTable<Object, Integer>(64);
+            for (int i = 0; i < 100; i++) {
+                table.put(new NotComparableKey(i), i);
+            }
+
+            for (int i = 0; i < 100; i++) {
+                assertThat(table.get(new NotComparableKey(i))).isEqualTo(i);
+                assertThat(table.remove(new NotComparableKey(i))).isEqualTo(i);
+            }
+            assertThat(table.isEmpty()).isTrue();
+        }
+
+        @Test
+        @Order(4)
+        @DisplayName("a tree bucket turns back into a list when it shrinks")
+        void shrunkBucketIsUntreeified() {
+            for (int i = 0; i < 10; i++) {
+                collidingTable.put(new CollidingKey(i), i);
+            }
+
+            for (int i = 0; i < 5; i++) {
+                collidingTable.remove(new CollidingKey(i));
+            }
+
+            var bucket = getInternalTable(collidingTable)[CollidingKey.INDEX];
+            assertThat(bucket.getClass().getSimpleName()).isEqualTo("Node");
+            assertThat(collidingTable.get(new CollidingKey(7))).isEqualTo(7);
+        }
+
+        @Test
+        @Order(5)
+        @DisplayName("a tree bucket keeps all the keys after resize")
+        void treeBucketSurvivesResize() {
+            var table = new HashTable<Integer, Integer>(64, true);
+            for (int i = 0; i < 1_000; i++) {
+                table.put(7 + 64 * i, i);
+            }
+
+            table.resizeTable(100);
+
+            for (int i = 0; i < 1_000; i++) {
+                assertThat(table.get(7 + 64 * i)).isEqualTo(i);
+            }
+            assertThat(table.size()).isEqualTo(1_000);
+        }
+
+        @Test
+        @Order(6)
+        @DisplayName("random puts and removes of poorly distributed keys behave the same way as java.util.HashMap")
+        void randomOperationsWithPoorlyDistributedKeys() {
+            var table = new HashTable<Integer, Integer>(8, true);
+            var expected = new java.util.HashMap<Integer, Integer>();
+            var random = ThreadLocalRandom.current();
+
+            for (int i = 0; i < 100_000; i++) {
+                var key = random.nextInt(3_000) * 1024;
+                if (random.nextInt(3) > 0) {
+                    assertThat(table.put(key, i)).isEqualTo(expected.put(key, i));
+                } else {
+                    assertThat(table.remove(key)).isEqualTo(expected.remove(key));
+                }
+            }
+
+            assertThat(table.size()).isEqualTo(expected.size());
+            expected.forEach((key, value) -> assertThat(table.get(key)).isEqualTo(value));
+        }
+    }
+
+    @Nested
+    @Order(9)
+    @DisplayName("9. Compute methods Test")
+    @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+    class ComputeTest {
+
+        private final HashTable<String, Integer> table = new HashTable<>();
+
+        @Test
+        @Order(1)
+        @DisplayName("merge counts words with a single call per word")
+        void mergeCountsWords() {
+            for (var word : "to be or not to be".split(" ")) {
+                table.merge(word, 1, Integer::sum);
+            }
+
+            assertThat(table.get("to")).isEqualTo(2);
+            assertThat(table.get("be")).isEqualTo(2);
+            assertThat(table.get("or")).isEqualTo(1);
+            assertThat(table.size()).isEqualTo(4);
+        }
+
+        @Test
+        @Order(2)
+        @DisplayName("merge removes the mapping when the function returns null")
+        void mergeRemovesMapping() {
+            table.put("madmax", 833);
+
+            var newValue = table.merge("madmax", 1, (oldValue, value) -> null);
+
+            assertThat(newValue).isNull();
+            assertThat(table.containsKey("madmax")).isFalse();
+            assertThat(table.size()).isZero();
+        }
+
+        @Test
+        @Order(3)
+        @DisplayName("computeIfAbsent calls the function only for a missing key")
+        void computeIfAbsent() {
+            table.put("madmax", 833);
+
+            assertThat(table.computeIfAbsent("madmax", key -> fail("should not be called"))).isEqualTo(833);
+            assertThat(table.computeIfAbsent("altea", String::length)).isEqualTo(5);
+            assertThat(table.computeIfAbsent("leon", key -> null)).isNull();
+            assertThat(table.containsKey("leon")).isFalse();
+            assertThat(table.size()).isEqualTo(2);
+        }
+
+        @Test
+        @Order(4)
+        @DisplayName("computeIfPresent updates and removes only existing keys")
+        void computeIfPresent() {
+            table.put("madmax", 833);
+
+            assertThat(table.computeIfPresent("altea", (key, value) -> 1)).isNull();
+            assertThat(table.computeIfPresent("madmax", (key, value) -> value + 1)).isEqualTo(834);
+            assertThat(table.computeIfPresent("madmax", (key, value) -> null)).isNull();
+            assertThat(table.isEmpty()).isTrue();
+        }
+
+        @Test
+        @Order(5)
+        @DisplayName("putIfAbsent keeps an existing value and returns it")
+        void putIfAbsent() {
+            assertThat(table.putIfAbsent("madmax", 833)).isNull();
+            assertThat(table.putIfAbsent("madmax", 876)).isEqualTo(833);
+            assertThat(table.get("madmax")).isEqualTo(833);
+        }
+
+        @Test
+        @Order(6)
+        @DisplayName("compute does not create a node when the key exists")
+        void computeReusesExistingNode() {
+            table.put("madmax", 833);
+            var node = getInternalTable(table)[HashTable.calculateIndex("madmax", 8)];
+
+            table.compute("madmax", (key, value) -> value + 1);
+
+            assertThat(getInternalTable(table)[HashTable.calculateIndex("madmax", 8)]).isSameAs(node);
+            assertThat(table.get("madmax")).isEqualTo(834);
+        }
+
+        @Test
+        @Order(7)
+        @DisplayName("random compute calls behave the same way as java.util.HashMap in list and tree buckets")
+        void randomComputeCalls() {
+            var table = new HashTable<Integer, Integer>(8, true);
+            var expected = new java.util.HashMap<Integer, Integer>();
+            var random = ThreadLocalRandom.current();
+
+            for (int i = 0; i < 100_000; i++) {
+                var key = random.nextInt(3_000) * (random.nextBoolean() ? 1 : 1024);
+                var value = i;
+                switch (random.nextInt(5)) {
+                    case 0 -> assertThat(table.merge(key, value, (a, b) -> a % 3 == 0 ? null : a + b))
+                            .isEqualTo(expected.merge(key, value, (a, b) -> a % 3 == 0 ? null : a + b));
+                    case 1 -> assertThat(table.compute(key, (k, v) -> v == null || v % 2 == 0 ? value : null))
+                            .isEqualTo(expected.compute(key, (k, v) -> v == null || v % 2 == 0 ? value : null));
+                    case 2 -> assertThat(table.computeIfAbsent(key, k -> value))
+                            .isEqualTo(expected.computeIfAbsent(key, k -> value));
+                    case 3 -> assertThat(table.putIfAbsent(key, value)).isEqualTo(expected.putIfAbsent(key, value));
+                    default -> assertThat(table.remove(key)).isEqualTo(expected.remove(key));
+                }
+            }
+
+            assertThat(table.size()).isEqualTo(expected.size());
+            expected.forEach((key, value) -> assertThat(table.get(key)).isEqualTo(value));
+        }
+    }
+
+    @Nested
+    @Order(10)
+    @DisplayName("10. Iteration Test")
+    @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+    class IterationTest {
+
+        @Test
+        @Order(1)
+        @DisplayName("forEach visits every key and value once")
+        void forEachVisitsAllEntries() {
+            var table = new HashTable<Integer, Integer>(8, true);
+            for (int i = 0; i < 100; i++) {
+                table.put(i, -i);
+            }
+            var visited = new java.util.HashMap<Integer, Integer>();
+
+            table.forEach((key, value) -> assertThat(visited.put(key, value)).isNull());
+
+            assertThat(visited).hasSize(100);
+            visited.forEach((key, value) -> assertThat(value).isEqualTo(-key));
+        }
+
+        @Test
+        @Order(2)
+        @DisplayName("entry, key and value iterators return every entry, including the ones of tree buckets")
+        void iterators() {
+            var table = new HashTable<CollidingKey, Integer>(64);
+            for (int i = 0; i < 20; i++) {
+                table.put(new CollidingKey(i), i);
+            }
+            var keys = new java.util.HashSet<CollidingKey>();
+            var values = new java.util.HashSet<Integer>();
+            var entries = new java.util.HashSet<Integer>();
+
+            table.keyIterator().forEachRemaining(keys::add);
+            table.valueIterator().forEachRemaining(values::add);
+            table.entryIterator().forEachRemaining(entry -> {
+                assertThat(entry.getKey().id()).isEqualTo(entry.getValue());
+                entries.add(entry.getValue());
+            });
+
+            assertThat(keys).hasSize(20);
+            assertThat(values).hasSize(20);
+            assertThat(entries).hasSize(20);
+        }
+
+        @Test
+        @Order(3)
+        @DisplayName("iterator throws NoSuchElementException when there are no more entries")
+        void iteratorOfEmptyTable() {
+            var iterator = new HashTable<String, Integer>().entryIterator();
+
+            assertThat(iterator.hasNext()).isFalse();
+            assertThatThrownBy(iterator::next).isInstanceOf(java.util.NoSuchElementException.class);
+        }
+
+        @Test
+        @Order(4)
+        @DisplayName("spliterator is sized and splits on table ranges")
+        void spliterator() {
+            var table = new HashTable<Integer, Integer>(64);
+            for (int i = 0; i < 1_000; i++) {
+                table.put(i, i);
+            }
+            var spliterator = table.spliterator();
+
+            assertThat(spliterator.hasCharacteristics(java.util.Spliterator.SIZED)).isTrue();
+            assertThat(spliterator.getExactSizeIfKnown()).isEqualTo(1_000);
+            var prefix = spliterator.trySplit();
+            assertThat(prefix).isNotNull();
+            var count = new java.util.concurrent.atomic.AtomicInteger();
+            prefix.forEachRemaining(entry -> count.incrementAndGet());
+            spliterator.forEachRemaining(entry -> count.incrementAndGet());
+            assertThat(count.get()).isEqualTo(1_000);
+        }
+
+        @Test
+        @Order(5)
+        @DisplayName("parallel stream sees every entry exactly once")
+        void parallelStream() {
+            var table = new HashTable<Integer, Integer>(8, true);
+            for (int i = 0; i < 100_000; i++) {
+                table.put(i, i);
+            }
+
+            var sum = table.stream().parallel().mapToLong(Map.Entry::getValue).sum();
+
+            assertThat(table.stream().count()).isEqualTo(100_000);
+            assertThat(sum).isEqualTo(100_000L * 99_999 / 2);
+        }
+
+        @Test
+        @Order(6)
+        @DisplayName("containsValue finds values in a large table")
+        void containsValueOfLargeTable() {
+            var table = new HashTable<Integer, Integer>(1 << 16);
+            for (int i = 0; i < 100_000; i++) {
+                table.put(i, -i);
+            }
+
+            assertThat(table.containsValue(-99_999)).isTrue();
+            assertThat(table.containsValue(1)).isFalse();
+        }
+    }
+
+    @Nested
+    @Order(11)
+    @DisplayName("11. Stats Test")
+    @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+    class StatsTest {
+
+        @Test
+        @Order(1)
+        @DisplayName("stats cannot be read until they are enabled")
+        void statsAreDisabledByDefault() {
+            assertThatThrownBy(() -> new HashTable<String, Integer>().stats())
+                    .isInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        @Order(2)
+        @DisplayName("stats count operations and resizes")
+        void statsCountOperations() {
+            var table = new HashTable<Integer, Integer>(8);
+            table.enableStats();
+            for (int i = 0; i < 9; i++) {
+                table.put(i, i);
+            }
+            table.put(0, 0);
+            table.get(1);
+            table.containsKey(100);
+            table.remove(2);
+            table.merge(3, 1, Integer::sum);
+
+            var stats = table.stats();
+
+            assertThat(stats.puts()).isEqualTo(11);
+            assertThat(stats.gets()).isEqualTo(2);
+            assertThat(stats.removes()).isEqualTo(1);
+            assertThat(stats.resizes()).isEqualTo(1);
+            assertThat(stats.totalResizeNanos()).isGreaterThanOrEqualTo(stats.maxResizeNanos());
+            assertThat(stats.size()).isEqualTo(8);
+            assertThat(stats.capacity()).isEqualTo(16);
+        }
+
+        @Test
+        @Order(3)
+        @DisplayName("stats track the longest probe and the chain length histogram")
+        void probeLengthAndHistogram() {
+            var table = new HashTable<String, Integer>(8);
+            table.enableStats();
+            table.put("AaAa", 1);
+            table.put("BBBB", 2);
+            table.put("AaBB", 3);
+            table.get("AaBB");
+
+            var stats = table.stats();
+
+            assertThat(stats.maxProbeLength()).isEqualTo(3);
+            assertThat(stats.chainLengthHistogram()[0]).isEqualTo(7);
+            assertThat(stats.chainLengthHistogram()[3]).isEqualTo(1);
+            assertThat(stats.loadFactor()).isEqualTo(3 / 8.0);
+        }
+
+        @Test
+        @Order(4)
+        @DisplayName("a resize commits a JFR event")
+        @SneakyThrows
+        void resizeCommitsJfrEvent() {
+            var file = java.nio.file.Files.createTempFile("hash-table", ".jfr");
+            try (var recording = new jdk.jfr.Recording()) {
+                recording.enable("com.bobocode.cs.HashTableResize");
+                recording.start();
+                var table = new HashTable<Integer, Integer>(8);
+                for (int i = 0; i < 10; i++) {
+                    table.put(i, i);
+                }
+                table.resizeTable(64);
+                recording.stop();
+                recording.dump(file);
+            }
+
+            var events = jdk.jfr.consumer.RecordingFile.readAllEvents(file);
+            java.nio.file.Files.delete(file);
+
+            assertThat(events).extracting(event -> event.getInt("newCapacity")).containsExactly(16, 64);
+            assertThat(events).extracting(event -> event.getInt("size")).containsExactly(9, 10);
+        }
+    }
+
+    record CollidingKey(int id) implements Comparable<CollidingKey> {
+        static final int INDEX = 7;
+
+        @Override
+        public int hashCode() {
+            return INDEX;
+        }
+
+        @Override
+        public int compareTo(CollidingKey other) {
+            return Integer.compare(id, other.id);
+        }
+    }
+
+    record NotComparableKey(int id) {
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+
     // Util methods
+    @SneakyThrows
+    private Object[] getOldTable(HashTable<?, ?> hashTable) {
+        var tableField = HashTable.class.getDeclaredField("oldTable");
+        tableField.setAccessible(true);
+        return (Object[]) tableField.get(hashTable);
+    }
+
     @SneakyThrows
     private Object[] getInternalTable(HashTable<?, ?> hashTable) {
         var tableField = HashTable.class.getDeclaredField("table");
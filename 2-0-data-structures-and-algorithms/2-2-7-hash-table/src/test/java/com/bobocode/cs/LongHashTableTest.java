@@ -0,0 +1,115 @@
+package com.bobocode.cs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LongHashTable Test")
+class LongHashTableTest {
+
+    private final LongHashTable hashTable = new LongHashTable(8, -1);
+
+    @Test
+    @DisplayName("put creates new entry and returns the missing value")
+    void putNewKey() {
+        var previousValue = hashTable.put(42, 833);
+
+        assertThat(previousValue).isEqualTo(-1);
+        assertThat(hashTable.get(42)).isEqualTo(833);
+        assertThat(hashTable.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("put updates the value and returns the previous one when key is the same")
+    void putExistingKey() {
+        hashTable.put(42, 833);
+
+        var previousValue = hashTable.put(42, 876);
+
+        assertThat(previousValue).isEqualTo(833);
+        assertThat(hashTable.get(42)).isEqualTo(876);
+        assertThat(hashTable.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("key 0 is stored like any other key")
+    void zeroKey() {
+        assertThat(hashTable.containsKey(0)).isFalse();
+        assertThat(hashTable.get(0)).isEqualTo(-1);
+
+        hashTable.put(0, 5);
+
+        assertThat(hashTable.containsKey(0)).isTrue();
+        assertThat(hashTable.get(0)).isEqualTo(5);
+        assertThat(hashTable.containsValue(5)).isTrue();
+        assertThat(hashTable.size()).isEqualTo(1);
+        assertThat(hashTable.remove(0)).isEqualTo(5);
+        assertThat(hashTable.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("get and getOrDefault return the missing or default value when key does not exist")
+    void getMissingKey() {
+        assertThat(hashTable.get(42)).isEqualTo(-1);
+        assertThat(hashTable.getOrDefault(42, 7)).isEqualTo(7);
+        assertThat(hashTable.missingValue()).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("addTo increments existing values and creates missing ones")
+    void addTo() {
+        for (int i = 0; i < 1_000; i++) {
+            hashTable.addTo(i % 10, 1);
+        }
+
+        assertThat(hashTable.size()).isEqualTo(10);
+        for (int i = 0; i < 10; i++) {
+            assertThat(hashTable.get(i)).isEqualTo(100);
+        }
+        assertThat(hashTable.addTo(42, 5)).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("remove deletes the entry and keeps other keys of the cluster reachable")
+    void remove() {
+        var table = new LongHashTable(1_000);
+        for (int i = 0; i < 1_000; i++) {
+            table.put(i * (1L << 32), i);
+        }
+
+        for (int i = 0; i < 1_000; i += 2) {
+            assertThat(table.remove(i * (1L << 32))).isEqualTo(i);
+        }
+
+        assertThat(table.size()).isEqualTo(500);
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(table.containsKey(i * (1L << 32))).isEqualTo(i % 2 == 1);
+        }
+    }
+
+    @Test
+    @DisplayName("random puts and removes behave the same way as java.util.HashMap")
+    void randomOperations() {
+        var table = new LongHashTable();
+        var expected = new HashMap<Long, Long>();
+        var random = ThreadLocalRandom.current();
+
+        for (int i = 0; i < 100_000; i++) {
+            var key = (random.nextInt(5_000) - 100L) << 20;
+            if (random.nextBoolean()) {
+                var previousValue = expected.put(key, (long) i);
+                assertThat(table.put(key, i)).isEqualTo(previousValue == null ? 0L : previousValue);
+            } else {
+                var removedValue = expected.remove(key);
+                assertThat(table.remove(key)).isEqualTo(removedValue == null ? 0L : removedValue);
+            }
+        }
+
+        assertThat(table.size()).isEqualTo(expected.size());
+        expected.forEach((key, value) -> assertThat(table.get(key)).isEqualTo(value));
+    }
+}
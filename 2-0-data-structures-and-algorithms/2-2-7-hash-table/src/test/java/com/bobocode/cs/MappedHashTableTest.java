@@ -0,0 +1,131 @@
+package com.bobocode.cs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("MappedHashTable Test")
+class MappedHashTableTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("a written snapshot is opened with the same entries")
+    void writeAndOpen() {
+        var hashTable = new HashTable<String, String>();
+        hashTable.put("madmax", "833");
+        hashTable.put("altea", "553");
+        var file = directory.resolve("table.snapshot");
+
+        MappedHashTable.write(hashTable, file, Codec.STRING, Codec.STRING);
+
+        try (var mappedTable = MappedHashTable.open(file, Codec.STRING, Codec.STRING)) {
+            assertThat(mappedTable.size()).isEqualTo(2);
+            assertThat(mappedTable.get("madmax")).isEqualTo("833");
+            assertThat(mappedTable.get("altea")).isEqualTo("553");
+            assertThat(mappedTable.get("leon")).isNull();
+            assertThat(mappedTable.containsKey("altea")).isTrue();
+            assertThat(mappedTable.containsKey("alte")).isFalse();
+            assertThat(mappedTable.containsValue("553")).isTrue();
+            assertThat(mappedTable.containsValue("55")).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("an empty table is written and opened")
+    void emptyTable() {
+        var file = directory.resolve("empty.snapshot");
+
+        MappedHashTable.write(new HashTable<String, String>(), file, Codec.STRING, Codec.STRING);
+
+        try (var mappedTable = MappedHashTable.open(file, Codec.STRING, Codec.STRING)) {
+            assertThat(mappedTable.isEmpty()).isTrue();
+            assertThat(mappedTable.get("madmax")).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("entries never cross a region and are all found")
+    void entriesAcrossRegions() {
+        var hashTable = new HashTable<String, String>();
+        var expected = new HashMap<String, String>();
+        var random = ThreadLocalRandom.current();
+        for (int i = 0; i < 2_000; i++) {
+            var key = "key" + random.nextInt(100_000);
+            var value = "v".repeat(random.nextInt(40));
+            hashTable.put(key, value);
+            expected.put(key, value);
+        }
+        var file = directory.resolve("regions.snapshot");
+
+        MappedHashTable.write(hashTable, file, Codec.STRING, Codec.STRING, 128);
+
+        try (var mappedTable = MappedHashTable.open(file, Codec.STRING, Codec.STRING)) {
+            assertThat(mappedTable.size()).isEqualTo(expected.size());
+            expected.forEach((key, value) -> assertThat(mappedTable.get(key)).isEqualTo(value));
+            assertThat(mappedTable.get("missing")).isNull();
+            assertThat(mappedTable.containsValue("v".repeat(40))).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("an entry that is larger than a region cannot be written")
+    void entryLargerThanRegion() {
+        var hashTable = new HashTable<String, String>();
+        hashTable.put("madmax", "8".repeat(100));
+
+        assertThatThrownBy(() -> MappedHashTable.write(hashTable, directory.resolve("large.snapshot"),
+                Codec.STRING, Codec.STRING, 128))
+                .isInstanceOf(SnapshotException.class);
+    }
+
+    @Test
+    @DisplayName("warm up loads the file in the background")
+    void warmUp() throws Exception {
+        var hashTable = new HashTable<String, String>();
+        hashTable.put("madmax", "833");
+        var file = directory.resolve("table.snapshot");
+        MappedHashTable.write(hashTable, file, Codec.STRING, Codec.STRING);
+
+        try (var mappedTable = MappedHashTable.open(file, Codec.STRING, Codec.STRING)) {
+            mappedTable.warmUp().get(10, TimeUnit.SECONDS);
+
+            assertThat(mappedTable.get("madmax")).isEqualTo("833");
+        }
+    }
+
+    @Test
+    @DisplayName("a file that is not a snapshot cannot be opened")
+    void openInvalidFile() throws IOException {
+        var file = Files.writeString(directory.resolve("table.txt"), "madmax=833");
+
+        assertThatThrownBy(() -> MappedHashTable.open(file, Codec.STRING, Codec.STRING))
+                .isInstanceOf(SnapshotException.class);
+        assertThatThrownBy(() -> MappedHashTable.open(directory.resolve("missing"), Codec.STRING, Codec.STRING))
+                .isInstanceOf(SnapshotException.class);
+    }
+
+    @Test
+    @DisplayName("the table is read-only and cannot be used after it is closed")
+    void readOnlyAndClosed() {
+        var file = directory.resolve("table.snapshot");
+        MappedHashTable.write(new HashTable<String, String>(), file, Codec.STRING, Codec.STRING);
+        var mappedTable = MappedHashTable.open(file, Codec.STRING, Codec.STRING);
+
+        assertThatThrownBy(() -> mappedTable.put("madmax", "833")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> mappedTable.remove("madmax")).isInstanceOf(UnsupportedOperationException.class);
+        mappedTable.close();
+        assertThatThrownBy(() -> mappedTable.get("madmax")).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,163 @@
+package com.bobocode.cs;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("OffHeapHashTable Test")
+class OffHeapHashTableTest {
+
+    private final OffHeapHashTable<String, byte[]> hashTable =
+            new OffHeapHashTable<>(Codec.STRING, Codec.BYTES, 16, 1024);
+
+    @AfterEach
+    void close() {
+        hashTable.close();
+    }
+
+    @Test
+    @DisplayName("put creates new entry and get decodes its value")
+    void putAndGet() {
+        var previousValue = hashTable.put("madmax", bytes("833"));
+
+        assertThat(previousValue).isNull();
+        assertThat(hashTable.get("madmax")).isEqualTo(bytes("833"));
+        assertThat(hashTable.get("altea")).isNull();
+        assertThat(hashTable.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("put replaces values of the same and of a different length")
+    void putExistingKey() {
+        hashTable.put("madmax", bytes("833"));
+
+        assertThat(hashTable.put("madmax", bytes("876"))).isEqualTo(bytes("833"));
+        assertThat(hashTable.put("madmax", bytes("876876"))).isEqualTo(bytes("876"));
+        assertThat(hashTable.get("madmax")).isEqualTo(bytes("876876"));
+        assertThat(hashTable.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("containsKey and containsValue compare encoded bytes")
+    void containsKeyAndValue() {
+        hashTable.put("madmax", bytes("833"));
+
+        assertThat(hashTable.containsKey("madmax")).isTrue();
+        assertThat(hashTable.containsKey("madma")).isFalse();
+        assertThat(hashTable.containsValue(bytes("833"))).isTrue();
+        assertThat(hashTable.containsValue(bytes("83"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("remove deletes the entry and returns its value")
+    void remove() {
+        hashTable.put("madmax", bytes("833"));
+        hashTable.put("altea", bytes("553"));
+
+        assertThat(hashTable.remove("madmax")).isEqualTo(bytes("833"));
+        assertThat(hashTable.remove("madmax")).isNull();
+        assertThat(hashTable.get("altea")).isEqualTo(bytes("553"));
+        assertThat(hashTable.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("removed entries are compacted, so the arena does not grow forever")
+    void compaction() {
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < 100; i++) {
+                hashTable.put("key" + i, bytes("value" + round + "-" + i));
+            }
+        }
+
+        assertThat(hashTable.size()).isEqualTo(100);
+        assertThat(hashTable.get("key42")).isEqualTo(bytes("value99-42"));
+        assertThat(hashTable.allocatedBytes()).isLessThan(16 * 1024);
+    }
+
+    @Test
+    @DisplayName("an entry that is larger than a chunk is stored in its own chunk")
+    void largeEntry() {
+        var largeValue = new byte[10_000];
+        ThreadLocalRandom.current().nextBytes(largeValue);
+
+        hashTable.put("large", largeValue);
+        hashTable.put("small", bytes("1"));
+
+        assertThat(hashTable.get("large")).isEqualTo(largeValue);
+        assertThat(hashTable.get("small")).isEqualTo(bytes("1"));
+    }
+
+    @Test
+    @DisplayName("the first chunk is small and every next chunk is twice as large")
+    void chunkGrowth() {
+        var table = new OffHeapHashTable<>(Codec.STRING, Codec.BYTES);
+
+        table.put("madmax", bytes("833"));
+        assertThat(table.allocatedBytes()).isEqualTo(64 * 1024);
+
+        table.put("large", new byte[100 * 1024]);
+        assertThat(table.allocatedBytes()).isEqualTo(64 * 1024 + 128 * 1024);
+        table.close();
+    }
+
+    @Test
+    @DisplayName("the rest of a chunk that an entry does not fit into is counted as garbage")
+    void abandonedChunkTail() {
+        var value = new byte[591];
+        hashTable.put("a", value);
+        hashTable.put("b", value);
+        hashTable.put("c", value);
+        assertThat(hashTable.allocatedBytes()).isEqualTo(3 * 1024);
+
+        hashTable.remove("a");
+
+        assertThat(hashTable.allocatedBytes()).isEqualTo(2 * 1024);
+        assertThat(hashTable.get("b")).isEqualTo(value);
+        assertThat(hashTable.get("c")).isEqualTo(value);
+    }
+
+    @Test
+    @DisplayName("random puts and removes behave the same way as java.util.HashMap")
+    void randomOperations() {
+        var table = new OffHeapHashTable<>(Codec.STRING, Codec.STRING, 0, 4096);
+        var expected = new HashMap<String, String>();
+        var random = ThreadLocalRandom.current();
+
+        for (int i = 0; i < 50_000; i++) {
+            var key = "k" + random.nextInt(3_000);
+            if (random.nextBoolean()) {
+                var value = "v".repeat(random.nextInt(5)) + i;
+                assertThat(table.put(key, value)).isEqualTo(expected.put(key, value));
+            } else {
+                assertThat(table.remove(key)).isEqualTo(expected.remove(key));
+            }
+        }
+
+        assertThat(table.size()).isEqualTo(expected.size());
+        expected.forEach((key, value) -> assertThat(table.get(key)).isEqualTo(value));
+        table.close();
+    }
+
+    @Test
+    @DisplayName("a closed table releases its memory and refuses further calls")
+    void closedTable() {
+        hashTable.put("madmax", bytes("833"));
+
+        hashTable.close();
+
+        assertThat(hashTable.allocatedBytes()).isZero();
+        assertThatThrownBy(() -> hashTable.get("madmax")).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> hashTable.put("madmax", bytes("1"))).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
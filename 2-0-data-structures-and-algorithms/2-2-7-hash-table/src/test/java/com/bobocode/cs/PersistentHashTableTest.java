@@ -0,0 +1,195 @@
+package com.bobocode.cs;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PersistentHashTable Test")
+class PersistentHashTableTest {
+
+    @Test
+    @DisplayName("plus and minus return new versions and leave the old ones unchanged")
+    void plusAndMinus() {
+        var empty = PersistentHashTable.<String, Integer>empty();
+        var first = empty.plus("madmax", 833);
+        var second = first.plus("altea", 553);
+        var third = second.plus("madmax", 876).minus("altea");
+
+        assertThat(empty.isEmpty()).isTrue();
+        assertThat(first.size()).isEqualTo(1);
+        assertThat(first.get("madmax")).isEqualTo(833);
+        assertThat(first.get("altea")).isNull();
+        assertThat(second.size()).isEqualTo(2);
+        assertThat(second.get("madmax")).isEqualTo(833);
+        assertThat(second.get("altea")).isEqualTo(553);
+        assertThat(third.size()).isEqualTo(1);
+        assertThat(third.get("madmax")).isEqualTo(876);
+        assertThat(third.containsKey("altea")).isFalse();
+    }
+
+    @Test
+    @DisplayName("an operation that does not change anything returns the same version")
+    void noChange() {
+        var table = PersistentHashTable.<String, Integer>empty().plus("madmax", 833);
+
+        assertThat(table.minus("altea")).isSameAs(table);
+        assertThat(table.plus("madmax", table.get("madmax"))).isSameAs(table);
+    }
+
+    @Test
+    @DisplayName("put and remove are not supported")
+    void immutable() {
+        var table = PersistentHashTable.<String, Integer>empty();
+
+        assertThatThrownBy(() -> table.put("madmax", 833)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> table.remove("madmax")).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("keys with the same hash code are stored and removed correctly")
+    void sameHashCodes() {
+        var table = PersistentHashTable.<String, Integer>empty()
+                .plus("AaAa", 1)
+                .plus("BBBB", 2)
+                .plus("AaBB", 3);
+
+        assertThat(table.get("AaAa")).isEqualTo(1);
+        assertThat(table.get("BBBB")).isEqualTo(2);
+        assertThat(table.get("AaBB")).isEqualTo(3);
+        assertThat(table.get("BBAa")).isNull();
+
+        var smallerTable = table.minus("AaAa").minus("BBBB");
+
+        assertThat(smallerTable.size()).isEqualTo(1);
+        assertThat(smallerTable.get("AaBB")).isEqualTo(3);
+        assertThat(table.get("AaAa")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("a transient table builds a persistent one without changing the source version")
+    void transientTable() {
+        var source = PersistentHashTable.<Integer, Integer>empty().plus(-1, -1);
+        var transientTable = source.asTransient();
+        for (int i = 0; i < 10_000; i++) {
+            transientTable.put(i, i);
+        }
+        assertThat(transientTable.remove(-1)).isEqualTo(-1);
+
+        var result = transientTable.persistent();
+
+        assertThat(result.size()).isEqualTo(10_000);
+        assertThat(result.get(9_999)).isEqualTo(9_999);
+        assertThat(result.containsValue(42)).isTrue();
+        assertThat(source.size()).isEqualTo(1);
+        assertThat(source.get(-1)).isEqualTo(-1);
+        assertThat(source.get(0)).isNull();
+        assertThatThrownBy(() -> transientTable.put(1, 1)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("removals through a transient table collapse the nodes like minus does")
+    void transientRemovalCollapsesNodes() {
+        var transientTable = PersistentHashTable.<Integer, Integer>empty().asTransient();
+        for (int i = 0; i < 100_000; i++) {
+            transientTable.put(i, i);
+        }
+        for (int i = 1; i < 100_000; i++) {
+            transientTable.remove(i);
+        }
+
+        var result = transientTable.persistent();
+
+        assertThat(result.size()).isEqualTo(1);
+        assertThat(result.get(0)).isZero();
+        assertThat(nodeCount(rootOf(result))).isEqualTo(1);
+        var emptyTable = result.asTransient();
+        emptyTable.remove(0);
+        assertThat(nodeCount(rootOf(emptyTable.persistent()))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("random operations behave the same way as java.util.HashMap in every version")
+    void randomOperations() {
+        var random = ThreadLocalRandom.current();
+        var table = PersistentHashTable.<Integer, Integer>empty();
+        var expected = new HashMap<Integer, Integer>();
+        List<PersistentHashTable<Integer, Integer>> versions = new ArrayList<>();
+        List<HashMap<Integer, Integer>> expectedVersions = new ArrayList<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            var key = random.nextInt(2_000) * (random.nextBoolean() ? 1 : 65_536);
+            if (random.nextInt(3) > 0) {
+                table = table.plus(key, i);
+                expected.put(key, i);
+            } else {
+                table = table.minus(key);
+                expected.remove(key);
+            }
+            if (i % 1_000 == 0) {
+                versions.add(table);
+                expectedVersions.add(new HashMap<>(expected));
+            }
+        }
+        versions.add(table);
+        expectedVersions.add(expected);
+
+        for (int i = 0; i < versions.size(); i++) {
+            var version = versions.get(i);
+            var expectedVersion = expectedVersions.get(i);
+            assertThat(version.size()).isEqualTo(expectedVersion.size());
+            var visited = new HashMap<Integer, Integer>();
+            version.forEach(visited::put);
+            assertThat(visited).isEqualTo(expectedVersion);
+        }
+    }
+
+    @Test
+    @DisplayName("random transient operations behave the same way as java.util.HashMap")
+    void randomTransientOperations() {
+        var random = ThreadLocalRandom.current();
+        var table = PersistentHashTable.<Integer, Integer>empty().asTransient();
+        var expected = new HashMap<Integer, Integer>();
+
+        for (int i = 0; i < 50_000; i++) {
+            var key = random.nextInt(3_000);
+            if (random.nextInt(3) > 0) {
+                assertThat(table.put(key, i)).isEqualTo(expected.put(key, i));
+            } else {
+                assertThat(table.remove(key)).isEqualTo(expected.remove(key));
+            }
+        }
+
+        var result = table.persistent();
+        assertThat(result.size()).isEqualTo(expected.size());
+        expected.forEach((key, value) -> assertThat(result.get(key)).isEqualTo(value));
+    }
+
+    @SneakyThrows
+    private static Object rootOf(PersistentHashTable<?, ?> table) {
+        Field root = PersistentHashTable.class.getDeclaredField("root");
+        root.setAccessible(true);
+        return root.get(table);
+    }
+
+    @SneakyThrows
+    private static int nodeCount(Object node) {
+        Field arrayField = node.getClass().getDeclaredField("array");
+        arrayField.setAccessible(true);
+        int count = 1;
+        for (Object element : (Object[]) arrayField.get(node)) {
+            if (element != null && element.getClass().getEnclosingClass() == PersistentHashTable.class) {
+                count += nodeCount(element);
+            }
+        }
+        return count;
+    }
+}
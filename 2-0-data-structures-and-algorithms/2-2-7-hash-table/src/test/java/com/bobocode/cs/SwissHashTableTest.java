@@ -0,0 +1,145 @@
+package com.bobocode.cs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SwissHashTable Test")
+class SwissHashTableTest {
+
+    private final SwissHashTable<String, Integer> hashTable = new SwissHashTable<>();
+
+    @Test
+    @DisplayName("put creates new entry and returns null")
+    void putNewKey() {
+        var previousValue = hashTable.put("madmax", 833);
+
+        assertThat(previousValue).isNull();
+        assertThat(hashTable.get("madmax")).isEqualTo(833);
+        assertThat(hashTable.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("put updates the value and returns the previous one when key is the same")
+    void putExistingKey() {
+        hashTable.put("madmax", 833);
+
+        var previousValue = hashTable.put("madmax", 876);
+
+        assertThat(previousValue).isEqualTo(833);
+        assertThat(hashTable.get("madmax")).isEqualTo(876);
+        assertThat(hashTable.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("put does not accept null keys and values")
+    void putNull() {
+        assertThatThrownBy(() -> hashTable.put(null, 1)).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> hashTable.put("madmax", null)).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    @DisplayName("get finds keys that have the same hash code")
+    void getCollidingKeys() {
+        hashTable.put("AaAa", 123);
+        hashTable.put("BBBB", 456);
+        hashTable.put("AaBB", 789);
+
+        assertThat(hashTable.get("AaAa")).isEqualTo(123);
+        assertThat(hashTable.get("BBBB")).isEqualTo(456);
+        assertThat(hashTable.get("AaBB")).isEqualTo(789);
+        assertThat(hashTable.get("BBAa")).isNull();
+    }
+
+    @Test
+    @DisplayName("containsKey and containsValue")
+    void containsKeyAndValue() {
+        hashTable.put("madmax", 833);
+
+        assertThat(hashTable.containsKey("madmax")).isTrue();
+        assertThat(hashTable.containsKey("altea")).isFalse();
+        assertThat(hashTable.containsValue(833)).isTrue();
+        assertThat(hashTable.containsValue(553)).isFalse();
+    }
+
+    @Test
+    @DisplayName("remove deletes the entry and keeps the keys with the same hash code reachable")
+    void removeCollidingKey() {
+        hashTable.put("AaAa", 123);
+        hashTable.put("BBBB", 456);
+        hashTable.put("AaBB", 789);
+
+        var removedValue = hashTable.remove("BBBB");
+
+        assertThat(removedValue).isEqualTo(456);
+        assertThat(hashTable.get("BBBB")).isNull();
+        assertThat(hashTable.get("AaAa")).isEqualTo(123);
+        assertThat(hashTable.get("AaBB")).isEqualTo(789);
+        assertThat(hashTable.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("remove returns null when key does not exist")
+    void removeMissingKey() {
+        assertThat(hashTable.remove("madmax")).isNull();
+        assertThat(hashTable.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("resizeTable keeps all the entries")
+    void resizeTable() {
+        hashTable.put("madmax", 833);
+        hashTable.put("altea", 553);
+
+        hashTable.resizeTable(64);
+
+        assertThat(hashTable.get("madmax")).isEqualTo(833);
+        assertThat(hashTable.get("altea")).isEqualTo(553);
+        assertThat(hashTable.toString().lines()).hasSize(64);
+    }
+
+    @Test
+    @DisplayName("tombstones left by removals are reused, so the table does not grow under churn")
+    void churnDoesNotGrowTable() {
+        var table = new SwissHashTable<Integer, Integer>(64);
+
+        for (int i = 0; i < 100_000; i++) {
+            table.put(i, i);
+            if (i >= 40) {
+                assertThat(table.remove(i - 40)).isEqualTo(i - 40);
+            }
+        }
+
+        assertThat(table.size()).isEqualTo(40);
+        assertThat(table.toString().lines()).hasSize(64);
+        for (int i = 100_000 - 40; i < 100_000; i++) {
+            assertThat(table.get(i)).isEqualTo(i);
+        }
+        assertThat(table.containsKey(0)).isFalse();
+    }
+
+    @Test
+    @DisplayName("random puts and removes behave the same way as java.util.HashMap")
+    void randomOperations() {
+        var table = new SwissHashTable<Integer, Integer>();
+        var expected = new HashMap<Integer, Integer>();
+        var random = ThreadLocalRandom.current();
+
+        for (int i = 0; i < 100_000; i++) {
+            var key = random.nextInt(5_000);
+            if (random.nextBoolean()) {
+                assertThat(table.put(key, i)).isEqualTo(expected.put(key, i));
+            } else {
+                assertThat(table.remove(key)).isEqualTo(expected.remove(key));
+            }
+        }
+
+        assertThat(table.size()).isEqualTo(expected.size());
+        expected.forEach((key, value) -> assertThat(table.get(key)).isEqualTo(value));
+    }
+}